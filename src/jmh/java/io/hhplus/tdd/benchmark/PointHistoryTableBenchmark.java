@@ -0,0 +1,93 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.HeapPointHistoryLog;
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import io.hhplus.tdd.database.OffHeapPointHistoryLog;
+import io.hhplus.tdd.database.PointHistoryLog;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryTableStub;
+import io.hhplus.tdd.database.LatencyModel;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 전체 이력 수를 늘려가며 selectAllByUserId 의 응답 시간을 측정합니다.
+ *
+ * <p>SCAN 은 원본 PointHistoryTable 과 같은 전체 탐색을 하는 Stub 입니다. 원본은 insert 마다 sleep 하므로 미리 채울 수 없어 setTable
+ * 로 채울 수 있는 Stub 을 사용합니다. 조회에는 지연이 없으므로 두 테이블 모두 지연 없이 채웁니다. INDEXED 는 유저별 인덱스를 가진 {@link IndexedPointHistoryTable} 입니다.
+ * INDEXED_OFF_HEAP 은 같은 테이블이 행을 {@link OffHeapPointHistoryLog} 에 쌓습니다. heap 사용량은 {@code -prof gc} 로 비교합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PointHistoryTableBenchmark {
+  private static final int USER_COUNT = 1_000;
+
+  public enum TableType {
+    SCAN,
+    INDEXED,
+    INDEXED_OFF_HEAP
+  }
+
+  @Param({"10000", "100000", "1000000"})
+  public int rows;
+
+  @Param({"SCAN", "INDEXED", "INDEXED_OFF_HEAP"})
+  public TableType table;
+
+  private PointHistoryTable pointHistoryTable;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    pointHistoryTable =
+        switch (table) {
+          case SCAN -> scanTable();
+          case INDEXED -> indexedTable(new HeapPointHistoryLog());
+          case INDEXED_OFF_HEAP -> indexedTable(new OffHeapPointHistoryLog());
+        };
+  }
+
+  @Benchmark
+  public List<PointHistory> selectAllByUserId() {
+    return pointHistoryTable.selectAllByUserId(
+        ThreadLocalRandom.current().nextLong(USER_COUNT));
+  }
+
+  private PointHistoryTable scanTable() {
+    List<PointHistory> histories = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      histories.add(new PointHistory(i + 1, i % USER_COUNT, 100, TransactionType.CHARGE, i));
+    }
+    PointHistoryTableStub pointHistoryTableStub = new PointHistoryTableStub(LatencyModel.zero());
+    pointHistoryTableStub.setTable(histories);
+    return pointHistoryTableStub;
+  }
+
+  private PointHistoryTable indexedTable(PointHistoryLog log) {
+    IndexedPointHistoryTable indexedPointHistoryTable =
+        new IndexedPointHistoryTable(LatencyModel.zero(), log);
+    for (int i = 0; i < rows; i++) {
+      indexedPointHistoryTable.insert(i % USER_COUNT, 100, TransactionType.CHARGE, i);
+    }
+    return indexedPointHistoryTable;
+  }
+}
@@ -0,0 +1,117 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.ConcurrentUserPointTable;
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import io.hhplus.tdd.database.LatencyModel;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.service.BatchingPointServiceImpl;
+import io.hhplus.tdd.point.service.CasPointServiceImpl;
+import io.hhplus.tdd.point.service.LockPointServiceImpl;
+import io.hhplus.tdd.point.service.PointServiceImpl;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 서비스 구현별 charge 처리량을 1/8/64 쓰레드에서 측정합니다. SAME_USER 는 모든 쓰레드가 한 유저를, SPREAD_USERS 는 여러 유저에 나누어
+ * 충전합니다.
+ *
+ * <p>이력이 계속 쌓이므로 iteration 마다 테이블과 서비스를 새로 만듭니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PointServiceBenchmark {
+  private static final int SPREAD_USER_COUNT = 10_000;
+  private static final long SEED = 42;
+
+  public enum ServiceType {
+    PLAIN,
+    LOCK,
+    BATCHING,
+    CAS
+  }
+
+  public enum Contention {
+    SAME_USER,
+    SPREAD_USERS
+  }
+
+  @Param({"PLAIN", "LOCK", "BATCHING", "CAS"})
+  public ServiceType service;
+
+  @Param({"SAME_USER", "SPREAD_USERS"})
+  public Contention contention;
+
+  /** 테이블 지연 모델. 기본값은 지연 없이 우리 코드만 측정합니다. {@link LatencyModel#parse} 형식입니다. */
+  @Param({"zero"})
+  public String latency;
+
+  private PointServiceImpl pointService;
+
+  @Setup(Level.Iteration)
+  public void setUp() {
+    ConcurrentUserPointTable userPointTable =
+        new ConcurrentUserPointTable(
+            LatencyModel.parse(latency, new Random(SEED)),
+            LatencyModel.parse(latency, new Random(SEED + 1)));
+    IndexedPointHistoryTable pointHistoryTable =
+        new IndexedPointHistoryTable(LatencyModel.parse(latency, new Random(SEED + 2)));
+    pointService =
+        switch (service) {
+          case PLAIN -> new PointServiceImpl(userPointTable, pointHistoryTable);
+          case LOCK -> new LockPointServiceImpl(userPointTable, pointHistoryTable);
+          case BATCHING -> new BatchingPointServiceImpl(userPointTable, pointHistoryTable);
+          case CAS -> new CasPointServiceImpl(userPointTable, pointHistoryTable, 8);
+        };
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() throws InterruptedException {
+    if (pointService instanceof CasPointServiceImpl casPointService) {
+      casPointService.flush();
+      casPointService.shutdown();
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public UserPoint charge_1thread() {
+    return pointService.charge(userId(), 1);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public UserPoint charge_8threads() {
+    return pointService.charge(userId(), 1);
+  }
+
+  @Benchmark
+  @Threads(64)
+  public UserPoint charge_64threads() {
+    return pointService.charge(userId(), 1);
+  }
+
+  private long userId() {
+    return contention == Contention.SAME_USER
+        ? 1
+        : ThreadLocalRandom.current().nextLong(SPREAD_USER_COUNT);
+  }
+}
@@ -0,0 +1,109 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.DurableUserPointTable;
+import io.hhplus.tdd.database.wal.PointWriteAheadLog;
+import io.hhplus.tdd.database.wal.WalDurability;
+import io.hhplus.tdd.database.wal.WalRecord.Kind;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * durable-storage 의 재시작 시간을 측정합니다. rows 개의 이력과 같은 수의 잔액 레코드를 쓴 로그를 두고, 로그 전체를 다시 적용하는 경우와
+ * 스냅샷을 읽은 뒤 tailRows 만큼의 꼬리만 다시 적용하는 경우를 비교합니다.
+ *
+ * <p>기본값(5천만 행)은 로그만 약 4.8GB 를 쓰므로 임시 디렉토리에 그만큼의 여유 공간이 필요합니다. 작게 보려면 {@code -p rows=1000000}
+ * 처럼 줄입니다.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupRecoveryBenchmark {
+  public enum Recovery {
+    FULL_REPLAY,
+    SNAPSHOT_PLUS_TAIL
+  }
+
+  @Param({"50000000"})
+  public long rows;
+
+  @Param({"1000000"})
+  public long users;
+
+  @Param({"100000"})
+  public long tailRows;
+
+  @Param({"FULL_REPLAY", "SNAPSHOT_PLUS_TAIL"})
+  public Recovery recovery;
+
+  private Path directory;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("point-startup-benchmark");
+    SplittableRandom random = new SplittableRandom(42);
+    try (PointWriteAheadLog wal = open()) {
+      DurableUserPointTable userPointTable = new DurableUserPointTable(wal);
+      write(wal, userPointTable, random, rows - tailRows);
+      if (recovery == Recovery.SNAPSHOT_PLUS_TAIL) {
+        userPointTable.snapshot();
+      }
+      write(wal, userPointTable, random, tailRows);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(path);
+      }
+    }
+  }
+
+  @Benchmark
+  public DurableUserPointTable restart() throws InterruptedException {
+    try (PointWriteAheadLog wal = open()) {
+      return new DurableUserPointTable(wal);
+    }
+  }
+
+  private PointWriteAheadLog open() {
+    return new PointWriteAheadLog(directory, 1L << 30, WalDurability.NONE, Duration.ofMillis(10));
+  }
+
+  // 이력 하나와 그 결과 잔액 하나를 한 쌍으로 씁니다.
+  private void write(
+      PointWriteAheadLog wal,
+      DurableUserPointTable userPointTable,
+      SplittableRandom random,
+      long count) {
+    for (long i = 0; i < count; i++) {
+      long userId = random.nextLong(users);
+      long amount = random.nextLong(1, 1_000);
+      wal.append(Kind.CHARGE, userId, amount, i, record -> {});
+      userPointTable.insertOrUpdate(userId, userPointTable.selectById(userId).point() + amount);
+    }
+  }
+}
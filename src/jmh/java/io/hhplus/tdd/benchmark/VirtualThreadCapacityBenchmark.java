@@ -0,0 +1,96 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.ConcurrentUserPointTable;
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import io.hhplus.tdd.database.LatencyModel;
+import io.hhplus.tdd.point.lock.EvictingUserLockStrategy;
+import io.hhplus.tdd.point.service.LockPointServiceImpl;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 블로킹되는 테이블 호출을 포함한 charge 요청 requests 개를 Tomcat 기본 최대 쓰레드 수(200)와 같은 크기의 플랫폼 쓰레드 풀과 가상 쓰레드에서
+ * 각각 처리하는 데 걸리는 시간을 측정합니다. 플랫폼 풀은 동시에 처리하는 요청이 풀 크기에 묶이므로 지연이 길수록 차이가 커집니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualThreadCapacityBenchmark {
+  private static final int PLATFORM_POOL_SIZE = 200;
+  private static final long SEED = 42;
+
+  public enum ExecutorType {
+    PLATFORM,
+    VIRTUAL
+  }
+
+  @Param({"PLATFORM", "VIRTUAL"})
+  public ExecutorType executorType;
+
+  @Param({"2000"})
+  public int requests;
+
+  /** 테이블 지연 모델. {@link LatencyModel#parse} 형식입니다. */
+  @Param({"fixed(10ms)"})
+  public String latency;
+
+  private ExecutorService executor;
+  private LockPointServiceImpl pointService;
+
+  @Setup(Level.Iteration)
+  public void setUp() {
+    executor =
+        executorType == ExecutorType.PLATFORM
+            ? Executors.newFixedThreadPool(PLATFORM_POOL_SIZE)
+            : Executors.newVirtualThreadPerTaskExecutor();
+    // 유저마다 다른 락을 써서 쓰레드 수만 동시성을 제한하게 합니다.
+    pointService =
+        new LockPointServiceImpl(
+            new ConcurrentUserPointTable(
+                LatencyModel.parse(latency, new Random(SEED)),
+                LatencyModel.parse(latency, new Random(SEED + 1))),
+            new IndexedPointHistoryTable(LatencyModel.parse(latency, new Random(SEED + 2))),
+            new EvictingUserLockStrategy(true, 0));
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() {
+    executor.close();
+  }
+
+  @Benchmark
+  public void chargeAll() throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(requests);
+    for (int i = 0; i < requests; i++) {
+      long userId = i;
+      executor.execute(
+          () -> {
+            try {
+              pointService.charge(userId, 1);
+            } finally {
+              latch.countDown();
+            }
+          });
+    }
+    latch.await();
+  }
+}
@@ -0,0 +1,82 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.DurablePointHistoryTable;
+import io.hhplus.tdd.database.wal.PointWriteAheadLog;
+import io.hhplus.tdd.database.wal.WalDurability;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * durable-storage 의 이력 저장 비용을 fsync 수준별로 측정합니다. SYNC 는 쓰레드가 많을수록 한 번의 fsync 에 묶이는 기록이 늘어나므로, 1
+ * 쓰레드와 16 쓰레드의 차이로 group commit 효과를 볼 수 있습니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WalAppendBenchmark {
+  @Param({"NONE", "INTERVAL", "SYNC"})
+  public WalDurability durability;
+
+  private Path directory;
+  private PointWriteAheadLog wal;
+  private DurablePointHistoryTable pointHistoryTable;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("point-wal-benchmark");
+    wal = new PointWriteAheadLog(directory, 256L << 20, durability, Duration.ofMillis(10));
+    pointHistoryTable = new DurablePointHistoryTable(wal);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    wal.close();
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(path);
+      }
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public PointHistory insert_1thread() {
+    return insert();
+  }
+
+  @Benchmark
+  @Threads(16)
+  public PointHistory insert_16threads() {
+    return insert();
+  }
+
+  private PointHistory insert() {
+    return pointHistoryTable.insert(
+        ThreadLocalRandom.current().nextLong(1_000), 100, TransactionType.CHARGE, 0L);
+  }
+}
@@ -1,6 +1,6 @@
 package io.hhplus.tdd;
 
-import io.hhplus.tdd.point.exceptions.InsufficientPointsException;
+import io.hhplus.tdd.point.exceptions.PointErrorStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -10,11 +10,8 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
   @ExceptionHandler(value = Exception.class)
   public ResponseEntity<ErrorResponse> handleException(Exception e) {
-    if (e instanceof IllegalArgumentException)
-      return ResponseEntity.status(400).body(new ErrorResponse("400", e.getMessage()));
-    if (e instanceof InsufficientPointsException)
-      return ResponseEntity.status(400).body(new ErrorResponse("400", e.getMessage()));
-
-    return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
+    int status = PointErrorStatus.of(e);
+    return ResponseEntity.status(status)
+        .body(new ErrorResponse(String.valueOf(status), PointErrorStatus.messageOf(e)));
   }
 }
@@ -0,0 +1,235 @@
+package io.hhplus.tdd.database;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.LongFunction;
+
+/**
+ * long 키를 박싱 없이 저장하는 동시성 해시맵입니다.
+ *
+ * <p>키 공간을 segment 로 나누고, 각 segment 는 선형 탐사(open addressing) 배열과 {@link StampedLock} 을 가집니다. 쓰기는
+ * segment 단위 write lock 으로 직렬화되고, 읽기는 optimistic read 로 락 없이 처리한 뒤 그 사이 쓰기가 있었을 때만 read lock 으로
+ * 다시 읽습니다. 테이블 API 에 삭제가 없으므로 삭제는 지원하지 않습니다.
+ */
+public class ConcurrentLongMap<V> {
+  private static final int DEFAULT_SEGMENTS = 64;
+  private static final int INITIAL_SEGMENT_CAPACITY = 16;
+  private static final float LOAD_FACTOR = 0.6f;
+
+  private final Segment<V>[] segments;
+  private final int segmentShift;
+
+  public ConcurrentLongMap() {
+    this(DEFAULT_SEGMENTS);
+  }
+
+  @SuppressWarnings("unchecked")
+  public ConcurrentLongMap(int concurrencyLevel) {
+    int size = Integer.highestOneBit(Math.max(1, concurrencyLevel));
+    if (size < concurrencyLevel) {
+      size <<= 1;
+    }
+    this.segments = new Segment[size];
+    for (int i = 0; i < size; i++) {
+      segments[i] = new Segment<>();
+    }
+    // segment 는 해시의 상위 비트, segment 안의 슬롯은 하위 비트로 고릅니다.
+    this.segmentShift = 64 - Integer.numberOfTrailingZeros(size);
+  }
+
+  public V get(long key) {
+    long hash = hash(key);
+    return segmentFor(hash).get(key, hash);
+  }
+
+  public V getOrDefault(long key, V defaultValue) {
+    V value = get(key);
+    return value == null ? defaultValue : value;
+  }
+
+  /** 값을 저장하고 이전 값을 반환합니다. */
+  public V put(long key, V value) {
+    if (value == null) {
+      throw new IllegalArgumentException("value should not be null");
+    }
+    long hash = hash(key);
+    return segmentFor(hash).put(key, hash, value);
+  }
+
+  /** 값이 없을 때만 mappingFunction 을 segment write lock 안에서 호출해 저장합니다. */
+  public V computeIfAbsent(long key, LongFunction<? extends V> mappingFunction) {
+    long hash = hash(key);
+    Segment<V> segment = segmentFor(hash);
+    V value = segment.get(key, hash);
+    return value != null ? value : segment.putIfAbsent(key, hash, mappingFunction);
+  }
+
+  public int size() {
+    int size = 0;
+    for (Segment<V> segment : segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  /** segment 단위로 read lock 을 잡고 순회합니다. 전체에 대한 스냅샷은 아닙니다. */
+  public void forEach(BiConsumer<Long, V> action) {
+    for (Segment<V> segment : segments) {
+      segment.forEach(action);
+    }
+  }
+
+  private Segment<V> segmentFor(long hash) {
+    return segments.length == 1 ? segments[0] : segments[(int) (hash >>> segmentShift)];
+  }
+
+  static long hash(long key) {
+    // murmur3 fmix64
+    long h = key;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  private static final class Segment<V> {
+    private final StampedLock lock = new StampedLock();
+    private long[] keys = new long[INITIAL_SEGMENT_CAPACITY];
+    private Object[] values = new Object[INITIAL_SEGMENT_CAPACITY];
+    private int size;
+
+    private V get(long key, long hash) {
+      long stamp = lock.tryOptimisticRead();
+      if (stamp != 0) {
+        V value = find(keys, values, key, hash);
+        if (lock.validate(stamp)) {
+          return value;
+        }
+      }
+
+      stamp = lock.readLock();
+      try {
+        return find(keys, values, key, hash);
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+
+    private V put(long key, long hash, V value) {
+      long stamp = lock.writeLock();
+      try {
+        int index = indexOf(key, hash);
+        @SuppressWarnings("unchecked")
+        V previous = (V) values[index];
+        insertAt(index, key, value);
+        return previous;
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V putIfAbsent(long key, long hash, LongFunction<? extends V> mappingFunction) {
+      long stamp = lock.writeLock();
+      try {
+        int index = indexOf(key, hash);
+        if (values[index] != null) {
+          return (V) values[index];
+        }
+        V value = mappingFunction.apply(key);
+        if (value != null) {
+          insertAt(index, key, value);
+        }
+        return value;
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+
+    // write lock 안에서만 호출합니다. 키가 있으면 그 슬롯, 없으면 들어갈 빈 슬롯을 반환합니다.
+    private int indexOf(long key, long hash) {
+      int mask = keys.length - 1;
+      int index = (int) hash & mask;
+      while (values[index] != null && keys[index] != key) {
+        index = (index + 1) & mask;
+      }
+      return index;
+    }
+
+    private void insertAt(int index, long key, Object value) {
+      boolean added = values[index] == null;
+      keys[index] = key;
+      values[index] = value;
+      if (added && ++size > keys.length * LOAD_FACTOR) {
+        resize();
+      }
+    }
+
+    private int size() {
+      long stamp = lock.readLock();
+      try {
+        return size;
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void forEach(BiConsumer<Long, V> action) {
+      long stamp = lock.readLock();
+      try {
+        for (int i = 0; i < values.length; i++) {
+          if (values[i] != null) {
+            action.accept(keys[i], (V) values[i]);
+          }
+        }
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+
+    private void resize() {
+      long[] oldKeys = keys;
+      Object[] oldValues = values;
+      long[] newKeys = new long[oldKeys.length << 1];
+      Object[] newValues = new Object[oldValues.length << 1];
+      int mask = newKeys.length - 1;
+
+      for (int i = 0; i < oldValues.length; i++) {
+        if (oldValues[i] == null) {
+          continue;
+        }
+        int index = (int) hash(oldKeys[i]) & mask;
+        while (newValues[index] != null) {
+          index = (index + 1) & mask;
+        }
+        newKeys[index] = oldKeys[i];
+        newValues[index] = oldValues[i];
+      }
+
+      keys = newKeys;
+      values = newValues;
+    }
+
+    // optimistic read 중에는 배열이 바뀔 수 있으므로, 인자로 받은 배열만 보고 최대 capacity 만큼만 탐사합니다.
+    @SuppressWarnings("unchecked")
+    private static <V> V find(long[] keys, Object[] values, long key, long hash) {
+      int capacity = Math.min(keys.length, values.length);
+      int mask = capacity - 1;
+      int index = (int) hash & mask;
+      for (int probes = 0; probes < capacity; probes++) {
+        Object value = values[index];
+        if (value == null) {
+          return null;
+        }
+        if (keys[index] == key) {
+          return (V) value;
+        }
+        index = (index + 1) & mask;
+      }
+      return null;
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.model.UserPoint;
+import java.time.Duration;
+import java.util.Random;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link UserPointTable} 과 같은 API 를 가진 thread-safe 저장소입니다. HashMap 대신 {@link ConcurrentLongMap} 에 저장합니다.
+ *
+ * <p>UserPointTable 은 변경하지 않으므로 Stub 과 같은 방식으로 상속해서 교체하고, {@code concurrent-storage} 프로필에서 기본
+ * 테이블 대신 주입됩니다. {@code durable-storage} 도 켜져 있으면 이를 상속한 {@link DurableUserPointTable} 에 자리를 넘깁니다.
+ */
+@Component
+@Primary
+@Profile("concurrent-storage & !durable-storage")
+public class ConcurrentUserPointTable extends UserPointTable {
+  private final ConcurrentLongMap<UserPoint> table = new ConcurrentLongMap<>();
+  private final LatencyModel selectLatency;
+  private final LatencyModel writeLatency;
+
+  public ConcurrentUserPointTable() {
+    this(
+        LatencyModel.uniform(Duration.ZERO, Duration.ofMillis(200), new Random()),
+        LatencyModel.uniform(Duration.ZERO, Duration.ofMillis(300), new Random()));
+  }
+
+  @Autowired
+  public ConcurrentUserPointTable(TableLatencyProperties tableLatencyProperties) {
+    this(
+        tableLatencyProperties.userPointSelectModel(),
+        tableLatencyProperties.userPointWriteModel());
+  }
+
+  public ConcurrentUserPointTable(LatencyModel selectLatency, LatencyModel writeLatency) {
+    this.selectLatency = selectLatency;
+    this.writeLatency = writeLatency;
+  }
+
+  @Override
+  public UserPoint selectById(Long id) {
+    selectLatency.pause();
+    UserPoint userPoint = table.get(id);
+    return userPoint == null ? UserPoint.empty(id) : userPoint;
+  }
+
+  @Override
+  public UserPoint insertOrUpdate(long id, long amount) {
+    writeLatency.pause();
+    UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+    table.put(id, userPoint);
+    return userPoint;
+  }
+
+  /** 만들어 둔 행을 그대로 저장합니다. */
+  protected void put(UserPoint userPoint) {
+    table.put(userPoint.id(), userPoint);
+  }
+
+  /** 저장된 행을 하나씩 넘깁니다. 순회 중의 변경은 반영될 수도, 안 될 수도 있습니다. */
+  protected void forEachUserPoint(Consumer<UserPoint> action) {
+    table.forEach((id, userPoint) -> action.accept(userPoint));
+  }
+}
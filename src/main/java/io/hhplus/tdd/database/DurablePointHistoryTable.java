@@ -0,0 +1,88 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.database.wal.PointWriteAheadLog;
+import io.hhplus.tdd.database.wal.WalDurability;
+import io.hhplus.tdd.database.wal.WalRecord;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import java.util.ArrayDeque;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이력 저장을 {@link PointWriteAheadLog} 에 먼저 남기는 {@link IndexedPointHistoryTable} 입니다. 이력 id 는 로그가 발급하므로 재시작
+ * 후에도 같은 id 로 복구되고, 조회 커서(after)가 그대로 유효합니다.
+ *
+ * <p>{@link WalDurability#SYNC} 이면 이력은 fsync 된 뒤에야 조회, 내보내기, 감사에 보입니다. 로그 순서대로 쌓아 두었다가, 기다리던
+ * 요청이 fsync 를 확인하면 그때까지 fsync 된 이력을 순서대로 인덱스에 넣습니다. 그래서 보였던 이력이 장애 후 사라지지 않습니다. 다른
+ * 수준에서는 fsync 를 기다리지 않고 응답하므로 이력도 로그에 쓰는 즉시 보이며, 마지막 fsync 이후의 이력은 장애 때 잃을 수 있습니다.
+ *
+ * <p>{@code durable-storage} 프로필에서 기본 테이블 대신 주입되며, {@code indexed-history} 와 함께 켜도 이 테이블이 주입됩니다.
+ */
+@Component
+@Primary
+@Profile("durable-storage")
+public class DurablePointHistoryTable extends IndexedPointHistoryTable {
+  private final PointWriteAheadLog wal;
+  // SYNC 일 때 로그에는 썼지만 아직 fsync 되지 않아 인덱스에 넣지 않은 이력. lsn 오름차순입니다.
+  private final ArrayDeque<WalRecord> pending = new ArrayDeque<>();
+
+  public DurablePointHistoryTable(PointWriteAheadLog wal) {
+    this(wal, new HistoryLogProperties(HistoryLogProperties.Layout.HEAP));
+  }
+
+  @Autowired
+  public DurablePointHistoryTable(
+      PointWriteAheadLog wal, HistoryLogProperties historyLogProperties) {
+    super(LatencyModel.zero(), historyLogProperties.newLog());
+    this.wal = wal;
+    wal.replay(
+        record -> {
+          if (record.isHistory()) {
+            put(record.toPointHistory());
+          }
+        });
+  }
+
+  @Override
+  public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+    if (wal.durability() != WalDurability.SYNC) {
+      WalRecord record =
+          wal.append(
+              WalRecord.kindOf(type),
+              userId,
+              amount,
+              updateMillis,
+              appended -> put(appended.toPointHistory()));
+      return record.toPointHistory();
+    }
+
+    // append 콜백은 로그 순서대로 실행되므로 pending 도 lsn 순서입니다.
+    WalRecord record =
+        wal.append(
+            WalRecord.kindOf(type),
+            userId,
+            amount,
+            updateMillis,
+            appended -> {
+              synchronized (pending) {
+                pending.add(appended);
+              }
+            });
+    wal.awaitDurable(record.lsn());
+    publishDurable();
+    return record.toPointHistory();
+  }
+
+  // 같은 유저의 이력이 id 순서로 들어가도록, fsync 된 이력을 앞에서부터 한 쓰레드씩 넣습니다.
+  private void publishDurable() {
+    synchronized (pending) {
+      long durableLsn = wal.durableLsn();
+      while (!pending.isEmpty() && pending.peekFirst().lsn() <= durableLsn) {
+        put(pending.pollFirst().toPointHistory());
+      }
+    }
+  }
+}
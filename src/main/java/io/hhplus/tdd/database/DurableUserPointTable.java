@@ -0,0 +1,85 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.database.wal.BalanceSnapshot;
+import io.hhplus.tdd.database.wal.PointWriteAheadLog;
+import io.hhplus.tdd.database.wal.WalRecord;
+import io.hhplus.tdd.database.wal.WalRecord.Kind;
+import io.hhplus.tdd.point.model.UserPoint;
+import java.util.stream.IntStream;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * 잔액 저장을 {@link PointWriteAheadLog} 에 먼저 남기는 {@link ConcurrentUserPointTable} 입니다. 생성할 때 가장 최근의 {@link
+ * BalanceSnapshot} 을 읽고, 그 이후의 잔액 레코드만 다시 적용해 재시작 전 상태를 복구합니다. 스냅샷과 로그 모두 유저 id 로 나눠 여러
+ * 쓰레드에서 적용합니다.
+ *
+ * <p>잔액은 로그에 쓰는 즉시 테이블에 반영하고, 저장한 쪽만 fsync 를 기다린 뒤 응답합니다. 그래서 그 사이 잔액 조회에는 fsync 전의 잔액이 보일
+ * 수 있습니다. 잔액을 바꾸는 요청은 유저 락 안에서 저장까지 마치므로 이 잔액을 읽고 다시 쓰는 요청은 없습니다.
+ *
+ * <p>실제 디스크에 쓰므로 지연 모델은 적용하지 않습니다. {@code durable-storage} 프로필에서 기본 테이블 대신 주입되며, {@code
+ * concurrent-storage} 와 함께 켜도 이 테이블이 주입됩니다.
+ */
+@Component
+@Primary
+@Profile("durable-storage")
+public class DurableUserPointTable extends ConcurrentUserPointTable {
+  private final PointWriteAheadLog wal;
+
+  public DurableUserPointTable(PointWriteAheadLog wal) {
+    super(LatencyModel.zero(), LatencyModel.zero());
+    this.wal = wal;
+
+    int parallelism = Runtime.getRuntime().availableProcessors();
+    long snapshotLsn = 0;
+    BalanceSnapshot snapshot = BalanceSnapshot.latest(wal.directory()).orElse(null);
+    if (snapshot != null) {
+      if (snapshot.lsn() > wal.lastLsn()) {
+        throw new IllegalStateException(
+            "point snapshot " + snapshot.lsn() + " is ahead of wal " + wal.lastLsn());
+      }
+      snapshot.load(parallelism, this::put);
+      snapshotLsn = snapshot.lsn();
+    }
+
+    long afterLsn = snapshotLsn;
+    IntStream.range(0, parallelism)
+        .parallel()
+        .forEach(
+            shard ->
+                wal.replay(
+                    afterLsn,
+                    shard,
+                    parallelism,
+                    record -> {
+                      if (!record.isHistory()) {
+                        put(record.toUserPoint());
+                      }
+                    }));
+  }
+
+  @Override
+  public UserPoint insertOrUpdate(long id, long amount) {
+    WalRecord record =
+        wal.append(
+            Kind.BALANCE,
+            id,
+            amount,
+            System.currentTimeMillis(),
+            appended -> put(appended.toUserPoint()));
+    wal.awaitDurable(record.lsn());
+    return record.toUserPoint();
+  }
+
+  /**
+   * 현재 잔액을 스냅샷 파일로 저장합니다. 저장하는 동안에도 쓰기를 막지 않습니다. 먼저 읽은 lsn 까지의 변경은 모두 테이블에 반영되어 있고, 그 뒤의
+   * 변경은 잔액 그대로를 담은 레코드로 로그에 남으므로 복구할 때 lsn 이후를 다시 적용하면 같은 상태가 됩니다.
+   */
+  public BalanceSnapshot snapshot() {
+    long lsn = wal.lastLsn();
+    // 스냅샷이 로그보다 앞서지 않도록 lsn 까지의 로그를 먼저 fsync 합니다.
+    wal.sync();
+    return BalanceSnapshot.write(wal.directory(), lsn, this::forEachUserPoint);
+  }
+}
@@ -0,0 +1,106 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 행을 {@link PointHistory} 객체 그대로 heap 에 두는 {@link PointHistoryLog} 입니다.
+ *
+ * <p>id 는 원자적 시퀀스로 발급하고, 행은 id 로 위치가 정해지는 고정 크기 chunk 에 저장합니다. 전역 락이 없고 ArrayList 처럼 배열을
+ * 복사하며 늘리지 않습니다. 쓰기가 끝난 id 중 빈틈 없이 이어지는 마지막 id 를 {@link #publishedId()} 로 공개하며, 읽는 쪽은 그
+ * 지점까지를 일관된 스냅샷으로 볼 수 있습니다.
+ */
+public class HeapPointHistoryLog implements PointHistoryLog {
+  private static final int CHUNK_SHIFT = 14;
+  private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+  private static final int MAX_CHUNKS = 1 << 17;
+
+  private final AtomicReferenceArray<AtomicReferenceArray<PointHistory>> chunks =
+      new AtomicReferenceArray<>(MAX_CHUNKS);
+  private final AtomicLong sequence = new AtomicLong();
+  private final AtomicLong published = new AtomicLong();
+
+  public HeapPointHistoryLog() {
+    ensureChunk(0);
+  }
+
+  @Override
+  public PointHistory append(long userId, long amount, TransactionType type, long updateMillis) {
+    long id = sequence.incrementAndGet();
+    PointHistory pointHistory = new PointHistory(id, userId, amount, type, updateMillis);
+    long position = id - 1;
+    int offset = (int) (position & CHUNK_MASK);
+    int chunkIndex = (int) (position >>> CHUNK_SHIFT);
+
+    // chunk 중간쯤에서 다음 chunk 를 미리 만들어 둬서, 경계에서 쓰는 쪽이 할당을 기다리지 않게 합니다.
+    if (offset == CHUNK_SIZE / 2 && chunkIndex + 1 < MAX_CHUNKS) {
+      ensureChunk(chunkIndex + 1);
+    }
+    ensureChunk(chunkIndex).set(offset, pointHistory);
+    publish();
+    return pointHistory;
+  }
+
+  @Override
+  public void put(PointHistory pointHistory) {
+    long position = pointHistory.id() - 1;
+    if (position < 0) {
+      throw new IllegalArgumentException("id should be positive");
+    }
+    int chunkIndex = (int) (position >>> CHUNK_SHIFT);
+    ensureChunk(chunkIndex).set((int) (position & CHUNK_MASK), pointHistory);
+    sequence.accumulateAndGet(pointHistory.id(), Math::max);
+    publish();
+  }
+
+  @Override
+  public PointHistory get(long id) {
+    if (id < 1 || id > sequence.get()) {
+      return null;
+    }
+    long position = id - 1;
+    AtomicReferenceArray<PointHistory> chunk = chunks.get((int) (position >>> CHUNK_SHIFT));
+    return chunk == null ? null : chunk.get((int) (position & CHUNK_MASK));
+  }
+
+  @Override
+  public long publishedId() {
+    return published.get();
+  }
+
+  @Override
+  public void scan(long afterId, Consumer<PointHistory> consumer) {
+    long until = published.get();
+    for (long id = Math.max(afterId, 0) + 1; id <= until; id++) {
+      consumer.accept(get(id));
+    }
+  }
+
+  private void publish() {
+    // 자기 행을 쓴 쓰레드는 모두 이 루프를 돌며, 앞의 행이 채워져 있는 만큼 공개 지점을 밀어줍니다.
+    // 빈틈을 마지막으로 채운 쓰레드가 그 뒤에 이미 쓰여 있는 행들까지 함께 공개합니다.
+    while (true) {
+      long current = published.get();
+      if (get(current + 1) == null) {
+        return;
+      }
+      published.compareAndSet(current, current + 1);
+    }
+  }
+
+  private AtomicReferenceArray<PointHistory> ensureChunk(int chunkIndex) {
+    if (chunkIndex >= MAX_CHUNKS) {
+      throw new IllegalStateException("point history log is full");
+    }
+    AtomicReferenceArray<PointHistory> chunk = chunks.get(chunkIndex);
+    if (chunk != null) {
+      return chunk;
+    }
+    chunks.compareAndSet(chunkIndex, null, new AtomicReferenceArray<>(CHUNK_SIZE));
+    return chunks.get(chunkIndex);
+  }
+}
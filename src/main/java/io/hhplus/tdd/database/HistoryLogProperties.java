@@ -0,0 +1,25 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * point.table.history-log.* 설정. indexed-history, durable-storage 프로필의 이력 테이블이 행을 쌓는 방식입니다.
+ *
+ * @param layout HEAP: 행마다 PointHistory 객체, OFF_HEAP: 컬럼별 direct buffer
+ */
+@ConfigurationProperties("point.table.history-log")
+public record HistoryLogProperties(@DefaultValue("HEAP") Layout layout) {
+
+  public enum Layout {
+    HEAP,
+    OFF_HEAP
+  }
+
+  public PointHistoryLog newLog() {
+    return switch (layout) {
+      case HEAP -> new HeapPointHistoryLog();
+      case OFF_HEAP -> new OffHeapPointHistoryLog();
+    };
+  }
+}
@@ -0,0 +1,406 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryQuery;
+import io.hhplus.tdd.point.model.PointSummary;
+import io.hhplus.tdd.point.model.PointTotal;
+import io.hhplus.tdd.point.model.TransactionType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * 유저 id 별 인덱스를 함께 유지하는 {@link PointHistoryTable} 입니다. 전체 이력을 훑지 않고 해당 유저의 이력만 읽으므로, 조회 비용이 전체
+ * 이력 수가 아니라 그 유저의 이력 수에 비례합니다.
+ *
+ * <p>행은 {@link PointHistoryLog} 에 쌓고, 인덱스에는 유저별로 행 id 와 1시간 구간별 충전/사용 누적 합계를 기록합니다. 기간 합계는
+ * 경계가 속한 구간의 행만 로그에서 읽어 경계 두 곳의 차이로 구합니다. id 발급과 인덱스 추가는 같은 유저끼리만 직렬화되며 전역 락은
+ * 없습니다. {@code indexed-history} 프로필에서 기본 테이블 대신 주입되며, {@code durable-storage} 도 켜져 있으면 이를 상속한 {@link
+ * DurablePointHistoryTable} 에 자리를 넘깁니다.
+ */
+@Component
+@Primary
+@Profile("indexed-history & !durable-storage")
+public class IndexedPointHistoryTable extends PointHistoryTable
+    implements PointHistoryIndex, PointHistoryAggregate, PointHistoryFeed {
+  private final PointHistoryLog log;
+  private final ConcurrentLongMap<UserRows> userIndex = new ConcurrentLongMap<>();
+  private final LatencyModel insertLatency;
+
+  public IndexedPointHistoryTable() {
+    this(LatencyModel.uniform(Duration.ZERO, Duration.ofMillis(300), new Random()));
+  }
+
+  @Autowired
+  public IndexedPointHistoryTable(
+      TableLatencyProperties tableLatencyProperties, HistoryLogProperties historyLogProperties) {
+    this(tableLatencyProperties.pointHistoryInsertModel(), historyLogProperties.newLog());
+  }
+
+  public IndexedPointHistoryTable(LatencyModel insertLatency) {
+    this(insertLatency, new HeapPointHistoryLog());
+  }
+
+  public IndexedPointHistoryTable(LatencyModel insertLatency, PointHistoryLog log) {
+    this.insertLatency = insertLatency;
+    this.log = log;
+  }
+
+  @Override
+  public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+    insertLatency.pause();
+    UserRows rows = userIndex.computeIfAbsent(userId, UserRows::new);
+    // 같은 유저 안에서 id 순서와 인덱스 순서가 같도록 발급과 추가를 함께 묶습니다. 안에서 블로킹하는 호출은 없습니다.
+    synchronized (rows) {
+      PointHistory pointHistory = log.append(userId, amount, type, updateMillis);
+      rows.add(pointHistory);
+      return pointHistory;
+    }
+  }
+
+  /** id 가 정해진 행을 로그와 인덱스에 추가합니다. 같은 유저의 행은 id 오름차순으로 호출해야 합니다. */
+  protected void put(PointHistory pointHistory) {
+    UserRows rows = userIndex.computeIfAbsent(pointHistory.userId(), UserRows::new);
+    synchronized (rows) {
+      log.put(pointHistory);
+      rows.add(pointHistory);
+    }
+  }
+
+  @Override
+  public List<PointHistory> selectAllByUserId(long userId) {
+    UserRows rows = userIndex.get(userId);
+    if (rows == null) {
+      return List.of();
+    }
+
+    long[] ids = rows.snapshot();
+    PointHistory[] pointHistories = new PointHistory[ids.length];
+    for (int i = 0; i < ids.length; i++) {
+      pointHistories[i] = log.get(ids[i]);
+    }
+    return Arrays.asList(pointHistories);
+  }
+
+  @Override
+  public List<PointHistory> selectByUserId(long userId, PointHistoryQuery query) {
+    UserRows rows = userIndex.get(userId);
+    if (rows == null) {
+      return List.of();
+    }
+
+    int length = rows.size;
+    long[] ids = rows.ids;
+    int limit = query.limitOrMax();
+    List<PointHistory> page = new ArrayList<>(Math.min(limit, length));
+
+    // 조건 확인은 로그에 맡기고, 맞는 행만 PointHistory 로 꺼냅니다.
+    for (int i = startIndex(ids, length, query); i < length && page.size() < limit; i++) {
+      if (log.matches(ids[i], query)) {
+        page.add(log.get(ids[i]));
+      }
+    }
+    return page;
+  }
+
+  @Override
+  public Stream<PointHistory> streamByUserId(long userId, PointHistoryQuery query) {
+    UserRows rows = userIndex.get(userId);
+    if (rows == null) {
+      return Stream.empty();
+    }
+
+    // 배열을 복사하지 않습니다. 이후 쓰기는 length 뒤에만 일어나고, 배열이 교체되어도 이전 배열의 앞부분은 그대로입니다.
+    int length = rows.size;
+    long[] ids = rows.ids;
+    return IntStream.range(startIndex(ids, length, query), length)
+        .filter(i -> log.matches(ids[i], query))
+        .limit(query.limitOrMax())
+        .mapToObj(i -> log.get(ids[i]));
+  }
+
+  @Override
+  public PointSummary summarizeByUserId(long userId, PointHistoryQuery query) {
+    UserRows rows = userIndex.get(userId);
+    if (rows == null) {
+      return new PointSummary(userId, query.fromMillis(), query.toMillis(), 0, 0, 0, 0);
+    }
+    return rows.summarize(log, query);
+  }
+
+  /** 유저마다 기간 합계를 구하는 일을 병렬 스트림으로 나누고, 작업마다 상위 limit 명만 남겨 합칩니다. */
+  @Override
+  public List<PointTotal> selectTopUsers(PointHistoryQuery query) {
+    List<UserRows> users = new ArrayList<>(userIndex.size());
+    userIndex.forEach((userId, rows) -> users.add(rows));
+    TransactionType type = query.type();
+    return users.parallelStream()
+        .map(rows -> rows.summarize(log, query))
+        .map(
+            summary ->
+                type == TransactionType.CHARGE
+                    ? new PointTotal(
+                        summary.userId(), type, summary.chargedAmount(), summary.chargeCount())
+                    : new PointTotal(
+                        summary.userId(), type, summary.usedAmount(), summary.useCount()))
+        .filter(total -> total.count() > 0)
+        .collect(PointTotal.top(query.limitOrMax()));
+  }
+
+  @Override
+  public long publishedId() {
+    return log.publishedId();
+  }
+
+  @Override
+  public long scan(long afterId, int limit, Consumer<PointHistory> consumer) {
+    long until = Math.min(log.publishedId(), afterId + limit);
+    for (long id = afterId + 1; id <= until; id++) {
+      consumer.accept(log.get(id));
+    }
+    return Math.max(afterId, until);
+  }
+
+  // id 가 오름차순이므로 커서 위치는 이분 탐색으로 찾습니다.
+  private static int startIndex(long[] ids, int length, PointHistoryQuery query) {
+    int index = Arrays.binarySearch(ids, 0, length, query.afterIdOrZero() + 1);
+    return index < 0 ? -index - 1 : index;
+  }
+
+  /**
+   * 한 유저의 행 id 와 시간 구간별 누적 합계. 행마다 시각과 합계를 힙에 두지 않고, 구간마다 그 앞 시각까지의 합계를 남깁니다. 행의 시각과
+   * 금액은 필요할 때 로그에서 읽습니다. 쓰기는 rows 모니터 안에서만 하고, 읽기는 락 없이 size 까지를 스냅샷으로 읽습니다.
+   *
+   * <p>시각이 늦게 도착한 행도 제 시각의 구간에 넣습니다. 그 구간의 행 범위를 늘리고 뒤 구간들의 누적 합계에 더한 구간 목록을 새로 만들어
+   * 교체하므로, 읽는 쪽은 언제나 한 시점의 구간 목록을 봅니다.
+   */
+  private static final class UserRows {
+    private static final long BUCKET_MILLIS = Duration.ofHours(1).toMillis();
+
+    private final long userId;
+    private volatile long[] ids = new long[8];
+    private volatile int size;
+    private volatile Buckets buckets = Buckets.EMPTY;
+
+    // 아래는 쓰기 스레드만 rows 모니터 안에서 읽고 씁니다.
+    private long charged;
+    private long used;
+    private long chargeCount;
+
+    private UserRows(long userId) {
+      this.userId = userId;
+    }
+
+    private void add(PointHistory pointHistory) {
+      int index = size;
+      if (index == ids.length) {
+        ids = Arrays.copyOf(ids, index << 1);
+      }
+      ids[index] = pointHistory.id();
+
+      long start = Math.floorDiv(pointHistory.updateMillis(), BUCKET_MILLIS) * BUCKET_MILLIS;
+      Buckets current = buckets;
+      if (current.count == 0 || start > current.lastStart()) {
+        // 지금까지의 행은 모두 이 구간보다 이르므로 누적 합계가 곧 구간 앞까지의 합계입니다.
+        buckets = current.append(start, index, charged, used, chargeCount);
+      } else if (start < current.lastStart()) {
+        buckets = current.insert(start, index, pointHistory);
+      }
+      // 마지막 구간에 들어가는 행은 구간 목록을 바꾸지 않습니다. 읽기는 마지막 구간을 size 까지 확인합니다.
+      // 구간 목록을 먼저 공개하고 size 를 올립니다. 읽기는 size 를 읽은 뒤 구간 목록을 읽습니다.
+      size = index + 1;
+
+      if (pointHistory.type() == TransactionType.CHARGE) {
+        charged += pointHistory.amount();
+        chargeCount++;
+      } else {
+        used += pointHistory.amount();
+      }
+    }
+
+    private long[] snapshot() {
+      // size 를 먼저 읽어야 그 이후에 바뀐 배열도 최소 size 개의 id 를 담고 있습니다.
+      int length = size;
+      return Arrays.copyOf(ids, length);
+    }
+
+    /** 각 경계 이전의 합계를 구간 누적 합계와 경계 구간의 행으로 구해 그 차이를 반환합니다. */
+    private PointSummary summarize(PointHistoryLog log, PointHistoryQuery query) {
+      int length = size;
+      Buckets buckets = this.buckets;
+      // 구간 목록이 size 보다 앞서 공개된 행까지 반영했다면 그 행까지 읽습니다.
+      length = Math.max(length, buckets.length);
+      long[] ids = this.ids;
+      Long from = query.fromMillis();
+      Long to = query.toMillis();
+
+      Totals totals = new Totals();
+      totals.addBefore(log, ids, length, buckets, to == null ? Long.MAX_VALUE : to);
+      if (from != null) {
+        totals.subtract(new Totals().addBefore(log, ids, length, buckets, from));
+      }
+      return new PointSummary(
+          userId,
+          from,
+          to,
+          totals.charged,
+          totals.chargeCount,
+          totals.used,
+          totals.count - totals.chargeCount);
+    }
+  }
+
+  /**
+   * 시작 시각 오름차순의 구간 목록. 구간 하나는 시작 시각, 행 범위(첫 행 위치, 마지막 행 다음 위치), 그 시작 시각 이전 행들의 충전 합계, 사용
+   * 합계, 충전 횟수, 행 수를 차례로 담습니다. 누적 합계는 앞의 length 개 행까지 반영합니다.
+   *
+   * <p>구간의 행 범위에는 다른 구간의 행도 섞일 수 있으므로 범위 안의 행은 시각으로 다시 거릅니다. 마지막 구간은 범위 끝 대신 읽은 size 까지
+   * 확인합니다. 새 구간을 뒤에 붙일 때는 공개된 count 뒤에만 쓰므로 배열을 그대로 쓰고, 앞의 구간을 고칠 때는 배열을 복사합니다.
+   */
+  private record Buckets(long[] data, int count, int length) {
+    private static final int FIELDS = 7;
+    private static final int START = 0;
+    private static final int FIRST = 1;
+    private static final int END = 2;
+    private static final int CHARGED = 3;
+    private static final int USED = 4;
+    private static final int CHARGE_COUNT = 5;
+    private static final int COUNT = 6;
+    private static final Buckets EMPTY = new Buckets(new long[FIELDS * 2], 0, 0);
+
+    private long lastStart() {
+      return data[(count - 1) * FIELDS + START];
+    }
+
+    private Buckets append(long start, int index, long charged, long used, long chargeCount) {
+      long[] data = count * FIELDS == this.data.length ? grow(this.data) : this.data;
+      if (count > 0) {
+        // 마지막이 아니게 된 구간의 행은 모두 이 행 앞에 있습니다. 이 구간을 마지막으로 보는 읽기는 END 를 쓰지 않습니다.
+        data[(count - 1) * FIELDS + END] = index;
+      }
+      int offset = count * FIELDS;
+      data[offset + START] = start;
+      data[offset + FIRST] = index;
+      data[offset + END] = index + 1;
+      data[offset + CHARGED] = charged;
+      data[offset + USED] = used;
+      data[offset + CHARGE_COUNT] = chargeCount;
+      data[offset + COUNT] = index;
+      return new Buckets(data, count + 1, index + 1);
+    }
+
+    // 마지막 구간보다 이른 행을 제 구간에 넣고, 뒤 구간들의 누적 합계에 더합니다.
+    private Buckets insert(long start, int index, PointHistory pointHistory) {
+      int bucket = search(data, count, start + 1) - 1;
+      long[] data;
+      int count = this.count;
+      if (bucket >= 0 && this.data[bucket * FIELDS + START] == start) {
+        data = this.data.clone();
+        data[bucket * FIELDS + END] = index + 1;
+      } else {
+        // 이 시각의 구간이 없으면 새로 끼워 넣습니다. 사이에 행이 없으므로 누적 합계는 바로 뒤 구간과 같습니다.
+        bucket++;
+        data = count * FIELDS == this.data.length ? grow(this.data) : this.data.clone();
+        int offset = bucket * FIELDS;
+        System.arraycopy(data, offset, data, offset + FIELDS, (count - bucket) * FIELDS);
+        data[offset + START] = start;
+        data[offset + FIRST] = index;
+        data[offset + END] = index + 1;
+        count++;
+      }
+
+      boolean charge = pointHistory.type() == TransactionType.CHARGE;
+      for (int offset = (bucket + 1) * FIELDS; offset < count * FIELDS; offset += FIELDS) {
+        if (charge) {
+          data[offset + CHARGED] += pointHistory.amount();
+          data[offset + CHARGE_COUNT]++;
+        } else {
+          data[offset + USED] += pointHistory.amount();
+        }
+        data[offset + COUNT]++;
+      }
+      return new Buckets(data, count, index + 1);
+    }
+
+    private static long[] grow(long[] data) {
+      return Arrays.copyOf(data, data.length << 1);
+    }
+
+    // until 이전에 시작한 구간 수. 시작 시각 오름차순이므로 이분 탐색합니다.
+    private static int search(long[] data, int count, long until) {
+      int low = 0;
+      int high = count;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (data[middle * FIELDS + START] < until) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+  }
+
+  /** 기간 합계를 모으는 누산기. */
+  private static final class Totals {
+    private long charged;
+    private long used;
+    private long chargeCount;
+    private long count;
+
+    private void add(PointHistory pointHistory) {
+      if (pointHistory.type() == TransactionType.CHARGE) {
+        charged += pointHistory.amount();
+        chargeCount++;
+      } else {
+        used += pointHistory.amount();
+      }
+      count++;
+    }
+
+    private void subtract(Totals other) {
+      charged -= other.charged;
+      used -= other.used;
+      chargeCount -= other.chargeCount;
+      count -= other.count;
+    }
+
+    /** millis 가 until 보다 이른 행의 합계를 더합니다. */
+    private Totals addBefore(
+        PointHistoryLog log, long[] ids, int length, Buckets buckets, long until) {
+      int bucket = Buckets.search(buckets.data(), buckets.count(), until) - 1;
+      if (bucket < 0) {
+        return this;
+      }
+
+      long[] data = buckets.data();
+      int offset = bucket * Buckets.FIELDS;
+      long start = data[offset + Buckets.START];
+      charged += data[offset + Buckets.CHARGED];
+      used += data[offset + Buckets.USED];
+      chargeCount += data[offset + Buckets.CHARGE_COUNT];
+      count += data[offset + Buckets.COUNT];
+
+      // 경계 구간의 행만 시각으로 거릅니다. 범위 안에 섞인 다른 구간의 행은 구간 시작 이전이거나 until 이후입니다.
+      int end = bucket == buckets.count() - 1 ? length : (int) data[offset + Buckets.END];
+      for (int i = (int) data[offset + Buckets.FIRST]; i < end; i++) {
+        PointHistory pointHistory = log.get(ids[i]);
+        long millis = pointHistory.updateMillis();
+        if (millis >= start && millis < until) {
+          add(pointHistory);
+        }
+      }
+      return this;
+    }
+  }
+}
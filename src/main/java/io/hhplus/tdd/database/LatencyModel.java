@@ -0,0 +1,176 @@
+package io.hhplus.tdd.database;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stub 과 새 저장소가 느린 DB 를 흉내 내기 위해 호출마다 적용하는 지연 모델입니다. 원본 Table 클래스는 변경하지 않으므로 여기에 영향을 받지
+ * 않습니다.
+ *
+ * <p>같은 seed 로 만든 {@link Random} 을 넘기면 같은 순서의 지연이 만들어지므로 부하/경합 테스트를 재현할 수 있습니다. 설정 문자열 형식은
+ * {@link #parse(String, Random)} 를 참고하세요.
+ */
+@FunctionalInterface
+public interface LatencyModel {
+  /** 다음 호출에 적용할 지연(ns) */
+  long nextDelayNanos();
+
+  default void pause() {
+    long nanos = nextDelayNanos();
+    if (nanos <= 0) {
+      return;
+    }
+    try {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  static LatencyModel zero() {
+    return () -> 0;
+  }
+
+  static LatencyModel fixed(Duration delay) {
+    long nanos = delay.toNanos();
+    return () -> nanos;
+  }
+
+  /** min ~ max 사이에서 고르게 뽑습니다. */
+  static LatencyModel uniform(Duration min, Duration max, Random random) {
+    long minNanos = min.toNanos();
+    long rangeNanos = max.toNanos() - minNanos;
+    if (rangeNanos < 0) {
+      throw new IllegalArgumentException("max should not be less than min");
+    }
+    return () -> minNanos + (long) (random.nextDouble() * rangeNanos);
+  }
+
+  /** 중앙값이 median 이고 ln(지연) 의 표준편차가 sigma 인 로그 정규 분포입니다. 긴 꼬리를 가진 실제 저장소 지연에 가깝습니다. */
+  static LatencyModel logNormal(Duration median, double sigma, Random random) {
+    if (sigma < 0) {
+      throw new IllegalArgumentException("sigma should not be negative");
+    }
+    double medianNanos = median.toNanos();
+    return () -> (long) (medianNanos * Math.exp(sigma * random.nextGaussian()));
+  }
+
+  /**
+   * 기록해 둔 히스토그램을 재현합니다. 구간은 count 에 비례하는 확률로 고르고, 구간 안에서는 이전 경계와 upperBound 사이에서 고르게 뽑습니다.
+   *
+   * @param upperBounds 오름차순 구간 상한
+   * @param counts 구간별 관측 횟수
+   */
+  static LatencyModel histogram(List<Duration> upperBounds, long[] counts, Random random) {
+    if (upperBounds.isEmpty() || upperBounds.size() != counts.length) {
+      throw new IllegalArgumentException("each bucket should have a count");
+    }
+
+    long[] boundNanos = new long[counts.length];
+    long[] cumulative = new long[counts.length];
+    long total = 0;
+    for (int i = 0; i < counts.length; i++) {
+      boundNanos[i] = upperBounds.get(i).toNanos();
+      if (counts[i] < 0 || (i > 0 && boundNanos[i] <= boundNanos[i - 1])) {
+        throw new IllegalArgumentException("buckets should be ascending with non-negative counts");
+      }
+      total += counts[i];
+      cumulative[i] = total;
+    }
+    if (total == 0) {
+      throw new IllegalArgumentException("histogram should have at least one observation");
+    }
+
+    long observations = total;
+    return () -> {
+      long pick = (long) (random.nextDouble() * observations);
+      int bucket = Arrays.binarySearch(cumulative, pick + 1);
+      bucket = bucket < 0 ? -bucket - 1 : bucket;
+      long lower = bucket == 0 ? 0 : boundNanos[bucket - 1];
+      return lower + (long) (random.nextDouble() * (boundNanos[bucket] - lower));
+    };
+  }
+
+  /**
+   * 설정 문자열로 모델을 만듭니다. 시간 단위는 ns, us, ms, s 를 사용할 수 있습니다.
+   *
+   * <ul>
+   *   <li>{@code zero}
+   *   <li>{@code fixed(5ms)}
+   *   <li>{@code uniform(200ms)} 또는 {@code uniform(10ms, 200ms)}
+   *   <li>{@code lognormal(20ms, 0.5)} - 중앙값, sigma
+   *   <li>{@code histogram(1ms:500, 5ms:300, 100ms:20)} - 구간 상한:관측 횟수
+   * </ul>
+   */
+  static LatencyModel parse(String spec, Random random) {
+    Matcher matcher = Pattern.compile("\\s*(\\w+)\\s*(?:\\((.*)\\))?\\s*").matcher(spec);
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException("invalid latency spec: " + spec);
+    }
+    String name = matcher.group(1).toLowerCase();
+    List<String> args =
+        matcher.group(2) == null || matcher.group(2).isBlank()
+            ? List.of()
+            : Arrays.stream(matcher.group(2).split(",")).map(String::trim).toList();
+
+    return switch (name) {
+      case "zero" -> zero();
+      case "fixed" -> fixed(parseDuration(single(args, spec)));
+      case "uniform" ->
+          switch (args.size()) {
+            case 1 -> uniform(Duration.ZERO, parseDuration(args.get(0)), random);
+            case 2 -> uniform(parseDuration(args.get(0)), parseDuration(args.get(1)), random);
+            default -> throw new IllegalArgumentException("invalid latency spec: " + spec);
+          };
+      case "lognormal" -> {
+        if (args.size() != 2) {
+          throw new IllegalArgumentException("invalid latency spec: " + spec);
+        }
+        yield logNormal(parseDuration(args.get(0)), Double.parseDouble(args.get(1)), random);
+      }
+      case "histogram" -> {
+        List<Duration> upperBounds = new ArrayList<>(args.size());
+        long[] counts = new long[args.size()];
+        for (int i = 0; i < args.size(); i++) {
+          String[] bucket = args.get(i).split(":");
+          if (bucket.length != 2) {
+            throw new IllegalArgumentException("invalid histogram bucket: " + args.get(i));
+          }
+          upperBounds.add(parseDuration(bucket[0].trim()));
+          counts[i] = Long.parseLong(bucket[1].trim());
+        }
+        yield histogram(upperBounds, counts, random);
+      }
+      default -> throw new IllegalArgumentException("unknown latency model: " + name);
+    };
+  }
+
+  private static String single(List<String> args, String spec) {
+    if (args.size() != 1) {
+      throw new IllegalArgumentException("invalid latency spec: " + spec);
+    }
+    return args.get(0);
+  }
+
+  private static Duration parseDuration(String value) {
+    Matcher matcher = Pattern.compile("(\\d+(?:\\.\\d+)?)\\s*(ns|us|ms|s)").matcher(value);
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException("invalid duration: " + value);
+    }
+    double amount = Double.parseDouble(matcher.group(1));
+    long nanosPerUnit =
+        switch (matcher.group(2)) {
+          case "ns" -> 1L;
+          case "us" -> 1_000L;
+          case "ms" -> 1_000_000L;
+          default -> 1_000_000_000L;
+        };
+    return Duration.ofNanos((long) (amount * nanosPerUnit));
+  }
+}
@@ -0,0 +1,172 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryQuery;
+import io.hhplus.tdd.point.model.TransactionType;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 행을 컬럼별 direct {@link ByteBuffer} 에 두는 {@link PointHistoryLog} 입니다. chunk 마다 userId, amount, updateMillis 의 long
+ * 컬럼과 type 의 byte 컬럼이 있고, id 는 위치로 정해지므로 따로 저장하지 않습니다. 행당 25 byte 를 heap 밖에 쓰며 heap 에는 chunk
+ * 객체만 남으므로, 행이 많아져도 GC 가 훑을 객체가 늘지 않습니다. {@link PointHistory} 는 {@link #get(long)} 으로 꺼낼 때만 만듭니다.
+ *
+ * <p>type 은 0 이면 아직 쓰이지 않은 자리입니다. 다른 컬럼을 모두 쓴 뒤 release fence 를 두고 type 을 쓰며, 읽는 쪽은 type 을 확인한
+ * 뒤 acquire fence 를 두고 나머지 컬럼을 읽습니다. id 발급과 공개 방식은 {@link HeapPointHistoryLog} 와 같습니다.
+ */
+public class OffHeapPointHistoryLog implements PointHistoryLog {
+  private static final int CHUNK_SHIFT = 16;
+  private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+  private static final int MAX_CHUNKS = 1 << 15;
+  private static final TransactionType[] TYPES = TransactionType.values();
+
+  private final AtomicReferenceArray<Chunk> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+  private final AtomicLong sequence = new AtomicLong();
+  private final AtomicLong published = new AtomicLong();
+
+  public OffHeapPointHistoryLog() {
+    ensureChunk(0);
+  }
+
+  @Override
+  public PointHistory append(long userId, long amount, TransactionType type, long updateMillis) {
+    long id = sequence.incrementAndGet();
+    long position = id - 1;
+    int offset = (int) (position & CHUNK_MASK);
+    int chunkIndex = (int) (position >>> CHUNK_SHIFT);
+
+    // chunk 중간쯤에서 다음 chunk 를 미리 만들어 둬서, 경계에서 쓰는 쪽이 할당을 기다리지 않게 합니다.
+    if (offset == CHUNK_SIZE / 2 && chunkIndex + 1 < MAX_CHUNKS) {
+      ensureChunk(chunkIndex + 1);
+    }
+    ensureChunk(chunkIndex).write(offset, userId, amount, type, updateMillis);
+    publish();
+    return new PointHistory(id, userId, amount, type, updateMillis);
+  }
+
+  @Override
+  public void put(PointHistory pointHistory) {
+    long position = pointHistory.id() - 1;
+    if (position < 0) {
+      throw new IllegalArgumentException("id should be positive");
+    }
+    ensureChunk((int) (position >>> CHUNK_SHIFT))
+        .write(
+            (int) (position & CHUNK_MASK),
+            pointHistory.userId(),
+            pointHistory.amount(),
+            pointHistory.type(),
+            pointHistory.updateMillis());
+    sequence.accumulateAndGet(pointHistory.id(), Math::max);
+    publish();
+  }
+
+  @Override
+  public PointHistory get(long id) {
+    Chunk chunk = chunkOf(id);
+    if (chunk == null) {
+      return null;
+    }
+    int offset = (int) ((id - 1) & CHUNK_MASK);
+    byte type = chunk.types.get(offset);
+    if (type == 0) {
+      return null;
+    }
+    VarHandle.acquireFence();
+    int index = offset << 3;
+    return new PointHistory(
+        id,
+        chunk.userIds.getLong(index),
+        chunk.amounts.getLong(index),
+        TYPES[type - 1],
+        chunk.updateMillis.getLong(index));
+  }
+
+  @Override
+  public long publishedId() {
+    return published.get();
+  }
+
+  @Override
+  public void scan(long afterId, Consumer<PointHistory> consumer) {
+    long until = published.get();
+    for (long id = Math.max(afterId, 0) + 1; id <= until; id++) {
+      consumer.accept(get(id));
+    }
+  }
+
+  /** 행을 만들지 않고 updateMillis 와 type 컬럼만 읽어 확인합니다. */
+  @Override
+  public boolean matches(long id, PointHistoryQuery query) {
+    Chunk chunk = chunkOf(id);
+    int offset = (int) ((id - 1) & CHUNK_MASK);
+    byte type = chunk.types.get(offset);
+    VarHandle.acquireFence();
+    long updateMillis = chunk.updateMillis.getLong(offset << 3);
+    return (query.fromMillis() == null || updateMillis >= query.fromMillis())
+        && (query.toMillis() == null || updateMillis < query.toMillis())
+        && (query.type() == null || type == query.type().ordinal() + 1);
+  }
+
+  private Chunk chunkOf(long id) {
+    if (id < 1 || id > sequence.get()) {
+      return null;
+    }
+    return chunks.get((int) ((id - 1) >>> CHUNK_SHIFT));
+  }
+
+  private boolean isWritten(long id) {
+    Chunk chunk = chunkOf(id);
+    return chunk != null && chunk.types.get((int) ((id - 1) & CHUNK_MASK)) != 0;
+  }
+
+  private void publish() {
+    // HeapPointHistoryLog 와 같이, 앞의 행이 채워져 있는 만큼 공개 지점을 밀어줍니다.
+    while (true) {
+      long current = published.get();
+      if (!isWritten(current + 1)) {
+        return;
+      }
+      published.compareAndSet(current, current + 1);
+    }
+  }
+
+  private Chunk ensureChunk(int chunkIndex) {
+    if (chunkIndex >= MAX_CHUNKS) {
+      throw new IllegalStateException("point history log is full");
+    }
+    Chunk chunk = chunks.get(chunkIndex);
+    if (chunk != null) {
+      return chunk;
+    }
+    chunks.compareAndSet(chunkIndex, null, new Chunk());
+    return chunks.get(chunkIndex);
+  }
+
+  /** CHUNK_SIZE 개 행의 컬럼. 서로 다른 자리는 여러 쓰레드가 동시에 씁니다. 절대 위치로만 읽고 쓰므로 buffer 의 position 은 쓰지 않습니다. */
+  private static final class Chunk {
+    private final ByteBuffer userIds = allocate(Long.BYTES);
+    private final ByteBuffer amounts = allocate(Long.BYTES);
+    private final ByteBuffer updateMillis = allocate(Long.BYTES);
+    private final ByteBuffer types = allocate(Byte.BYTES);
+
+    private void write(
+        int offset, long userId, long amount, TransactionType type, long updateMillis) {
+      int index = offset << 3;
+      userIds.putLong(index, userId);
+      amounts.putLong(index, amount);
+      this.updateMillis.putLong(index, updateMillis);
+      VarHandle.releaseFence();
+      types.put(offset, (byte) (type.ordinal() + 1));
+    }
+
+    private static ByteBuffer allocate(int bytesPerRow) {
+      return ByteBuffer.allocateDirect(CHUNK_SIZE * bytesPerRow).order(ByteOrder.nativeOrder());
+    }
+  }
+}
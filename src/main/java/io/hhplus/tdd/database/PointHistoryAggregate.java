@@ -0,0 +1,15 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.model.PointHistoryQuery;
+import io.hhplus.tdd.point.model.PointSummary;
+import io.hhplus.tdd.point.model.PointTotal;
+import java.util.List;
+
+/** 유저별 누적 합계를 유지하는 이력 저장소가 구현합니다. 기간 합계를 이력을 읽지 않고 계산합니다. */
+public interface PointHistoryAggregate {
+  /** query 의 기간(fromMillis, toMillis) 안의 충전/사용 합계. 다른 조건은 쓰지 않습니다. */
+  PointSummary summarizeByUserId(long userId, PointHistoryQuery query);
+
+  /** query 의 기간 안에서 query.type 이력의 금액 합이 큰 유저부터 최대 query.limit 명을 반환합니다. */
+  List<PointTotal> selectTopUsers(PointHistoryQuery query);
+}
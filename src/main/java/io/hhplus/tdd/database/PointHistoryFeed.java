@@ -0,0 +1,31 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import java.util.function.Consumer;
+
+/** 전체 이력을 id 순서로 이어 읽을 수 있는 저장소가 구현합니다. 읽은 마지막 id 를 기억해 두면 다음에는 그 뒤만 읽을 수 있습니다. */
+public interface PointHistoryFeed {
+  /** 이 id 까지의 모든 이력이 쓰기를 마쳤습니다. */
+  long publishedId();
+
+  /**
+   * afterId 다음부터 {@link #publishedId()} 까지 id 순서로 최대 limit 개를 전달하고, 마지막으로 전달한 id 를 반환합니다. 전달한 것이
+   * 없으면 afterId 를 반환합니다.
+   */
+  long scan(long afterId, int limit, Consumer<PointHistory> consumer);
+
+  /** 이력을 id 순서로 읽을 수 없는 테이블 대신 쓰는, 항상 비어 있는 feed */
+  static PointHistoryFeed empty() {
+    return new PointHistoryFeed() {
+      @Override
+      public long publishedId() {
+        return 0;
+      }
+
+      @Override
+      public long scan(long afterId, int limit, Consumer<PointHistory> consumer) {
+        return afterId;
+      }
+    };
+  }
+}
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryQuery;
+import java.util.List;
+import java.util.stream.Stream;
+
+/** 유저별 인덱스를 가진 이력 저장소가 구현합니다. 한 페이지를 읽는 비용이 전체 이력이 아니라 페이지 크기에 비례합니다. */
+public interface PointHistoryIndex {
+  /** query 조건에 맞는 유저의 이력을 id 오름차순으로 최대 limit 개 반환합니다. */
+  List<PointHistory> selectByUserId(long userId, PointHistoryQuery query);
+
+  /** selectByUserId 와 같은 조건의 이력을 목록으로 만들지 않고 순서대로 흘려보냅니다. 호출 시점까지 쓰인 이력만 포함합니다. */
+  Stream<PointHistory> streamByUserId(long userId, PointHistoryQuery query);
+}
@@ -0,0 +1,36 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryQuery;
+import io.hhplus.tdd.point.model.TransactionType;
+import java.util.function.Consumer;
+
+/**
+ * 포인트 이력을 append-only 로 쌓는 로그입니다. id 는 1 부터 빈틈 없이 발급하고, 행의 위치는 id 로 정해집니다.
+ *
+ * <p>행을 객체로 두는 {@link HeapPointHistoryLog} 와 컬럼별로 off-heap 에 두는 {@link OffHeapPointHistoryLog} 가 있으며, {@link
+ * HistoryLogProperties} 로 고릅니다.
+ */
+public interface PointHistoryLog {
+  PointHistory append(long userId, long amount, TransactionType type, long updateMillis);
+
+  /**
+   * 이미 id 가 정해진 행을 그 자리에 씁니다. WAL 처럼 id 를 밖에서 발급하는 저장소가 사용하며, 같은 로그에 {@link #append} 와 섞어 쓰지
+   * 않습니다.
+   */
+  void put(PointHistory pointHistory);
+
+  /** 아직 쓰이지 않은 id 이면 null 을 반환합니다. */
+  PointHistory get(long id);
+
+  /** 이 id 까지의 모든 행이 쓰기를 마쳤습니다. */
+  long publishedId();
+
+  /** afterId 다음부터 호출 시점의 {@link #publishedId()} 까지 순서대로 전달합니다. */
+  void scan(long afterId, Consumer<PointHistory> consumer);
+
+  /** 쓰기를 마친 id 의 행이 query 의 필터 조건에 맞는지 확인합니다. 구현에 따라 행을 만들지 않고 확인합니다. */
+  default boolean matches(long id, PointHistoryQuery query) {
+    return query.matches(get(id));
+  }
+}
@@ -2,12 +2,23 @@ package io.hhplus.tdd.database;
 
 import io.hhplus.tdd.point.model.PointHistory;
 import io.hhplus.tdd.point.model.TransactionType;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 public class PointHistoryTableStub extends PointHistoryTable {
   private List<PointHistory> table = new ArrayList<>();
   private long cursor = 1;
+  private final LatencyModel insertLatency;
+
+  public PointHistoryTableStub() {
+    this(LatencyModel.uniform(Duration.ZERO, Duration.ofMillis(300), new Random()));
+  }
+
+  public PointHistoryTableStub(LatencyModel insertLatency) {
+    this.insertLatency = insertLatency;
+  }
 
   public void setTable(List<PointHistory> table) {
     this.table = table;
@@ -20,16 +31,9 @@ public class PointHistoryTableStub extends PointHistoryTable {
 
   @Override
   public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
-    throttle(300L);
+    insertLatency.pause();
     PointHistory pointHistory = new PointHistory(cursor++, userId, amount, type, updateMillis);
     table.add(pointHistory);
     return pointHistory;
   }
-
-  private void throttle(long millis) {
-    try {
-      Thread.sleep((long) (Math.random() * millis));
-    } catch (InterruptedException ignored) {
-    }
-  }
 }
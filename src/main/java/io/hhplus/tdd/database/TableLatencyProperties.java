@@ -0,0 +1,38 @@
+package io.hhplus.tdd.database;
+
+import java.util.Random;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * point.table.latency.* 설정. 각 값은 {@link LatencyModel#parse(String, Random)} 형식입니다.
+ *
+ * @param seed 지정하면 테이블마다 이 값에서 나온 seed 로 지연을 뽑아 실행마다 같은 순서의 지연을 만듭니다.
+ * @param userPointSelect 잔액 조회 지연
+ * @param userPointWrite 잔액 저장 지연
+ * @param pointHistoryInsert 이력 저장 지연
+ */
+@ConfigurationProperties("point.table.latency")
+public record TableLatencyProperties(
+    Long seed,
+    @DefaultValue("uniform(200ms)") String userPointSelect,
+    @DefaultValue("uniform(300ms)") String userPointWrite,
+    @DefaultValue("uniform(300ms)") String pointHistoryInsert) {
+
+  public LatencyModel userPointSelectModel() {
+    return LatencyModel.parse(userPointSelect, random(1));
+  }
+
+  public LatencyModel userPointWriteModel() {
+    return LatencyModel.parse(userPointWrite, random(2));
+  }
+
+  public LatencyModel pointHistoryInsertModel() {
+    return LatencyModel.parse(pointHistoryInsert, random(3));
+  }
+
+  // 테이블마다 다른 seed 를 써서 서로의 호출 순서가 다른 테이블의 지연에 영향을 주지 않게 합니다.
+  private Random random(int salt) {
+    return seed == null ? new Random() : new Random(seed * 31 + salt);
+  }
+}
@@ -1,11 +1,26 @@
 package io.hhplus.tdd.database;
 
 import io.hhplus.tdd.point.model.UserPoint;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
 
 public class UserPointTableStub extends UserPointTable {
   private Map<Long, UserPoint> table = new HashMap<>();
+  private final LatencyModel selectLatency;
+  private final LatencyModel writeLatency;
+
+  public UserPointTableStub() {
+    this(
+        LatencyModel.uniform(Duration.ZERO, Duration.ofMillis(200), new Random()),
+        LatencyModel.uniform(Duration.ZERO, Duration.ofMillis(300), new Random()));
+  }
+
+  public UserPointTableStub(LatencyModel selectLatency, LatencyModel writeLatency) {
+    this.selectLatency = selectLatency;
+    this.writeLatency = writeLatency;
+  }
 
   public void setTable(Map<Long, UserPoint> table) {
     this.table = table;
@@ -13,22 +28,15 @@ public class UserPointTableStub extends UserPointTable {
 
   @Override
   public UserPoint selectById(Long id) {
-    throttle(200);
+    selectLatency.pause();
     return table.getOrDefault(id, UserPoint.empty(id));
   }
 
   @Override
   public UserPoint insertOrUpdate(long id, long amount) {
-    throttle(300);
+    writeLatency.pause();
     UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
     table.put(id, userPoint);
     return userPoint;
   }
-
-  private void throttle(long millis) {
-    try {
-      Thread.sleep((long) (Math.random() * millis));
-    } catch (InterruptedException ignored) {
-    }
-  }
 }
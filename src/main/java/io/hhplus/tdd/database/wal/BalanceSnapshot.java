@@ -0,0 +1,201 @@
+package io.hhplus.tdd.database.wal;
+
+import io.hhplus.tdd.point.model.UserPoint;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 잔액 전체를 lsn 시점으로 저장한 파일입니다. 복구할 때 이 파일을 읽고 lsn 이후의 로그만 다시 적용합니다.
+ *
+ * <pre>
+ * header 32 byte : magic(4) version(4) lsn(8) count(8) reserved(8)
+ * body           : count 개의 {userId(8), point(8), updateMillis(8)}
+ * </pre>
+ *
+ * 임시 파일에 모두 쓰고 fsync 한 뒤 이름을 바꾸므로, {@code snapshot-<lsn>.bin} 이름으로 보이는 파일은 항상 끝까지 쓰인 파일입니다.
+ */
+public final class BalanceSnapshot {
+  private static final int MAGIC = 0x50534E50; // "PSNP"
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 32;
+  private static final int ENTRY_SIZE = 24;
+  private static final String PREFIX = "snapshot-";
+  private static final String SUFFIX = ".bin";
+  // 한 번에 mmap 하는 최대 크기. MappedByteBuffer 는 2GB 를 넘을 수 없습니다.
+  private static final long ENTRIES_PER_RANGE = (1L << 30) / ENTRY_SIZE;
+
+  private final Path path;
+  private final long lsn;
+  private final long count;
+
+  private BalanceSnapshot(Path path, long lsn, long count) {
+    this.path = path;
+    this.lsn = lsn;
+    this.count = count;
+  }
+
+  public long lsn() {
+    return lsn;
+  }
+
+  public long count() {
+    return count;
+  }
+
+  /**
+   * source 가 넘겨주는 잔액을 모두 써서 lsn 시점의 스냅샷을 만들고, 그보다 오래된 스냅샷은 지웁니다.
+   *
+   * @param source 잔액을 하나씩 넘겨주는 작업. 쓰는 동안 잔액이 바뀌어도 되며, 그 변경은 lsn 이후 로그에 남아 있어야 합니다.
+   */
+  public static BalanceSnapshot write(
+      Path directory, long lsn, Consumer<Consumer<UserPoint>> source) {
+    Path path = directory.resolve(String.format("%s%020d%s", PREFIX, lsn, SUFFIX));
+    Path temporary = directory.resolve(path.getFileName() + ".tmp");
+    long count;
+    try (FileChannel channel =
+        FileChannel.open(
+            temporary,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+      buffer.position(HEADER_SIZE);
+      long[] written = new long[1];
+      source.accept(
+          userPoint -> {
+            if (buffer.remaining() < ENTRY_SIZE) {
+              flush(channel, buffer);
+            }
+            buffer
+                .putLong(userPoint.id())
+                .putLong(userPoint.point())
+                .putLong(userPoint.updateMillis());
+            written[0]++;
+          });
+      flush(channel, buffer);
+      count = written[0];
+
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      header.putInt(MAGIC).putInt(VERSION).putLong(lsn).putLong(count).putLong(0).flip();
+      channel.write(header, 0);
+      channel.force(true);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    try {
+      Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+      for (BalanceSnapshot older : list(directory)) {
+        if (older.lsn < lsn) {
+          Files.deleteIfExists(older.path);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return new BalanceSnapshot(path, lsn, count);
+  }
+
+  /** 가장 최근의 온전한 스냅샷 */
+  public static Optional<BalanceSnapshot> latest(Path directory) {
+    return list(directory).stream().max(Comparator.comparingLong(BalanceSnapshot::lsn));
+  }
+
+  /** 잔액을 범위별로 mmap 해 parallelism 개의 작업으로 나눠 읽습니다. consumer 는 여러 쓰레드에서 동시에 호출됩니다. */
+  public void load(int parallelism, Consumer<UserPoint> consumer) {
+    if (count == 0) {
+      return;
+    }
+    long perTask = Math.min((count + parallelism - 1) / parallelism, ENTRIES_PER_RANGE);
+    int tasks = (int) ((count + perTask - 1) / perTask);
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      IntStream.range(0, tasks)
+          .parallel()
+          .forEach(
+              task -> {
+                long first = task * perTask;
+                long entries = Math.min(perTask, count - first);
+                MappedByteBuffer range = map(channel, first, entries);
+                for (int i = 0; i < entries; i++) {
+                  int offset = i * ENTRY_SIZE;
+                  consumer.accept(
+                      new UserPoint(
+                          range.getLong(offset),
+                          range.getLong(offset + 8),
+                          range.getLong(offset + 16)));
+                }
+              });
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static MappedByteBuffer map(FileChannel channel, long first, long entries) {
+    try {
+      return channel.map(
+          FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * ENTRY_SIZE, entries * ENTRY_SIZE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void flush(FileChannel channel, ByteBuffer buffer) {
+    buffer.flip();
+    try {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    buffer.clear();
+  }
+
+  // 헤더가 맞지 않거나 크기가 count 와 다른 파일은 건너뜁니다.
+  private static List<BalanceSnapshot> list(Path directory) {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(path -> path.getFileName().toString().matches(PREFIX + "\\d{20}" + SUFFIX))
+          .map(BalanceSnapshot::open)
+          .flatMap(Optional::stream)
+          .toList();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static Optional<BalanceSnapshot> open(Path path) {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      while (header.hasRemaining() && channel.read(header) >= 0) {}
+      header.flip();
+      if (header.remaining() < HEADER_SIZE
+          || header.getInt() != MAGIC
+          || header.getInt() != VERSION) {
+        return Optional.empty();
+      }
+      long lsn = header.getLong();
+      long count = header.getLong();
+      if (channel.size() != HEADER_SIZE + count * ENTRY_SIZE) {
+        return Optional.empty();
+      }
+      return Optional.of(new BalanceSnapshot(path, lsn, count));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package io.hhplus.tdd.database.wal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * {@link PointWriteAheadLog#truncateBefore(long)} 가 지우는 segment 의 이력 레코드를 옮겨 두는 파일입니다. 잔액은 스냅샷이 대신하지만
+ * 이력은 다른 곳에 남지 않으므로, segment 를 지우기 전에 이 파일에 쓰고 fsync 합니다.
+ *
+ * <p>레코드는 WAL 과 같은 형식으로 원래 lsn 그대로 이어 씁니다. 이미 옮긴 lsn 이하는 다시 쓰지 않으므로, segment 를 지우기 전에 멈춘 뒤
+ * 다시 옮겨도 중복되지 않습니다. 다시 열면 마지막 온전한 레코드 뒤를 잘라냅니다.
+ */
+final class HistoryArchive implements AutoCloseable {
+  private static final String NAME = "history.archive";
+  private static final int RECORDS_PER_READ = 4096;
+
+  private final FileChannel channel;
+  private final byte[] scratch = new byte[WalRecord.SIZE];
+  private final ByteBuffer scratchBuffer = ByteBuffer.wrap(scratch);
+  private final CRC32C crc = new CRC32C();
+  // append 는 truncateBefore 에서만 호출하므로 한 쓰레드만 바꿉니다.
+  private long size;
+  private volatile long lastLsn;
+
+  HistoryArchive(Path directory) {
+    try {
+      channel =
+          FileChannel.open(
+              directory.resolve(NAME),
+              StandardOpenOption.CREATE,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE);
+      size = read(Long.MAX_VALUE, record -> lastLsn = record.lsn());
+      channel.truncate(size * WalRecord.SIZE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** 옮겨 둔 마지막 레코드의 lsn. 비어 있으면 0 */
+  long lastLsn() {
+    return lastLsn;
+  }
+
+  /** lsn 이 지금까지 옮긴 것보다 크면 이어 씁니다. fsync 는 {@link #force()} 로 따로 합니다. */
+  void append(WalRecord record) {
+    if (record.lsn() <= lastLsn) {
+      return;
+    }
+    record.writeTo(scratchBuffer, crc);
+    scratchBuffer.clear();
+    try {
+      long position = size * WalRecord.SIZE;
+      while (scratchBuffer.hasRemaining()) {
+        position += channel.write(scratchBuffer, position);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    size++;
+    lastLsn = record.lsn();
+  }
+
+  void force() {
+    try {
+      channel.force(false);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** lsn 이 afterLsn 보다 큰 레코드를 lsn 순서대로 전달합니다. */
+  void replay(long afterLsn, Consumer<WalRecord> consumer) {
+    if (afterLsn >= lastLsn) {
+      return;
+    }
+    read(
+        size,
+        record -> {
+          if (record.lsn() > afterLsn) {
+            consumer.accept(record);
+          }
+        });
+  }
+
+  @Override
+  public void close() {
+    try {
+      channel.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // 앞에서부터 최대 limit 개의 온전한 레코드를 전달하고 읽은 수를 반환합니다. 빈 자리나 쓰다 만 레코드, lsn 이 늘지 않는 곳에서 멈춥니다.
+  private long read(long limit, Consumer<WalRecord> consumer) {
+    ByteBuffer buffer = ByteBuffer.allocate(WalRecord.SIZE * RECORDS_PER_READ);
+    byte[] bytes = new byte[WalRecord.SIZE];
+    CRC32C checksum = new CRC32C();
+    long count = 0;
+    long previousLsn = 0;
+    try {
+      while (count < limit) {
+        buffer.clear();
+        if (channel.read(buffer, count * WalRecord.SIZE) <= 0) {
+          return count;
+        }
+        int records = buffer.position() / WalRecord.SIZE;
+        if (records == 0) {
+          return count;
+        }
+        for (int i = 0; i < records && count < limit; i++) {
+          WalRecord record = WalRecord.readFrom(buffer, i * WalRecord.SIZE, bytes, checksum);
+          if (record == null || record.lsn() <= previousLsn) {
+            return count;
+          }
+          previousLsn = record.lsn();
+          consumer.accept(record);
+          count++;
+        }
+      }
+      return count;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
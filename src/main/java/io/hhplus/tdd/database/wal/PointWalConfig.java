@@ -0,0 +1,59 @@
+package io.hhplus.tdd.database.wal;
+
+import io.hhplus.tdd.database.DurableUserPointTable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("durable-storage")
+public class PointWalConfig {
+  private static final Logger log = LoggerFactory.getLogger(PointWalConfig.class);
+
+  // PointWriteAheadLog 는 AutoCloseable 이므로 컨텍스트 종료 시 close() 로 남은 기록을 fsync 합니다.
+  @Bean
+  public PointWriteAheadLog pointWriteAheadLog(WalProperties walProperties) {
+    return new PointWriteAheadLog(walProperties);
+  }
+
+  /** 주기적으로 잔액 스냅샷을 저장하고, 설정되어 있으면 스냅샷에 반영된 segment 를 지웁니다. */
+  @Bean(destroyMethod = "shutdown")
+  public ScheduledExecutorService pointSnapshotScheduler(
+      SnapshotProperties snapshotProperties,
+      DurableUserPointTable userPointTable,
+      PointWriteAheadLog pointWriteAheadLog) {
+    ScheduledExecutorService scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "point-wal-snapshot");
+              thread.setDaemon(true);
+              return thread;
+            });
+    if (!snapshotProperties.enabled()) {
+      return scheduler;
+    }
+
+    long intervalMillis = snapshotProperties.interval().toMillis();
+    scheduler.scheduleWithFixedDelay(
+        () -> {
+          try {
+            BalanceSnapshot snapshot = userPointTable.snapshot();
+            if (snapshotProperties.truncateLog()) {
+              pointWriteAheadLog.truncateBefore(snapshot.lsn());
+            }
+          } catch (RuntimeException e) {
+            // 예외가 나가면 이후 실행이 취소되므로 기록만 하고 다음 주기에 다시 시도합니다.
+            log.error("failed to snapshot point balances", e);
+          }
+        },
+        intervalMillis,
+        intervalMillis,
+        TimeUnit.MILLISECONDS);
+    return scheduler;
+  }
+}
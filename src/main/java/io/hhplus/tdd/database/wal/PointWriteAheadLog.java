@@ -0,0 +1,450 @@
+package io.hhplus.tdd.database.wal;
+
+import io.hhplus.tdd.database.wal.WalRecord.Kind;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 잔액 저장과 이력 저장을 append-only 로 남기는 write-ahead log 입니다. 레코드는 {@link WalRecord} 형식으로 mmap 한 segment 파일에
+ * 순서대로 씁니다.
+ *
+ * <p>lsn 과 이력 id 는 append 락 안에서 발급하므로 로그 순서가 곧 id 순서입니다. append 에 넘긴 콜백도 같은 락 안에서 실행되므로, 메모리
+ * 테이블에 반영되는 순서도 로그 순서와 같습니다. fsync 는 append 락 밖에서 전용 쓰레드가 처리하고, {@link WalDurability#SYNC} 이면
+ * {@link #awaitDurable(long)} 가 자신의 레코드까지 fsync 될 때까지 기다립니다. 기다리는 동안 쌓인 레코드는 다음 fsync 한 번으로 함께
+ * 반영됩니다.
+ *
+ * <p>다시 열면 이전 segment 를 검사해 lsn 이 이어지는 온전한 레코드까지만 살리고, 새 레코드는 항상 새 segment 에 씁니다. 쓰다 만
+ * 레코드 뒤에 남아 있을지 모르는 이전 내용 위에 다른 lsn 을 쓰지 않기 위해서입니다. 가득 찬 segment 는 마지막 레코드만 검사하고, 마지막
+ * 이력 id 는 마지막 레코드 하나에서 읽으므로 복구 시간은 로그 길이가 아니라 마지막 segment 크기에 비례합니다.
+ *
+ * <p>{@link BalanceSnapshot} 으로 잔액을 저장한 뒤에는 {@link #truncateBefore(long)} 로 그 이전 segment 를 지울 수 있습니다. 지우는
+ * segment 의 이력 레코드는 먼저 {@link HistoryArchive} 로 옮기므로, 이력은 잘리지 않고 {@link #replay} 로 계속 복구됩니다.
+ */
+public class PointWriteAheadLog implements AutoCloseable {
+  private static final Logger log = LoggerFactory.getLogger(PointWriteAheadLog.class);
+
+  private final Path directory;
+  private final long segmentBytes;
+  private final WalDurability durability;
+  private final long flushIntervalNanos;
+
+  private final ReentrantLock appendLock = new ReentrantLock();
+  private final List<WalSegment> segments = new ArrayList<>();
+  private final HistoryArchive archive;
+  private final byte[] scratch = new byte[WalRecord.SIZE];
+  private final ByteBuffer scratchBuffer = ByteBuffer.wrap(scratch);
+  private final CRC32C crc = new CRC32C();
+  private long lastLsn;
+  private long lastHistoryId;
+
+  private final ReentrantLock flushLock = new ReentrantLock();
+  private final Condition flushRequested = flushLock.newCondition();
+  private final Condition flushed = flushLock.newCondition();
+  private long requestedLsn;
+  private volatile long durableLsn;
+  private volatile boolean running = true;
+  private final Thread flusher;
+
+  public PointWriteAheadLog(
+      Path directory, long segmentBytes, WalDurability durability, Duration flushInterval) {
+    if (segmentBytes < WalRecord.SIZE) {
+      throw new IllegalArgumentException("segment should hold at least one record");
+    }
+    this.directory = directory;
+    this.segmentBytes = segmentBytes;
+    this.durability = durability;
+    this.flushIntervalNanos = flushInterval.toNanos();
+
+    recover();
+    archive = new HistoryArchive(directory);
+    segments.add(WalSegment.create(directory, lastLsn + 1, segmentBytes));
+    durableLsn = lastLsn;
+
+    if (durability == WalDurability.NONE) {
+      flusher = null;
+    } else {
+      flusher = new Thread(this::flushLoop, "point-wal-flusher");
+      flusher.setDaemon(true);
+      flusher.start();
+    }
+  }
+
+  public PointWriteAheadLog(WalProperties properties) {
+    this(
+        properties.directory(),
+        properties.segmentSize().toBytes(),
+        properties.durability(),
+        properties.flushInterval());
+  }
+
+  /**
+   * 레코드를 로그에 쓰고, 같은 락 안에서 apply 를 호출합니다. 이력(CHARGE/USE)이면 새 이력 id 를, 잔액(BALANCE)이면 그때까지 발급한
+   * 마지막 이력 id 를 id 로 씁니다. 그래서 어느 레코드든 마지막 것 하나로 다음 이력 id 를 알 수 있습니다. fsync 는 기다리지 않으므로
+   * 필요하면 락 밖에서 {@link #awaitDurable(long)} 를 호출합니다.
+   *
+   * @param apply 메모리 테이블 반영처럼 로그 순서대로 실행되어야 하는 짧은 작업. 블로킹하지 않아야 합니다.
+   */
+  public WalRecord append(
+      Kind kind, long userId, long amount, long updateMillis, Consumer<WalRecord> apply) {
+    if (!running) {
+      throw new IllegalStateException("point wal is closed");
+    }
+
+    appendLock.lock();
+    try {
+      WalSegment active = segments.get(segments.size() - 1);
+      if (active.isFull()) {
+        active = roll(active);
+      }
+
+      long id = kind == Kind.BALANCE ? lastHistoryId : lastHistoryId + 1;
+      WalRecord record = new WalRecord(kind, lastLsn + 1, id, userId, amount, updateMillis);
+      record.writeTo(scratchBuffer, crc);
+      active.append(scratch);
+      lastLsn = record.lsn();
+      lastHistoryId = id;
+
+      apply.accept(record);
+      return record;
+    } finally {
+      appendLock.unlock();
+    }
+  }
+
+  /** {@link WalDurability#SYNC} 이면 lsn 까지 fsync 될 때까지 기다립니다. 다른 수준에서는 바로 반환합니다. */
+  public void awaitDurable(long lsn) {
+    if (durability != WalDurability.SYNC || durableLsn >= lsn) {
+      return;
+    }
+
+    flushLock.lock();
+    try {
+      if (lsn > requestedLsn) {
+        requestedLsn = lsn;
+        flushRequested.signal();
+      }
+      while (durableLsn < lsn) {
+        if (!running) {
+          throw new IllegalStateException("point wal is closed");
+        }
+        flushed.awaitUninterruptibly();
+      }
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  /** 지금까지 쓴 레코드를 모두 fsync 합니다. */
+  public void sync() {
+    long target;
+    List<WalSegment> unflushed;
+    appendLock.lock();
+    try {
+      target = lastLsn;
+      unflushed = segmentsAfter(durableLsn);
+    } finally {
+      appendLock.unlock();
+    }
+    unflushed.forEach(WalSegment::force);
+    markDurable(target);
+  }
+
+  /** 옮겨 둔 이력과 남아 있는 모든 레코드를 lsn 순서대로 전달합니다. 테이블을 복구할 때 append 하기 전에 호출합니다. */
+  public void replay(Consumer<WalRecord> consumer) {
+    replay(0, 0, 1, consumer);
+  }
+
+  /** lsn 이 afterLsn 보다 큰 레코드만 lsn 순서대로 전달합니다. 스냅샷 이후의 로그만 다시 적용할 때 씁니다. */
+  public void replay(long afterLsn, Consumer<WalRecord> consumer) {
+    replay(afterLsn, 0, 1, consumer);
+  }
+
+  /**
+   * {@link #replay(long, Consumer)} 중 userId 가 shard 번째 묶음에 속하는 레코드만 전달합니다. shard 마다 다른 쓰레드에서 동시에
+   * 호출해도 되며, 한 유저의 레코드는 한 shard 에만 속하므로 유저별 순서는 그대로 유지됩니다. 다른 shard 의 레코드는 userId 만 읽고
+   * 건너뜁니다.
+   */
+  public void replay(long afterLsn, int shard, int shards, Consumer<WalRecord> consumer) {
+    byte[] buffer = new byte[WalRecord.SIZE];
+    CRC32C checksum = new CRC32C();
+    List<WalSegment> snapshot;
+    appendLock.lock();
+    try {
+      snapshot = List.copyOf(segments);
+    } finally {
+      appendLock.unlock();
+    }
+
+    archive.replay(
+        afterLsn,
+        record -> {
+          if (shards == 1 || shardOf(record.userId(), shards) == shard) {
+            consumer.accept(record);
+          }
+        });
+    // 옮긴 뒤 지우기 전에 멈췄던 segment 가 남아 있을 수 있으므로, 이미 옮긴 이력은 건너뜁니다.
+    long archivedLsn = archive.lastLsn();
+    for (WalSegment segment : snapshot) {
+      if (segment.lastLsn() <= afterLsn) {
+        continue;
+      }
+      int size = segment.size();
+      for (int i = (int) Math.max(0, afterLsn + 1 - segment.firstLsn()); i < size; i++) {
+        if (shards == 1 || shardOf(segment.userIdAt(i), shards) == shard) {
+          WalRecord record = segment.read(i, buffer, checksum);
+          if (!record.isHistory() || record.lsn() > archivedLsn) {
+            consumer.accept(record);
+          }
+        }
+      }
+    }
+  }
+
+  public static int shardOf(long userId, int shards) {
+    return Math.floorMod(Long.hashCode(userId), shards);
+  }
+
+  /**
+   * 마지막 레코드 lsn 이 lsn 이하인 segment 를 지우고 지운 수를 반환합니다. 스냅샷에 반영된 로그를 정리할 때 호출합니다. 쓰는 중인
+   * segment 와, 비어 있지 않은 마지막 segment 는 남겨서 다시 열었을 때 lsn 과 이력 id 를 이어갈 수 있게 합니다.
+   *
+   * <p>지우기 전에 segment 의 이력 레코드를 {@link HistoryArchive} 에 옮기고 fsync 합니다. 가득 차서 닫힌 segment 는 바뀌지 않으므로
+   * 옮기는 동안 append 락은 잡지 않습니다.
+   */
+  public synchronized int truncateBefore(long lsn) {
+    List<WalSegment> removed = new ArrayList<>();
+    appendLock.lock();
+    try {
+      int keepFrom = segments.size() - 1;
+      if (segments.get(keepFrom).size() == 0 && keepFrom > 0) {
+        keepFrom--;
+      }
+      while (removed.size() < keepFrom && segments.get(removed.size()).lastLsn() <= lsn) {
+        removed.add(segments.get(removed.size()));
+      }
+    } finally {
+      appendLock.unlock();
+    }
+    if (removed.isEmpty()) {
+      return 0;
+    }
+
+    byte[] buffer = new byte[WalRecord.SIZE];
+    CRC32C checksum = new CRC32C();
+    for (WalSegment segment : removed) {
+      int size = segment.size();
+      for (int i = 0; i < size; i++) {
+        WalRecord record = segment.read(i, buffer, checksum);
+        if (record.isHistory()) {
+          archive.append(record);
+        }
+      }
+    }
+    archive.force();
+
+    appendLock.lock();
+    try {
+      segments.subList(0, removed.size()).clear();
+    } finally {
+      appendLock.unlock();
+    }
+    for (WalSegment segment : removed) {
+      segment.close();
+      delete(segment.path());
+    }
+    return removed.size();
+  }
+
+  public Path directory() {
+    return directory;
+  }
+
+  public long lastLsn() {
+    appendLock.lock();
+    try {
+      return lastLsn;
+    } finally {
+      appendLock.unlock();
+    }
+  }
+
+  public long durableLsn() {
+    return durableLsn;
+  }
+
+  public WalDurability durability() {
+    return durability;
+  }
+
+  @Override
+  public void close() throws InterruptedException {
+    if (!running) {
+      return;
+    }
+    running = false;
+    if (flusher != null) {
+      flushLock.lock();
+      try {
+        flushRequested.signalAll();
+      } finally {
+        flushLock.unlock();
+      }
+      flusher.join();
+    }
+
+    appendLock.lock();
+    try {
+      if (durability != WalDurability.NONE) {
+        segmentsAfter(durableLsn).forEach(WalSegment::force);
+        markDurable(lastLsn);
+      }
+      segments.forEach(WalSegment::close);
+      archive.close();
+    } finally {
+      appendLock.unlock();
+    }
+  }
+
+  private void flushLoop() {
+    while (running) {
+      flushLock.lock();
+      try {
+        if (durability == WalDurability.SYNC) {
+          while (running && requestedLsn <= durableLsn) {
+            flushRequested.awaitUninterruptibly();
+          }
+        } else {
+          flushRequested.awaitNanos(flushIntervalNanos);
+        }
+      } catch (InterruptedException e) {
+        // close() 가 깨운 경우 루프 조건을 다시 확인합니다.
+      } finally {
+        flushLock.unlock();
+      }
+
+      try {
+        sync();
+      } catch (RuntimeException e) {
+        log.error("failed to sync point wal", e);
+        sleepQuietly();
+      }
+    }
+  }
+
+  private void markDurable(long lsn) {
+    flushLock.lock();
+    try {
+      if (lsn > durableLsn) {
+        durableLsn = lsn;
+      }
+      flushed.signalAll();
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  // append 락을 쥔 채로 호출합니다. 가득 찬 segment 는 닫기 전에 fsync 해서, 이후 fsync 는 활성 segment 만 보면 되게 합니다.
+  private WalSegment roll(WalSegment full) {
+    if (durability != WalDurability.NONE) {
+      full.force();
+    }
+    WalSegment next = WalSegment.create(directory, lastLsn + 1, segmentBytes);
+    segments.add(next);
+    return next;
+  }
+
+  // append 락을 쥔 채로 호출합니다.
+  private List<WalSegment> segmentsAfter(long lsn) {
+    List<WalSegment> result = new ArrayList<>(1);
+    for (int i = segments.size() - 1; i >= 0; i--) {
+      WalSegment segment = segments.get(i);
+      result.add(segment);
+      if (segment.firstLsn() <= lsn + 1) {
+        break;
+      }
+    }
+    return result;
+  }
+
+  private void recover() {
+    List<Path> paths;
+    try {
+      Files.createDirectories(directory);
+      try (Stream<Path> files = Files.list(directory)) {
+        paths = files.filter(WalSegment::isSegment).sorted().toList();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    for (int i = 0; i < paths.size(); i++) {
+      WalSegment segment = WalSegment.open(paths.get(i));
+      if (i == 0) {
+        // 앞쪽 segment 가 truncateBefore 로 지워졌을 수 있으므로 첫 segment 부터 lsn 을 잇습니다.
+        lastLsn = segment.firstLsn() - 1;
+      }
+      if (segment.firstLsn() != lastLsn + 1) {
+        segment.close();
+        log.error(
+            "point wal has a gap before {}, ignoring it and later segments", segment.path());
+        setAside(paths.subList(i, paths.size()));
+        return;
+      }
+
+      boolean last = i == paths.size() - 1;
+      int count =
+          !last && segment.recoverSealed(scratch, crc)
+              ? segment.size()
+              : segment.recover(scratch, crc);
+      if (count == 0) {
+        segment.close();
+        delete(segment.path());
+        continue;
+      }
+
+      lastHistoryId = segment.read(count - 1, scratch, crc).id();
+      lastLsn = segment.lastLsn();
+      segments.add(segment);
+    }
+  }
+
+  private void setAside(List<Path> paths) {
+    for (Path path : paths) {
+      try {
+        Files.move(path, path.resolveSibling(path.getFileName() + ".orphan"));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  private static void delete(Path path) {
+    try {
+      Files.delete(path);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void sleepQuietly() {
+    try {
+      TimeUnit.MILLISECONDS.sleep(100);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package io.hhplus.tdd.database.wal;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * point.wal.snapshot.* 설정. 스냅샷 파일은 point.wal.directory 에 함께 둡니다.
+ *
+ * @param enabled 주기적으로 잔액 스냅샷을 저장할지 여부
+ * @param interval 스냅샷 주기
+ * @param truncateLog 스냅샷에 반영된 segment 를 지울지 여부. 지우기 전에 이력 레코드는 history.archive 파일로 옮기므로 이력은 그대로
+ *     복구됩니다.
+ */
+@ConfigurationProperties("point.wal.snapshot")
+public record SnapshotProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("5m") Duration interval,
+    @DefaultValue("false") boolean truncateLog) {}
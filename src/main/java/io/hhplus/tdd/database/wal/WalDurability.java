@@ -0,0 +1,11 @@
+package io.hhplus.tdd.database.wal;
+
+/** 기록이 디스크에 반영되었다고 보고 반환하는 시점 */
+public enum WalDurability {
+  /** fsync 하지 않습니다. 페이지 캐시에 쓰였으므로 프로세스가 죽어도 남지만, OS 가 멈추면 잃을 수 있습니다. */
+  NONE,
+  /** flushInterval 마다 한 번씩 fsync 합니다. OS 가 멈추면 마지막 구간의 기록을 잃을 수 있습니다. */
+  INTERVAL,
+  /** 기록을 fsync 한 뒤 반환합니다. 동시에 들어온 기록은 한 번의 fsync 로 묶습니다(group commit). */
+  SYNC
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.database.wal;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * point.wal.* 설정. durable-storage 프로필에서 사용합니다.
+ *
+ * @param directory segment 파일을 두는 디렉토리
+ * @param segmentSize segment 파일 하나의 크기. 가득 차면 다음 파일을 만듭니다.
+ * @param durability fsync 시점
+ * @param flushInterval INTERVAL 일 때 fsync 주기
+ */
+@ConfigurationProperties("point.wal")
+public record WalProperties(
+    @DefaultValue("data/wal") Path directory,
+    @DefaultValue("64MB") DataSize segmentSize,
+    @DefaultValue("SYNC") WalDurability durability,
+    @DefaultValue("10ms") Duration flushInterval) {}
@@ -0,0 +1,96 @@
+package io.hhplus.tdd.database.wal;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * WAL 에 남기는 고정 길이(48 byte) 레코드입니다.
+ *
+ * <pre>
+ * 0  lsn           8  (1 부터 빈틈 없이 증가)
+ * 8  id            8  (이력 id, 잔액 레코드는 그때까지 발급한 마지막 이력 id)
+ * 16 userId        8
+ * 24 amount        8  (이력은 금액, 잔액 레코드는 저장된 잔액)
+ * 32 updateMillis  8
+ * 40 kind          1  (0 은 아직 쓰이지 않은 자리)
+ * 41 padding       3
+ * 44 crc32c        4  (0 ~ 43 byte)
+ * </pre>
+ */
+public record WalRecord(Kind kind, long lsn, long id, long userId, long amount, long updateMillis) {
+  public static final int SIZE = 48;
+  static final int USER_ID_OFFSET = 16;
+  private static final int CHECKSUM_OFFSET = 44;
+
+  public enum Kind {
+    CHARGE,
+    USE,
+    BALANCE
+  }
+
+  public static Kind kindOf(TransactionType type) {
+    return switch (type) {
+      case CHARGE -> Kind.CHARGE;
+      case USE -> Kind.USE;
+    };
+  }
+
+  public boolean isHistory() {
+    return kind != Kind.BALANCE;
+  }
+
+  public PointHistory toPointHistory() {
+    TransactionType type =
+        switch (kind) {
+          case CHARGE -> TransactionType.CHARGE;
+          case USE -> TransactionType.USE;
+          case BALANCE -> throw new IllegalStateException("balance record is not a history");
+        };
+    return new PointHistory(id, userId, amount, type, updateMillis);
+  }
+
+  public UserPoint toUserPoint() {
+    if (kind != Kind.BALANCE) {
+      throw new IllegalStateException("history record is not a balance");
+    }
+    return new UserPoint(userId, amount, updateMillis);
+  }
+
+  /** scratch 의 0 ~ SIZE 에 레코드를 씁니다. */
+  void writeTo(ByteBuffer scratch, CRC32C crc) {
+    scratch.putLong(0, lsn);
+    scratch.putLong(8, id);
+    scratch.putLong(16, userId);
+    scratch.putLong(24, amount);
+    scratch.putLong(32, updateMillis);
+    scratch.put(40, (byte) (kind.ordinal() + 1));
+    scratch.put(41, (byte) 0).put(42, (byte) 0).put(43, (byte) 0);
+    crc.reset();
+    crc.update(scratch.array(), 0, CHECKSUM_OFFSET);
+    scratch.putInt(CHECKSUM_OFFSET, (int) crc.getValue());
+  }
+
+  /** offset 에 온전한 레코드가 없으면(빈 자리이거나 쓰다 만 레코드) null 을 반환합니다. */
+  static WalRecord readFrom(ByteBuffer buffer, int offset, byte[] scratch, CRC32C crc) {
+    buffer.get(offset, scratch, 0, SIZE);
+    int kind = scratch[40];
+    if (kind < 1 || kind > Kind.values().length) {
+      return null;
+    }
+    crc.reset();
+    crc.update(scratch, 0, CHECKSUM_OFFSET);
+    if ((int) crc.getValue() != buffer.getInt(offset + CHECKSUM_OFFSET)) {
+      return null;
+    }
+    return new WalRecord(
+        Kind.values()[kind - 1],
+        buffer.getLong(offset),
+        buffer.getLong(offset + 8),
+        buffer.getLong(offset + 16),
+        buffer.getLong(offset + 24),
+        buffer.getLong(offset + 32));
+  }
+}
@@ -0,0 +1,145 @@
+package io.hhplus.tdd.database.wal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * 고정 크기로 만든 segment 파일 하나를 통째로 mmap 해 둡니다. i 번째 자리에는 lsn 이 firstLsn + i 인 레코드가 들어갑니다. 파일 이름은
+ * firstLsn 이므로 이름 순서가 곧 기록 순서입니다.
+ */
+final class WalSegment implements AutoCloseable {
+  private static final String SUFFIX = ".wal";
+
+  private final Path path;
+  private final long firstLsn;
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+  private final int capacity;
+  // 온전히 쓰인 레코드 수. append 쪽에서만 바꿉니다.
+  private volatile int size;
+
+  private WalSegment(Path path, long firstLsn, FileChannel channel, long bytes) throws IOException {
+    this.path = path;
+    this.firstLsn = firstLsn;
+    this.channel = channel;
+    this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+    this.capacity = (int) (bytes / WalRecord.SIZE);
+  }
+
+  static WalSegment create(Path directory, long firstLsn, long segmentBytes) {
+    Path path = directory.resolve(String.format("%020d%s", firstLsn, SUFFIX));
+    long bytes = segmentBytes - segmentBytes % WalRecord.SIZE;
+    try {
+      FileChannel channel =
+          FileChannel.open(
+              path,
+              StandardOpenOption.CREATE_NEW,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE);
+      return new WalSegment(path, firstLsn, channel, bytes);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  static WalSegment open(Path path) {
+    try {
+      FileChannel channel =
+          FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      return new WalSegment(path, firstLsnOf(path), channel, channel.size());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  static boolean isSegment(Path path) {
+    return path.getFileName().toString().matches("\\d{20}" + SUFFIX);
+  }
+
+  static long firstLsnOf(Path path) {
+    String name = path.getFileName().toString();
+    return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+  }
+
+  Path path() {
+    return path;
+  }
+
+  long firstLsn() {
+    return firstLsn;
+  }
+
+  /** 이 segment 의 마지막 레코드 lsn. 비어 있으면 firstLsn - 1 */
+  long lastLsn() {
+    return firstLsn + size - 1;
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isFull() {
+    return size == capacity;
+  }
+
+  /** 다음 자리에 씁니다. 한 쓰레드(append 락을 쥔 쓰레드)만 호출합니다. */
+  void append(byte[] record) {
+    buffer.put(size * WalRecord.SIZE, record, 0, WalRecord.SIZE);
+    size = size + 1;
+  }
+
+  /** 앞에서부터 lsn 이 이어지는 온전한 레코드 수를 세어 size 로 삼습니다. 열 때 한 번 호출합니다. */
+  int recover(byte[] scratch, CRC32C crc) {
+    int count = 0;
+    while (count < capacity) {
+      WalRecord record = WalRecord.readFrom(buffer, count * WalRecord.SIZE, scratch, crc);
+      if (record == null || record.lsn() != firstLsn + count) {
+        break;
+      }
+      count++;
+    }
+    size = count;
+    return count;
+  }
+
+  /**
+   * 마지막 자리만 검사해서, 온전하다면 가득 찬 segment 로 보고 size 로 삼습니다. 가득 찬 segment 는 다음 segment 를 만들기 전에 fsync
+   * 하므로 앞부분을 다시 검사하지 않습니다. 마지막 자리가 비었거나 깨졌으면 false 를 반환하고, 이때는 {@link #recover} 로 다시 셉니다.
+   */
+  boolean recoverSealed(byte[] scratch, CRC32C crc) {
+    int last = capacity - 1;
+    WalRecord record = WalRecord.readFrom(buffer, last * WalRecord.SIZE, scratch, crc);
+    if (record == null || record.lsn() != firstLsn + last) {
+      return false;
+    }
+    size = capacity;
+    return true;
+  }
+
+  /** index 번째 레코드의 userId 만 읽습니다. checksum 은 검사하지 않습니다. */
+  long userIdAt(int index) {
+    return buffer.getLong(index * WalRecord.SIZE + WalRecord.USER_ID_OFFSET);
+  }
+
+  WalRecord read(int index, byte[] scratch, CRC32C crc) {
+    return WalRecord.readFrom(buffer, index * WalRecord.SIZE, scratch, crc);
+  }
+
+  void force() {
+    buffer.force();
+  }
+
+  @Override
+  public void close() {
+    try {
+      channel.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.service.AsyncPointService;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * /point 와 같은 API 를 비동기 핸들러로 제공합니다. 테이블 호출을 기다리는 동안 서블릿 쓰레드를 반환합니다. {@link AsyncPointService} 와
+ * 마찬가지로 point.service.engine 이 lock 일 때만 등록됩니다.
+ */
+@RestController
+@ConditionalOnProperty(name = "point.service.engine", havingValue = "lock", matchIfMissing = true)
+@RequestMapping("/async/point")
+public class AsyncPointController {
+
+  private final AsyncPointService asyncPointService;
+
+  @Autowired
+  AsyncPointController(AsyncPointService asyncPointService) {
+    this.asyncPointService = asyncPointService;
+  }
+
+  @GetMapping("{id}")
+  public CompletableFuture<UserPoint> point(@PathVariable long id) {
+    return asyncPointService.getUserPoint(id);
+  }
+
+  @GetMapping("{id}/histories")
+  public CompletableFuture<List<PointHistory>> history(@PathVariable long id) {
+    return asyncPointService.getPointHistories(id);
+  }
+
+  @PatchMapping("{id}/charge")
+  public CompletableFuture<UserPoint> charge(@PathVariable long id, @RequestBody long amount) {
+    return asyncPointService.charge(id, amount);
+  }
+
+  @PatchMapping("{id}/use")
+  public CompletableFuture<UserPoint> use(@PathVariable long id, @RequestBody long amount) {
+    return asyncPointService.use(id, amount);
+  }
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.audit.AuditReport;
+import io.hhplus.tdd.point.audit.BalanceAuditor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+/** 운영자용 API 입니다. 잔액과 이력 합계를 비교하는 감사기의 진행 상황과 발견한 차이를 확인합니다. */
+@RestController
+@RequestMapping("/admin/point")
+public class AuditController {
+  private final BalanceAuditor balanceAuditor;
+
+  @Autowired
+  AuditController(BalanceAuditor balanceAuditor) {
+    this.balanceAuditor = balanceAuditor;
+  }
+
+  @GetMapping("audit")
+  public AuditReport audit() {
+    return balanceAuditor.report();
+  }
+}
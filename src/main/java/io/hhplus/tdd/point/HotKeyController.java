@@ -0,0 +1,30 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.hotkey.HotKeyStats;
+import io.hhplus.tdd.point.hotkey.HotKeyTracker;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+/** 운영자용 API 입니다. 락 경합을 일으키는 hot key 를 찾을 때 사용합니다. */
+@RestController
+@RequestMapping("/admin/point")
+public class HotKeyController {
+  private static final int MAX_LIMIT = 1000;
+
+  private final HotKeyTracker hotKeyTracker;
+
+  @Autowired
+  HotKeyController(HotKeyTracker hotKeyTracker) {
+    this.hotKeyTracker = hotKeyTracker;
+  }
+
+  /** 최근 집계 구간에서 락 획득이 가장 많은 유저를 많은 순서로 반환합니다. */
+  @GetMapping("hot-keys")
+  public List<HotKeyStats> hotKeys(@RequestParam(defaultValue = "10") int limit) {
+    if (limit <= 0 || limit > MAX_LIMIT) {
+      throw new IllegalArgumentException("limit should be between 1 and " + MAX_LIMIT);
+    }
+    return hotKeyTracker.top(limit);
+  }
+}
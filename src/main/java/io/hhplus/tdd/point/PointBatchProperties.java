@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * point.batch.* 설정
+ *
+ * @param maxOperations 일괄 처리 요청 하나에 담을 수 있는 최대 항목 수. 넘으면 400 으로 응답합니다.
+ * @param maxBodySize 일괄 처리 요청 본문의 최대 크기. 넘으면 본문을 끝까지 읽지 않고 413 으로 응답합니다.
+ */
+@ConfigurationProperties("point.batch")
+public record PointBatchProperties(
+    @DefaultValue("1000") int maxOperations, @DefaultValue("256KB") DataSize maxBodySize) {}
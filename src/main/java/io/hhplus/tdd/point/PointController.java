@@ -1,25 +1,51 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.exceptions.PayloadTooLargeException;
+import io.hhplus.tdd.point.idempotency.IdempotencyCache;
 import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryQuery;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.PointOperationResult;
+import io.hhplus.tdd.point.model.PointSummary;
+import io.hhplus.tdd.point.model.TransactionType;
 import io.hhplus.tdd.point.model.UserPoint;
-import io.hhplus.tdd.point.service.PointServiceImpl;
+import io.hhplus.tdd.point.service.PointService;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/point")
 public class PointController {
 
-  private final PointServiceImpl pointService;
+  private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+  private static final TypeReference<List<PointOperation>> OPERATIONS = new TypeReference<>() {};
+
+  private final PointService pointService;
+  private final IdempotencyCache idempotencyCache;
+  private final ObjectMapper objectMapper;
+  private final PointBatchProperties batchProperties;
   private static final Logger log = LoggerFactory.getLogger(PointController.class);
 
   @Autowired
-  PointController(@Qualifier("lockPointServiceImpl") PointServiceImpl pointService) {
+  PointController(
+      @Qualifier("servingPointService") PointService pointService,
+      IdempotencyCache idempotencyCache,
+      ObjectMapper objectMapper,
+      PointBatchProperties batchProperties) {
     this.pointService = pointService;
+    this.idempotencyCache = idempotencyCache;
+    this.objectMapper = objectMapper;
+    this.batchProperties = batchProperties;
   }
 
   @GetMapping("{id}")
@@ -27,19 +53,98 @@ public class PointController {
     return pointService.getUserPoint(id);
   }
 
+  /** 조건이 하나라도 있으면 after 커서 다음부터 limit 개씩 페이지로 조회하고, 없으면 전체 이력을 반환합니다. */
   @GetMapping("{id}/histories")
-  public List<PointHistory> history(@PathVariable long id) {
-    return pointService.getPointHistories(id);
+  public List<PointHistory> history(
+      @PathVariable long id,
+      @RequestParam(required = false) Long after,
+      @RequestParam(required = false) Integer limit,
+      @RequestParam(required = false) Long from,
+      @RequestParam(required = false) Long to,
+      @RequestParam(required = false) TransactionType type) {
+    PointHistoryQuery query = new PointHistoryQuery(after, limit, from, to, type);
+    if (query.isUnbounded()) {
+      return pointService.getPointHistories(id);
+    }
+    if (limit == null) {
+      query = new PointHistoryQuery(after, PointHistoryQuery.DEFAULT_LIMIT, from, to, type);
+    }
+    return pointService.getPointHistories(id, query);
+  }
+
+  /** 기간 안의 충전/사용 합계입니다. from, to 가 없으면 전체 기간입니다. */
+  @GetMapping("{id}/summary")
+  public PointSummary summary(
+      @PathVariable long id,
+      @RequestParam(required = false) Long from,
+      @RequestParam(required = false) Long to) {
+    return pointService.getPointSummary(id, new PointHistoryQuery(null, null, from, to, null));
   }
 
+  /** Idempotency-Key 가 있으면 같은 키의 재시도는 다시 충전하지 않고 처음 요청의 결과를 반환합니다. */
   @PatchMapping("{id}/charge")
-  public UserPoint charge(@PathVariable long id, @RequestBody long amount)
-      throws InterruptedException {
-    return pointService.charge(id, amount);
+  public UserPoint charge(
+      @PathVariable long id,
+      @RequestBody long amount,
+      @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+    if (idempotencyKey == null) {
+      return pointService.charge(id, amount);
+    }
+    return idempotencyCache.execute(
+        idempotencyKey, id, TransactionType.CHARGE, amount, () -> pointService.charge(id, amount));
   }
 
   @PatchMapping("{id}/use")
-  public UserPoint use(@PathVariable long id, @RequestBody long amount) {
-    return pointService.use(id, amount);
+  public UserPoint use(
+      @PathVariable long id,
+      @RequestBody long amount,
+      @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+    if (idempotencyKey == null) {
+      return pointService.use(id, amount);
+    }
+    return idempotencyCache.execute(
+        idempotencyKey, id, TransactionType.USE, amount, () -> pointService.use(id, amount));
+  }
+
+  /**
+   * 여러 유저의 charge/use 를 한 번에 처리합니다. 항목별 실패는 응답 본문의 결과에 담기고 나머지 항목은 그대로 처리됩니다. 본문이
+   * point.batch.max-body-size 를 넘으면 413, 항목이 point.batch.max-operations 를 넘으면 400 으로 응답합니다.
+   */
+  @PostMapping(value = "batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public List<PointOperationResult> batch(InputStream body) throws IOException {
+    List<PointOperation> operations;
+    try {
+      operations = objectMapper.readValue(readBatchBody(body), OPERATIONS);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("batch body should be a list of operations");
+    }
+    checkOperationCount(operations.size());
+    return pointService.applyOperations(operations);
+  }
+
+  /** 바이너리 형식의 일괄 처리 요청입니다. 항목 형식은 {@link PointOperation#BINARY_SIZE} 를 참고하세요. */
+  @PostMapping(value = "batch", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  public List<PointOperationResult> batchBinary(InputStream body) throws IOException {
+    byte[] bytes = readBatchBody(body);
+    // 항목 수는 크기로 알 수 있으므로 디코딩 전에 확인합니다.
+    checkOperationCount(bytes.length / PointOperation.BINARY_SIZE);
+    return pointService.applyOperations(PointOperation.decodeAll(bytes));
+  }
+
+  // 최대 크기보다 1 바이트만 더 읽어 보고, 넘으면 나머지는 읽지 않고 거절합니다.
+  private byte[] readBatchBody(InputStream body) throws IOException {
+    long maxBytes = batchProperties.maxBodySize().toBytes();
+    byte[] bytes = body.readNBytes((int) Math.min(maxBytes + 1, Integer.MAX_VALUE - 8));
+    if (bytes.length > maxBytes) {
+      throw new PayloadTooLargeException(maxBytes);
+    }
+    return bytes;
+  }
+
+  private void checkOperationCount(int count) {
+    if (count > batchProperties.maxOperations()) {
+      throw new IllegalArgumentException(
+          "batch should have at most " + batchProperties.maxOperations() + " operations");
+    }
   }
 }
@@ -0,0 +1,73 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryQuery;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.service.PointHistoryExportService;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * 유저의 이력 전체를 내려받는 API 입니다. {@link PointHistoryExportService} 가 등록되는 프로필에서만 등록되며, 기본 테이블에서는 유저의
+ * 이력을 모두 목록으로 읽어야 하므로 경로 자체가 없습니다.
+ */
+@RestController
+@RequestMapping("/point")
+@Profile({"indexed-history", "durable-storage"})
+public class PointHistoryExportController {
+  private static final int EXPORT_FLUSH_INTERVAL = 1000;
+
+  private final PointHistoryExportService pointHistoryExportService;
+  private final ObjectMapper objectMapper;
+
+  @Autowired
+  PointHistoryExportController(
+      PointHistoryExportService pointHistoryExportService, ObjectMapper objectMapper) {
+    this.pointHistoryExportService = pointHistoryExportService;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * 유저의 이력을 한 줄에 하나씩 NDJSON 으로 내려줍니다. 목록을 만들지 않고 저장소에서 읽는 대로 쓰기 때문에 메모리 사용이 이력 수와 무관하고,
+   * 클라이언트가 느리면 쓰기가 블로킹되면서 읽기도 함께 늦춰집니다.
+   */
+  @GetMapping(value = "{id}/histories/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportHistories(
+      @PathVariable long id,
+      @RequestParam(required = false) Long after,
+      @RequestParam(required = false) Long from,
+      @RequestParam(required = false) Long to,
+      @RequestParam(required = false) TransactionType type) {
+    PointHistoryQuery query = new PointHistoryQuery(after, null, from, to, type);
+    StreamingResponseBody body = outputStream -> writeNdjson(id, query, outputStream);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  private void writeNdjson(long id, PointHistoryQuery query, OutputStream outputStream)
+      throws IOException {
+    OutputStream out = new BufferedOutputStream(outputStream);
+    try (Stream<PointHistory> pointHistories =
+        pointHistoryExportService.streamPointHistories(id, query)) {
+      Iterator<PointHistory> iterator = pointHistories.iterator();
+      int written = 0;
+      while (iterator.hasNext()) {
+        out.write(objectMapper.writeValueAsBytes(iterator.next()));
+        out.write('\n');
+        if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+          out.flush();
+        }
+      }
+    }
+    out.flush();
+  }
+}
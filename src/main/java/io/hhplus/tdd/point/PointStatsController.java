@@ -0,0 +1,36 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.model.PointHistoryQuery;
+import io.hhplus.tdd.point.model.PointTotal;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.service.PointRankingService;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 전체 유저를 대상으로 하는 통계 API 입니다. {@link PointRankingService} 가 등록되는 프로필에서만 등록되며, 기본 테이블에서는 전체 유저를 훑을
+ * 수 없으므로 경로 자체가 없습니다.
+ */
+@RestController
+@RequestMapping("/point/stats")
+@Profile({"indexed-history", "durable-storage"})
+public class PointStatsController {
+  private final PointRankingService pointRankingService;
+
+  @Autowired
+  PointStatsController(PointRankingService pointRankingService) {
+    this.pointRankingService = pointRankingService;
+  }
+
+  /** 기간 안에서 type 금액 합이 큰 유저 순으로 limit 명을 반환합니다. 기본은 사용(USE) 상위 10 명입니다. */
+  @GetMapping("top")
+  public List<PointTotal> top(
+      @RequestParam(defaultValue = "USE") TransactionType type,
+      @RequestParam(required = false) Long from,
+      @RequestParam(required = false) Long to,
+      @RequestParam(defaultValue = "10") int limit) {
+    return pointRankingService.getTopUsers(new PointHistoryQuery(null, limit, from, to, type));
+  }
+}
@@ -0,0 +1,46 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.cas.BalanceSharding;
+import io.hhplus.tdd.point.service.CasPointServiceImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 운영자용 API 입니다. hot key 로 확인된 유저의 잔액을 CAS 서비스에서 여러 셀에 나눠 담거나 다시 합칩니다. CAS 서비스가 /point 요청을 처리할
+ * 때(point.service.engine=cas)만 등록되므로, 요청이 들어오지 않는 서비스에 잔액을 올려 두는 일이 없습니다.
+ */
+@RestController
+@ConditionalOnProperty(name = "point.service.engine", havingValue = "cas")
+@RequestMapping("/admin/point")
+public class ShardingController {
+  private final CasPointServiceImpl casPointService;
+
+  @Autowired
+  ShardingController(CasPointServiceImpl casPointService) {
+    this.casPointService = casPointService;
+  }
+
+  @GetMapping("{id}/sharding")
+  public BalanceSharding sharding(@PathVariable long id) {
+    return new BalanceSharding(id, casPointService.isSharded(id));
+  }
+
+  /** cells 가 없으면 point.cas.shard-cells 개로 나눕니다. */
+  @PutMapping("{id}/sharding")
+  public BalanceSharding enableSharding(
+      @PathVariable long id, @RequestParam(required = false) Integer cells) {
+    if (cells == null) {
+      casPointService.enableSharding(id);
+    } else {
+      casPointService.enableSharding(id, cells);
+    }
+    return new BalanceSharding(id, casPointService.isSharded(id));
+  }
+
+  @DeleteMapping("{id}/sharding")
+  public BalanceSharding disableSharding(@PathVariable long id) {
+    casPointService.disableSharding(id);
+    return new BalanceSharding(id, casPointService.isSharded(id));
+  }
+}
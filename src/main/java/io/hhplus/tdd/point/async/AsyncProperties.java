@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point.async;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * point.async.* 설정
+ *
+ * @param parallelism 가상 쓰레드를 쓰지 않을 때 비동기 작업을 처리하는 쓰레드 수
+ * @param batchParallelism 일괄 처리 요청에서 유저별 묶음을 동시에 처리하는 ForkJoinPool 의 쓰레드 수
+ */
+@ConfigurationProperties("point.async")
+public record AsyncProperties(
+    @DefaultValue("64") int parallelism, @DefaultValue("32") int batchParallelism) {}
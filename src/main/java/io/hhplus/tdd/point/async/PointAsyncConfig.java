@@ -0,0 +1,38 @@
+package io.hhplus.tdd.point.async;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PointAsyncConfig {
+  /** 비동기 서비스가 테이블 호출을 실행하는 executor 입니다. 가상 쓰레드가 켜져 있으면 작업마다 가상 쓰레드를 만듭니다. */
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService pointTaskExecutor(
+      AsyncProperties asyncProperties,
+      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+    if (virtualThreads) {
+      return Executors.newThreadPerTaskExecutor(
+          Thread.ofVirtual().name("point-task-", 0).factory());
+    }
+
+    AtomicInteger sequence = new AtomicInteger();
+    return Executors.newFixedThreadPool(
+        asyncProperties.parallelism(),
+        runnable -> {
+          Thread thread = new Thread(runnable, "point-task-" + sequence.getAndIncrement());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  /** 일괄 처리 요청의 유저별 묶음을 처리하는 풀입니다. 묶음끼리는 서로를 기다리지 않으므로 ForkJoinPool 의 기본 동작만으로 충분합니다. */
+  @Bean(destroyMethod = "shutdown")
+  public ForkJoinPool pointBatchPool(AsyncProperties asyncProperties) {
+    return new ForkJoinPool(asyncProperties.batchParallelism());
+  }
+}
@@ -0,0 +1,26 @@
+package io.hhplus.tdd.point.audit;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * point.audit.* 설정
+ *
+ * @param enabled 잔액과 이력 합계를 비교하는 감사기를 주기적으로 실행할지 여부
+ * @param interval 한 번 실행한 뒤 다음 실행까지 쉬는 시간
+ * @param historiesPerRun 한 번에 읽는 최대 이력 수
+ * @param maxHistoriesPerRun 이력이 밀려 있을 때 늘려 가는 한 번에 읽는 이력 수의 상한
+ * @param usersPerRun 한 번에 잔액을 확인하는 최대 유저 수
+ * @param repair 두 번 연속 같은 차이가 확인된 잔액을 이력 합계로 고칠지 여부
+ * @param idleTimeout 이 시간 동안 새 이력이 없고 잔액이 확인된 유저의 합계를 메모리에서 내림 (0 이면 내리지 않음)
+ */
+@ConfigurationProperties("point.audit")
+public record AuditProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("1s") Duration interval,
+    @DefaultValue("10000") int historiesPerRun,
+    @DefaultValue("1000000") int maxHistoriesPerRun,
+    @DefaultValue("1000") int usersPerRun,
+    @DefaultValue("false") boolean repair,
+    @DefaultValue("10m") Duration idleTimeout) {}
@@ -0,0 +1,25 @@
+package io.hhplus.tdd.point.audit;
+
+import java.util.List;
+
+/**
+ * 감사 진행 상황
+ *
+ * @param watermark 여기까지의 이력을 합계에 반영했습니다.
+ * @param publishedId 저장소에서 쓰기를 마친 마지막 이력 id
+ * @param lag 아직 반영하지 않은 이력 수
+ * @param trackedUsers 이력이 있어 합계를 계산 중인 유저 수
+ * @param pendingUsers 잔액 확인을 기다리는 유저 수
+ * @param checkedUsers 지금까지 잔액을 확인한 횟수
+ * @param repairedUsers 지금까지 잔액을 고친 횟수
+ * @param drifts 확인된 차이 중 아직 남아 있는 것
+ */
+public record AuditReport(
+    long watermark,
+    long publishedId,
+    long lag,
+    long trackedUsers,
+    long pendingUsers,
+    long checkedUsers,
+    long repairedUsers,
+    List<BalanceDrift> drifts) {}
@@ -0,0 +1,315 @@
+package io.hhplus.tdd.point.audit;
+
+import io.hhplus.tdd.database.PointHistoryFeed;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.history.PointHistoryRecorder;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.service.PointServiceImpl;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 유저별 이력 합계(충전 - 사용)와 테이블의 잔액을 비교합니다. 이력과 잔액은 서로 다른 테이블 호출로 저장되므로, 중간에 실패하면 둘이 어긋날 수
+ * 있습니다.
+ *
+ * <p>이력은 id 순서로 watermark 뒤만 읽어 유저별 합계에 더하므로 전체를 다시 읽지 않습니다. 새 이력이 들어온 유저만 잔액을 확인하며, 한 번
+ * 실행할 때 읽는 이력 수와 확인하는 유저 수에 상한이 있습니다. 읽을 이력이 상한보다 많이 밀려 있으면 따라잡을 때까지 실행마다 상한을 두 배로
+ * 늘리고(maxHistoriesPerRun 까지), 따라잡으면 되돌립니다.
+ *
+ * <p>진행 중인 요청도 차이로 보이므로 처음 본 차이는 바로 보고하지 않습니다. 서비스는 이력을 먼저 남기고 잔액을 저장하므로, 잔액을 읽은 직후
+ * {@link PointHistoryRecorder#acceptedCount()} 를 기억해 두면 그 잔액을 설명하는 이력은 모두 그 안에 있습니다. 이후 실행에서 그
+ * 이력들이 모두 쓰였고({@link PointHistoryRecorder#completedCount()}) watermark 가 그 실행 시작 때 공개된 이력까지 따라잡았는데도, 이
+ * 유저의 이력과 잔액이 그대로일 때만 차이로 보고합니다. write-behind 큐에 밀린 이력이 있는 동안에는 확인을 미룹니다. 설정되어 있으면 잔액을
+ * 이력 합계로 고칩니다. 이력이 없는 유저의 잔액은 확인하지 않습니다.
+ *
+ * <p>유저별 합계는 idleTimeout 동안 새 이력이 없고 마지막 확인에서 잔액과 같았던 유저부터 내립니다(0 이면 내리지 않음). 그래서 기억하는 유저
+ * 수는 전체 유저가 아니라 idleTimeout 안에 이력이 생긴 유저와 확인이 끝나지 않은 유저 수로 제한됩니다. 내린 뒤 다시 이력이 생긴 유저는 처음
+ * 확인할 때 그 이력 앞의 합계를 {@link PointHistoryTable#selectAllByUserId} 로 다시 읽습니다.
+ */
+public class BalanceAuditor {
+  private static final Logger log = LoggerFactory.getLogger(BalanceAuditor.class);
+
+  private final PointHistoryFeed pointHistoryFeed;
+  private final UserPointTable userPointTable;
+  private final PointServiceImpl pointService;
+  private final PointHistoryRecorder pointHistoryRecorder;
+  private final int historiesPerRun;
+  private final int maxHistoriesPerRun;
+  private final PointHistoryTable pointHistoryTable;
+  private final int usersPerRun;
+  private final boolean repair;
+  private final long idleTimeoutMillis;
+
+  // 실행 쓰레드에서만 바꾸고, 크기만 다른 쓰레드에서 읽습니다.
+  private final ConcurrentHashMap<Long, UserAudit> users = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<Long, BalanceDrift> drifts = new ConcurrentHashMap<>();
+  // 실행 쓰레드에서만 다룹니다.
+  private final ArrayDeque<UserAudit> pending = new ArrayDeque<>();
+  private int scanLimit;
+  private long lastEvictionMillis = System.currentTimeMillis();
+  private volatile long watermark;
+  private volatile int pendingUsers;
+  private volatile long checkedUsers;
+  private volatile long repairedUsers;
+  private volatile long evictedUsers;
+
+  public BalanceAuditor(
+      PointHistoryFeed pointHistoryFeed,
+      PointHistoryTable pointHistoryTable,
+      UserPointTable userPointTable,
+      PointServiceImpl pointService,
+      PointHistoryRecorder pointHistoryRecorder,
+      int historiesPerRun,
+      int maxHistoriesPerRun,
+      int usersPerRun,
+      boolean repair,
+      long idleTimeoutMillis) {
+    if (historiesPerRun <= 0 || usersPerRun <= 0) {
+      throw new IllegalArgumentException("histories and users per run should be positive");
+    }
+    if (maxHistoriesPerRun < historiesPerRun) {
+      throw new IllegalArgumentException("max histories per run should not be less than default");
+    }
+    if (idleTimeoutMillis < 0) {
+      throw new IllegalArgumentException("idle timeout should not be negative");
+    }
+    this.pointHistoryFeed = pointHistoryFeed;
+    this.pointHistoryTable = pointHistoryTable;
+    this.userPointTable = userPointTable;
+    this.pointService = pointService;
+    this.pointHistoryRecorder = pointHistoryRecorder;
+    this.historiesPerRun = historiesPerRun;
+    this.maxHistoriesPerRun = maxHistoriesPerRun;
+    this.scanLimit = historiesPerRun;
+    this.usersPerRun = usersPerRun;
+    this.repair = repair;
+    this.idleTimeoutMillis = idleTimeoutMillis;
+  }
+
+  public BalanceAuditor(
+      PointHistoryFeed pointHistoryFeed,
+      PointHistoryTable pointHistoryTable,
+      UserPointTable userPointTable,
+      PointServiceImpl pointService,
+      PointHistoryRecorder pointHistoryRecorder,
+      AuditProperties auditProperties) {
+    this(
+        pointHistoryFeed,
+        pointHistoryTable,
+        userPointTable,
+        pointService,
+        pointHistoryRecorder,
+        auditProperties.historiesPerRun(),
+        auditProperties.maxHistoriesPerRun(),
+        auditProperties.usersPerRun(),
+        auditProperties.repair(),
+        auditProperties.idleTimeout().toMillis());
+  }
+
+  /** watermark 뒤의 이력을 합계에 더하고, 확인을 기다리는 유저의 잔액을 비교합니다. 전용 쓰레드에서 주기적으로 호출합니다. */
+  public synchronized void runOnce() {
+    // 이 시점까지 쓰기를 마친 이력은 모두 publishedId 안에 있습니다.
+    long completed = pointHistoryRecorder.completedCount();
+    long published = pointHistoryFeed.publishedId();
+    watermark = pointHistoryFeed.scan(watermark, scanLimit, this::apply);
+    boolean caughtUp = watermark >= published;
+    scanLimit = caughtUp ? historiesPerRun : (int) Math.min(2L * scanLimit, maxHistoriesPerRun);
+
+    // 이번 실행에서 다시 넣은 유저는 다음 실행에서 확인하도록, 시작할 때 기다리던 유저까지만 꺼냅니다.
+    int users = Math.min(usersPerRun, pending.size());
+    for (int i = 0; i < users; i++) {
+      UserAudit audit = pending.poll();
+      audit.queued = false;
+      check(audit, caughtUp ? completed : -1);
+    }
+    pendingUsers = pending.size();
+    evictIdleUsers();
+  }
+
+  public AuditReport report() {
+    long currentWatermark = watermark;
+    long publishedId = pointHistoryFeed.publishedId();
+    List<BalanceDrift> currentDrifts = new ArrayList<>(drifts.values());
+    currentDrifts.sort(Comparator.comparingLong(BalanceDrift::userId));
+    return new AuditReport(
+        currentWatermark,
+        publishedId,
+        Math.max(0, publishedId - currentWatermark),
+        users.size(),
+        pendingUsers,
+        checkedUsers,
+        repairedUsers,
+        currentDrifts);
+  }
+
+  public long watermark() {
+    return watermark;
+  }
+
+  /** 아직 합계에 반영하지 않은 이력 수 */
+  public long lag() {
+    return Math.max(0, pointHistoryFeed.publishedId() - watermark);
+  }
+
+  public long trackedUsers() {
+    return users.size();
+  }
+
+  public long pendingUsers() {
+    return pendingUsers;
+  }
+
+  public long checkedUsers() {
+    return checkedUsers;
+  }
+
+  public long repairedUsers() {
+    return repairedUsers;
+  }
+
+  public long driftedUsers() {
+    return drifts.size();
+  }
+
+  public long evictedUsers() {
+    return evictedUsers;
+  }
+
+  private void apply(PointHistory pointHistory) {
+    UserAudit audit = users.get(pointHistory.userId());
+    if (audit == null) {
+      audit = new UserAudit(pointHistory.userId());
+      // 내린 적이 있으면 이 유저의 앞선 이력이 이미 지나갔을 수 있으므로, 확인할 때 다시 읽습니다.
+      audit.unloadedBeforeId = evictedUsers > 0 ? pointHistory.id() : 0;
+      users.put(audit.userId, audit);
+    }
+    audit.expected += amountOf(pointHistory);
+    audit.lastHistoryId = pointHistory.id();
+    audit.lastAppliedMillis = System.currentTimeMillis();
+    audit.verified = false;
+    enqueue(audit);
+  }
+
+  private static long amountOf(PointHistory pointHistory) {
+    return pointHistory.type() == TransactionType.CHARGE
+        ? pointHistory.amount()
+        : -pointHistory.amount();
+  }
+
+  // 이 유저를 처음 본 이력 앞의 이력은 모두 watermark 안에 있어 쓰기를 마쳤습니다.
+  private void loadEarlierHistories(UserAudit audit) {
+    for (PointHistory pointHistory : pointHistoryTable.selectAllByUserId(audit.userId)) {
+      if (pointHistory.id() < audit.unloadedBeforeId) {
+        audit.expected += amountOf(pointHistory);
+      }
+    }
+    audit.unloadedBeforeId = 0;
+  }
+
+  /** idleTimeout 마다 한 번, 그동안 새 이력이 없고 잔액과 같다고 확인된 유저의 합계를 내립니다. */
+  private void evictIdleUsers() {
+    long now = System.currentTimeMillis();
+    if (idleTimeoutMillis == 0 || now - lastEvictionMillis < idleTimeoutMillis) {
+      return;
+    }
+    lastEvictionMillis = now;
+    long idleSince = now - idleTimeoutMillis;
+    int evicted = 0;
+    for (Iterator<UserAudit> iterator = users.values().iterator(); iterator.hasNext(); ) {
+      UserAudit audit = iterator.next();
+      if (audit.verified && !audit.queued && audit.lastAppliedMillis <= idleSince) {
+        iterator.remove();
+        evicted++;
+      }
+    }
+    evictedUsers += evicted;
+  }
+
+  // completed 는 이번 실행 전에 쓰기를 마쳐 합계에 모두 반영된 이력 수이며, watermark 가 아직 따라잡지 못했으면 -1 입니다.
+  private void check(UserAudit audit, long completed) {
+    if (audit.unloadedBeforeId > 0) {
+      loadEarlierHistories(audit);
+    }
+    long actual = userPointTable.selectById(audit.userId).point();
+    long accepted = pointHistoryRecorder.acceptedCount();
+    checkedUsers++;
+    if (actual == audit.expected) {
+      audit.verified = true;
+      audit.suspected = false;
+      drifts.remove(audit.userId);
+      return;
+    }
+
+    // 처음 본 차이, 또는 지난 확인 뒤 이력이나 잔액이 바뀐 경우는 진행 중인 요청일 수 있어 다음 실행에서 다시 확인합니다.
+    if (!audit.suspected
+        || audit.suspectedActual != actual
+        || audit.suspectedHistoryId != audit.lastHistoryId) {
+      audit.suspected = true;
+      audit.suspectedActual = actual;
+      audit.suspectedHistoryId = audit.lastHistoryId;
+      audit.suspectedAccepted = accepted;
+      enqueue(audit);
+      return;
+    }
+    if (completed < audit.suspectedAccepted) {
+      // 처음 본 잔액을 설명할 이력이 아직 큐에 있거나 합계에 반영되지 않았습니다.
+      enqueue(audit);
+      return;
+    }
+
+    audit.suspected = false;
+    BalanceDrift drift =
+        new BalanceDrift(audit.userId, audit.expected, actual, audit.lastHistoryId);
+    if (repair) {
+      if (pointService.repairUserPoint(audit.userId, actual, audit.expected) == null) {
+        // 고치기 직전에 잔액이 바뀌었으므로 처음부터 다시 확인합니다.
+        enqueue(audit);
+        return;
+      }
+      repairedUsers++;
+      audit.verified = true;
+      drifts.remove(audit.userId);
+      log.warn("repaired point balance drift {}", drift);
+      return;
+    }
+    if (drifts.put(audit.userId, drift) == null) {
+      log.warn("point balance drift {}", drift);
+    }
+  }
+
+  private void enqueue(UserAudit audit) {
+    if (!audit.queued) {
+      audit.queued = true;
+      pending.add(audit);
+    }
+  }
+
+  /** 한 유저의 감사 상태. 실행 쓰레드에서만 바꿉니다. */
+  private static final class UserAudit {
+    private final long userId;
+    private long expected;
+    private long lastHistoryId;
+    private long lastAppliedMillis;
+    // 0 이 아니면 이 id 앞의 이력을 아직 합계에 더하지 않았습니다.
+    private long unloadedBeforeId;
+    // 마지막 확인에서 잔액이 합계와 같았고(또는 고쳤고) 그 뒤 새 이력이 없습니다.
+    private boolean verified;
+    private boolean queued;
+    private boolean suspected;
+    private long suspectedActual;
+    private long suspectedHistoryId;
+    private long suspectedAccepted;
+
+    private UserAudit(long userId) {
+      this.userId = userId;
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point.audit;
+
+/**
+ * 이력 합계와 다른 잔액
+ *
+ * @param expected watermark 까지의 이력으로 계산한 잔액
+ * @param actual 테이블에 저장된 잔액
+ * @param lastHistoryId 계산에 쓴 이 유저의 마지막 이력 id
+ */
+public record BalanceDrift(long userId, long expected, long actual, long lastHistoryId) {}
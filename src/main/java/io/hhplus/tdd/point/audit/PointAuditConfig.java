@@ -0,0 +1,105 @@
+package io.hhplus.tdd.point.audit;
+
+import io.hhplus.tdd.database.PointHistoryFeed;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.history.PointHistoryRecorder;
+import io.hhplus.tdd.point.service.PointServiceImpl;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PointAuditConfig {
+  private static final Logger log = LoggerFactory.getLogger(PointAuditConfig.class);
+
+  /** 이력을 id 순서로 읽을 수 없는 테이블이면 빈 feed 를 써서, 감사기는 아무것도 확인하지 않습니다. */
+  @Bean
+  public BalanceAuditor balanceAuditor(
+      AuditProperties auditProperties,
+      UserPointTable userPointTable,
+      PointHistoryTable pointHistoryTable,
+      PointHistoryRecorder pointHistoryRecorder,
+      @Qualifier("servingPointService") PointServiceImpl pointService) {
+    PointHistoryFeed pointHistoryFeed =
+        pointHistoryTable instanceof PointHistoryFeed feed ? feed : PointHistoryFeed.empty();
+    return new BalanceAuditor(
+        pointHistoryFeed,
+        pointHistoryTable,
+        userPointTable,
+        pointService,
+        pointHistoryRecorder,
+        auditProperties);
+  }
+
+  /** 감사기 전용 쓰레드입니다. 한 번 실행을 마친 뒤 interval 만큼 쉬므로 요청 처리와 테이블을 나눠 쓰는 양이 제한됩니다. */
+  @Bean(destroyMethod = "shutdown")
+  public ScheduledExecutorService pointAuditExecutor(
+      AuditProperties auditProperties,
+      PointHistoryTable pointHistoryTable,
+      BalanceAuditor balanceAuditor) {
+    ScheduledExecutorService scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "point-audit");
+              thread.setDaemon(true);
+              return thread;
+            });
+    if (!auditProperties.enabled()) {
+      return scheduler;
+    }
+    if (!(pointHistoryTable instanceof PointHistoryFeed)) {
+      log.warn("point history table cannot be read in id order, point audit is disabled");
+      return scheduler;
+    }
+
+    long intervalMillis = auditProperties.interval().toMillis();
+    scheduler.scheduleWithFixedDelay(
+        () -> {
+          try {
+            balanceAuditor.runOnce();
+          } catch (RuntimeException e) {
+            // 예외가 나가면 이후 실행이 취소되므로 기록만 하고 다음 주기에 다시 시도합니다.
+            log.error("failed to audit point balances", e);
+          }
+        },
+        intervalMillis,
+        intervalMillis,
+        TimeUnit.MILLISECONDS);
+    return scheduler;
+  }
+
+  @Bean
+  public MeterBinder pointAuditMetrics(BalanceAuditor balanceAuditor) {
+    return registry -> {
+      Gauge.builder("point.audit.watermark", balanceAuditor, BalanceAuditor::watermark)
+          .description("합계에 반영한 마지막 이력 id")
+          .register(registry);
+      Gauge.builder("point.audit.lag", balanceAuditor, BalanceAuditor::lag)
+          .description("아직 합계에 반영하지 않은 이력 수")
+          .register(registry);
+      Gauge.builder("point.audit.users.tracked", balanceAuditor, BalanceAuditor::trackedUsers)
+          .register(registry);
+      Gauge.builder("point.audit.users.pending", balanceAuditor, BalanceAuditor::pendingUsers)
+          .register(registry);
+      Gauge.builder("point.audit.drifts", balanceAuditor, BalanceAuditor::driftedUsers)
+          .description("이력 합계와 다른 것으로 확인된 잔액 수")
+          .register(registry);
+      FunctionCounter.builder("point.audit.checks", balanceAuditor, BalanceAuditor::checkedUsers)
+          .register(registry);
+      FunctionCounter.builder("point.audit.repairs", balanceAuditor, BalanceAuditor::repairedUsers)
+          .register(registry);
+      FunctionCounter.builder("point.audit.evictions", balanceAuditor, BalanceAuditor::evictedUsers)
+          .description("새 이력이 없어 메모리에서 내린 유저별 합계 수")
+          .register(registry);
+    };
+  }
+}
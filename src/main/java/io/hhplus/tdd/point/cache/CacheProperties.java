@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * point.cache.* 설정
+ *
+ * @param enabled 잔액 캐시 사용 여부
+ * @param maximumSize 캐시에 담을 최대 유저 수
+ */
+@ConfigurationProperties("point.cache")
+public record CacheProperties(
+    @DefaultValue("false") boolean enabled, @DefaultValue("100000") long maximumSize) {}
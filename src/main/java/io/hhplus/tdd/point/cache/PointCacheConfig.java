@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point.cache;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PointCacheConfig {
+  @Bean
+  public UserPointCache userPointCache(CacheProperties cacheProperties) {
+    if (!cacheProperties.enabled()) {
+      return UserPointCache.disabled();
+    }
+    return UserPointCache.of(cacheProperties.maximumSize());
+  }
+}
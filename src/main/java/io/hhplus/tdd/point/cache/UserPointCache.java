@@ -0,0 +1,110 @@
+package io.hhplus.tdd.point.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.hhplus.tdd.point.model.UserPoint;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongFunction;
+
+/**
+ * UserPoint 조회 캐시. 조회는 캐시에 없을 때만 loader 로 테이블을 읽고(read-through), 잔액을 저장한 쪽이 바로 캐시도 갱신합니다
+ * (write-through).
+ *
+ * <p>잔액 변경은 모두 서비스의 저장 경로를 거치므로 캐시가 테이블과 어긋나지 않습니다. 크기 제한을 넘으면 Caffeine 의 W-TinyLFU 정책으로
+ * 덜 쓰이는 유저부터 내보냅니다.
+ *
+ * <p>조회는 락 없이 테이블을 읽으므로, 읽는 사이 저장한 값이 곧바로 내보내지면 읽은 옛 값이 캐시에 남을 수 있습니다. 이를 막기 위해 유저 id 로
+ * 나눈 stripe 마다 변경 횟수(epoch)를 두고, 저장은 캐시를 바꾸기 전에 epoch 를 올립니다. 조회는 읽기 전의 epoch 가 그대로일 때만 읽은 값을
+ * 넣고, 그 사이 같은 stripe 에 변경이 있었으면 값은 반환하되 캐시에는 넣지 않습니다.
+ */
+public class UserPointCache {
+  private static final int EPOCH_STRIPES = 1024;
+
+  private final Cache<Long, UserPoint> cache;
+  private final AtomicLongArray epochs;
+
+  private UserPointCache(Cache<Long, UserPoint> cache) {
+    this.cache = cache;
+    this.epochs = cache == null ? null : new AtomicLongArray(EPOCH_STRIPES);
+  }
+
+  public static UserPointCache of(long maximumSize) {
+    return new UserPointCache(Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build());
+  }
+
+  /** 캐시하지 않고 항상 loader 를 호출합니다. */
+  public static UserPointCache disabled() {
+    return new UserPointCache(null);
+  }
+
+  public UserPoint get(long id, LongFunction<UserPoint> loader) {
+    if (cache == null) {
+      return loader.apply(id);
+    }
+
+    UserPoint cached = cache.getIfPresent(id);
+    if (cached != null) {
+      return cached;
+    }
+
+    // loader 는 테이블 조회로 블로킹되므로 Cache.get(key, loader) 처럼 맵의 bin 락(synchronized) 안에서 호출하지 않습니다.
+    // 가상 쓰레드가 캐리어에 고정(pinning)되는 것을 막고, 같은 bin 의 다른 유저가 기다리지 않게 합니다.
+    int stripe = stripeOf(id);
+    long epoch = epochs.get(stripe);
+    UserPoint loaded = loader.apply(id);
+
+    // epoch 확인과 넣기를 한 번의 compute 로 묶어, 확인한 뒤 넣기 전에 끼어든 저장을 놓치지 않습니다.
+    UserPoint installed =
+        cache
+            .asMap()
+            .compute(
+                id,
+                (key, current) -> {
+                  if (current != null) {
+                    return current;
+                  }
+                  return epochs.get(stripe) == epoch ? loaded : null;
+                });
+    return installed == null ? loaded : installed;
+  }
+
+  public void put(UserPoint userPoint) {
+    if (cache != null) {
+      epochs.incrementAndGet(stripeOf(userPoint.id()));
+      cache.put(userPoint.id(), userPoint);
+    }
+  }
+
+  /** 캐시에서 지웁니다. 지우기 전에 읽기 시작한 조회도 읽은 값을 넣지 않습니다. */
+  public void invalidate(long id) {
+    if (cache != null) {
+      epochs.incrementAndGet(stripeOf(id));
+      cache.invalidate(id);
+    }
+  }
+
+  /** 대기 중인 eviction 등 내부 정리 작업을 바로 수행합니다. */
+  public void cleanUp() {
+    if (cache != null) {
+      cache.cleanUp();
+    }
+  }
+
+  public boolean isEnabled() {
+    return cache != null;
+  }
+
+  private static int stripeOf(long id) {
+    return (Long.hashCode(id) * 0x9E3779B9 >>> 16) & (EPOCH_STRIPES - 1);
+  }
+
+  public UserPointCacheStats stats() {
+    if (cache == null) {
+      return new UserPointCacheStats(0, 0, 0, 0);
+    }
+    CacheStats stats = cache.stats();
+    return new UserPointCacheStats(
+        stats.hitCount(), stats.missCount(), stats.evictionCount(), cache.estimatedSize());
+  }
+}
@@ -0,0 +1,3 @@
+package io.hhplus.tdd.point.cache;
+
+public record UserPointCacheStats(long hitCount, long missCount, long evictionCount, long size) {}
@@ -0,0 +1,4 @@
+package io.hhplus.tdd.point.cas;
+
+/** 유저의 잔액을 여러 셀에 나눠 담고 있는지 */
+public record BalanceSharding(long userId, boolean sharded) {}
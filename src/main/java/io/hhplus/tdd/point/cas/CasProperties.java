@@ -0,0 +1,32 @@
+package io.hhplus.tdd.point.cas;
+
+import io.hhplus.tdd.point.history.HistoryWriteBehindProperties.OverflowPolicy;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * point.cas.* 설정
+ *
+ * @param writerLanes 테이블 반영을 처리하는 write-behind 레인 수
+ * @param laneCapacity 레인마다 반영을 기다릴 수 있는 최대 작업 수
+ * @param overflowPolicy 레인이 가득 찼을 때 BLOCK: 자리가 날 때까지 대기, REJECT: 잔액을 바꾸지 않고 바로 실패
+ * @param idleTimeout 이 시간 동안 charge/use 가 없고 반영할 작업도 없는 잔액은 메모리에서 내립니다. 0 이면 내리지 않습니다.
+ * @param shardCells 잔액을 나눠 담을 셀 수. 0 이면 CPU 수
+ * @param shardedUsers 처음부터 잔액을 셀에 나눠 담을 유저 id
+ */
+@ConfigurationProperties("point.cas")
+public record CasProperties(
+    @DefaultValue("8") int writerLanes,
+    @DefaultValue("4096") int laneCapacity,
+    @DefaultValue("BLOCK") OverflowPolicy overflowPolicy,
+    @DefaultValue("10m") Duration idleTimeout,
+    @DefaultValue("0") int shardCells,
+    @DefaultValue List<Long> shardedUsers) {
+
+  /** 테스트와 벤치마크용. 레인 수만 정하고 나머지는 기본값이며, 잔액을 내리지 않습니다. */
+  public static CasProperties of(int writerLanes) {
+    return new CasProperties(writerLanes, 4096, OverflowPolicy.BLOCK, Duration.ZERO, 0, List.of());
+  }
+}
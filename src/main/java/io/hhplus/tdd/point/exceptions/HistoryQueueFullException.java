@@ -0,0 +1,7 @@
+package io.hhplus.tdd.point.exceptions;
+
+public class HistoryQueueFullException extends RuntimeException {
+  public HistoryQueueFullException() {
+    super("Point history queue is full");
+  }
+}
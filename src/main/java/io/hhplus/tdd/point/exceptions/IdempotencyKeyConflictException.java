@@ -0,0 +1,7 @@
+package io.hhplus.tdd.point.exceptions;
+
+public class IdempotencyKeyConflictException extends RuntimeException {
+  public IdempotencyKeyConflictException() {
+    super("Idempotency-Key was already used for a different request");
+  }
+}
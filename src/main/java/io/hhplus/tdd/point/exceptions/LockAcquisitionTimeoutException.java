@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point.exceptions;
+
+/** 유저 락을 제한 시간 안에 얻지 못했습니다. overloaded 이면 한 유저가 아니라 서버 전체가 밀려 있던 경우입니다. */
+public class LockAcquisitionTimeoutException extends RuntimeException {
+  private final boolean overloaded;
+
+  public LockAcquisitionTimeoutException() {
+    this(false);
+  }
+
+  public LockAcquisitionTimeoutException(boolean overloaded) {
+    super(
+        overloaded
+            ? "Server is busy, try again later"
+            : "Too many concurrent requests for this user");
+    this.overloaded = overloaded;
+  }
+
+  public boolean overloaded() {
+    return overloaded;
+  }
+}
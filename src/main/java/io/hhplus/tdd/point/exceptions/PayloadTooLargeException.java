@@ -0,0 +1,7 @@
+package io.hhplus.tdd.point.exceptions;
+
+public class PayloadTooLargeException extends RuntimeException {
+  public PayloadTooLargeException(long maxBytes) {
+    super("request body should be at most " + maxBytes + " bytes");
+  }
+}
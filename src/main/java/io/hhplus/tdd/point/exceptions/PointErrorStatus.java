@@ -0,0 +1,33 @@
+package io.hhplus.tdd.point.exceptions;
+
+/** 예외를 응답 상태 코드로 바꿉니다. 단건 API 의 에러 응답과 일괄 처리의 항목별 결과가 같은 코드를 쓰도록 함께 씁니다. */
+public final class PointErrorStatus {
+  public static final int INTERNAL_ERROR = 500;
+  public static final String INTERNAL_ERROR_MESSAGE = "에러가 발생했습니다.";
+
+  private PointErrorStatus() {}
+
+  public static int of(Throwable e) {
+    if (e instanceof IllegalArgumentException || e instanceof InsufficientPointsException) {
+      return 400;
+    }
+    if (e instanceof PayloadTooLargeException) {
+      return 413;
+    }
+    if (e instanceof IdempotencyKeyConflictException) {
+      return 422;
+    }
+    if (e instanceof LockAcquisitionTimeoutException timeout) {
+      return timeout.overloaded() ? 503 : 429;
+    }
+    if (e instanceof HistoryQueueFullException) {
+      return 503;
+    }
+    return INTERNAL_ERROR;
+  }
+
+  /** 내부 오류는 예외 메시지를 감추고 공통 메시지를 돌려줍니다. */
+  public static String messageOf(Throwable e) {
+    return of(e) == INTERNAL_ERROR ? INTERNAL_ERROR_MESSAGE : e.getMessage();
+  }
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.metrics.PointMetrics.TableOperation;
+import io.hhplus.tdd.point.model.TransactionType;
+
+/** 호출한 쓰레드에서 바로 테이블에 씁니다. */
+public class DirectPointHistoryRecorder implements PointHistoryRecorder {
+  private final PointHistoryTable pointHistoryTable;
+  private final PointMetrics pointMetrics;
+
+  public DirectPointHistoryRecorder(PointHistoryTable pointHistoryTable) {
+    this(pointHistoryTable, PointMetrics.noop());
+  }
+
+  public DirectPointHistoryRecorder(
+      PointHistoryTable pointHistoryTable, PointMetrics pointMetrics) {
+    this.pointHistoryTable = pointHistoryTable;
+    this.pointMetrics = pointMetrics;
+  }
+
+  @Override
+  public void record(long userId, long amount, TransactionType type, long updateMillis) {
+    long start = System.nanoTime();
+    pointHistoryTable.insert(userId, amount, type, updateMillis);
+    pointMetrics.recordTable(TableOperation.INSERT, start);
+  }
+}
@@ -0,0 +1,25 @@
+package io.hhplus.tdd.point.history;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * point.history.write-behind.* 설정
+ *
+ * @param enabled 이력을 큐에 넣고 별도 쓰레드에서 쓸지 여부
+ * @param capacity 큐 크기
+ * @param batchSize writer 가 한 번에 꺼내는 최대 이력 수
+ * @param overflowPolicy 큐가 가득 찼을 때 BLOCK: 자리가 날 때까지 대기, REJECT: 바로 실패
+ */
+@ConfigurationProperties("point.history.write-behind")
+public record HistoryWriteBehindProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("65536") int capacity,
+    @DefaultValue("256") int batchSize,
+    @DefaultValue("BLOCK") OverflowPolicy overflowPolicy) {
+
+  public enum OverflowPolicy {
+    BLOCK,
+    REJECT
+  }
+}
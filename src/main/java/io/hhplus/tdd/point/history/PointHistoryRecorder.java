@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.point.model.TransactionType;
+
+/** charge/use 이력을 남기는 방법. 바로 테이블에 쓰거나, 큐에 넣고 별도 쓰레드가 쓰게 할 수 있습니다. */
+public interface PointHistoryRecorder {
+  void record(long userId, long amount, TransactionType type, long updateMillis);
+
+  /** 지금까지 받은 이력 수. 바로 쓰는 구현은 record 가 반환할 때 이미 쓰였으므로 0 입니다. */
+  default long acceptedCount() {
+    return 0;
+  }
+
+  /**
+   * 받은 이력 중 쓰기를 마친 수. 받은 순서대로 쓰므로, acceptedCount 를 읽은 뒤 이 값이 그 이상이 되면 그때까지 받은 이력은 모두
+   * 끝났습니다.
+   */
+  default long completedCount() {
+    return acceptedCount();
+  }
+}
@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PointHistoryRecorderConfig {
+  // WriteBehindPointHistoryRecorder 는 AutoCloseable 이므로 컨텍스트 종료 시 close() 로 남은 이력을 모두 씁니다.
+  @Bean
+  public PointHistoryRecorder pointHistoryRecorder(
+      PointHistoryTable pointHistoryTable,
+      HistoryWriteBehindProperties properties,
+      PointMetrics pointMetrics) {
+    if (!properties.enabled()) {
+      return new DirectPointHistoryRecorder(pointHistoryTable, pointMetrics);
+    }
+    return new WriteBehindPointHistoryRecorder(pointHistoryTable, properties, pointMetrics);
+  }
+}
@@ -0,0 +1,260 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.exceptions.HistoryQueueFullException;
+import io.hhplus.tdd.point.history.HistoryWriteBehindProperties.OverflowPolicy;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.metrics.PointMetrics.TableOperation;
+import io.hhplus.tdd.point.model.TransactionType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 이력을 고정 크기 링 버퍼(ArrayBlockingQueue)에 넣고 바로 반환합니다. 전용 writer 쓰레드가 큐에서 batchSize 만큼씩 꺼내 순서대로 테이블에
+ * 씁니다.
+ *
+ * <p>큐가 가득 차면 overflowPolicy 에 따라 자리가 날 때까지 기다리거나 {@link HistoryQueueFullException} 을 던집니다. 큐에 넣는 일은
+ * enqueueLock 안에서 하므로, 받은 순서({@link #acceptedCount()})가 곧 쓰는 순서입니다.
+ *
+ * <p>종료할 때는 같은 락 안에서 새 이력을 막고 큐 끝에 종료 표시를 넣습니다. 그래서 종료 표시 뒤에 들어오는 이력은 없고, writer 는 표시를 만날
+ * 때까지 남은 이력을 모두 씁니다. 테이블 쓰기가 실패하면 maxAttempts 번까지 다시 시도하고, 그래도 실패하면 {@link #failedCount()} 에
+ * 세고 로그를 남깁니다.
+ */
+public class WriteBehindPointHistoryRecorder implements PointHistoryRecorder, AutoCloseable {
+  private static final Logger log = LoggerFactory.getLogger(WriteBehindPointHistoryRecorder.class);
+  private static final int MAX_ATTEMPTS = 3;
+  private static final long RETRY_BACKOFF_MILLIS = 10;
+  private static final HistoryEvent CLOSE = new HistoryEvent(0, 0, null, 0);
+
+  private final PointHistoryTable pointHistoryTable;
+  private final BlockingQueue<HistoryEvent> queue;
+  private final int batchSize;
+  private final OverflowPolicy overflowPolicy;
+  private final PointMetrics pointMetrics;
+  private final Thread writer;
+  private final ReentrantLock enqueueLock = new ReentrantLock();
+  private boolean running = true;
+  // writer 가 drainLoop 를 빠져나오면 signal 전에 켭니다. isAlive 는 signal 직후에도 true 일 수 있어 따로 둡니다.
+  private volatile boolean writerStopped;
+  // 큐에 넣은 이력 수와, 그중 쓰기를 마친(실패로 끝난 것 포함) 이력 수
+  private final AtomicLong accepted = new AtomicLong();
+  private final AtomicLong completed = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final ReentrantLock completedLock = new ReentrantLock();
+  private final Condition completedChanged = completedLock.newCondition();
+
+  public WriteBehindPointHistoryRecorder(
+      PointHistoryTable pointHistoryTable,
+      int capacity,
+      int batchSize,
+      OverflowPolicy overflowPolicy) {
+    this(pointHistoryTable, capacity, batchSize, overflowPolicy, PointMetrics.noop());
+  }
+
+  public WriteBehindPointHistoryRecorder(
+      PointHistoryTable pointHistoryTable,
+      int capacity,
+      int batchSize,
+      OverflowPolicy overflowPolicy,
+      PointMetrics pointMetrics) {
+    this.pointHistoryTable = pointHistoryTable;
+    // 종료 표시가 들어갈 자리를 하나 더 둡니다.
+    this.queue = new ArrayBlockingQueue<>(capacity + 1);
+    this.batchSize = batchSize;
+    this.overflowPolicy = overflowPolicy;
+    this.pointMetrics = pointMetrics;
+    this.writer = new Thread(this::drainLoop, "point-history-writer");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  public WriteBehindPointHistoryRecorder(
+      PointHistoryTable pointHistoryTable,
+      HistoryWriteBehindProperties properties,
+      PointMetrics pointMetrics) {
+    this(
+        pointHistoryTable,
+        properties.capacity(),
+        properties.batchSize(),
+        properties.overflowPolicy(),
+        pointMetrics);
+  }
+
+  @Override
+  public void record(long userId, long amount, TransactionType type, long updateMillis) {
+    HistoryEvent event = new HistoryEvent(userId, amount, type, updateMillis);
+    try {
+      enqueueLock.lockInterruptibly();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new HistoryQueueFullException();
+    }
+    try {
+      if (!running) {
+        throw new IllegalStateException("point history writer is closed");
+      }
+      // 종료 표시 자리는 남겨 둡니다.
+      if (queue.remainingCapacity() <= 1 && overflowPolicy == OverflowPolicy.REJECT) {
+        throw new HistoryQueueFullException();
+      }
+      while (queue.remainingCapacity() <= 1) {
+        // writer 가 멈췄다면 자리가 나지 않으므로 기다리지 않습니다.
+        checkWriterRunning();
+        awaitCompleted(completed.get());
+      }
+      queue.add(event);
+      accepted.incrementAndGet();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new HistoryQueueFullException();
+    } finally {
+      enqueueLock.unlock();
+    }
+  }
+
+  public int queueDepth() {
+    return queue.size();
+  }
+
+  @Override
+  public long acceptedCount() {
+    return accepted.get();
+  }
+
+  @Override
+  public long completedCount() {
+    return completed.get();
+  }
+
+  /** 다시 시도해도 쓰지 못해 버린 이력 수 */
+  public long failedCount() {
+    return failed.get();
+  }
+
+  /** 지금까지 넣은 이력이 모두 쓰일 때까지 기다립니다. */
+  public void flush() throws InterruptedException {
+    long target = accepted.get();
+    while (completed.get() < target) {
+      checkWriterRunning();
+      awaitCompleted(completed.get());
+    }
+  }
+
+  @Override
+  public void close() throws InterruptedException {
+    enqueueLock.lock();
+    try {
+      if (!running) {
+        return;
+      }
+      running = false;
+      // 자리를 남겨 두었으므로 기다리지 않고 들어갑니다.
+      queue.add(CLOSE);
+    } finally {
+      enqueueLock.unlock();
+    }
+    writer.join();
+
+    // writer 가 예상치 못한 오류로 먼저 멈췄다면 남은 이력을 여기서 씁니다.
+    List<HistoryEvent> remaining = new ArrayList<>();
+    queue.drainTo(remaining);
+    remaining.remove(CLOSE);
+    write(remaining);
+  }
+
+  private void drainLoop() {
+    List<HistoryEvent> batch = new ArrayList<>(batchSize);
+    boolean closed = false;
+    try {
+      while (!closed) {
+        try {
+          batch.add(queue.take());
+        } catch (InterruptedException e) {
+          continue;
+        }
+        queue.drainTo(batch, batchSize - 1);
+        if (batch.get(batch.size() - 1) == CLOSE) {
+          batch.remove(batch.size() - 1);
+          closed = true;
+        }
+        write(batch);
+        batch.clear();
+      }
+    } finally {
+      writerStopped = true;
+      signalCompleted();
+    }
+  }
+
+  private void write(List<HistoryEvent> batch) {
+    for (HistoryEvent event : batch) {
+      writeWithRetry(event);
+      completed.incrementAndGet();
+    }
+    signalCompleted();
+  }
+
+  private void writeWithRetry(HistoryEvent event) {
+    for (int attempt = 1; ; attempt++) {
+      long start = System.nanoTime();
+      try {
+        pointHistoryTable.insert(event.userId(), event.amount(), event.type(), event.updateMillis());
+        pointMetrics.recordTable(TableOperation.INSERT, start);
+        return;
+      } catch (RuntimeException e) {
+        if (attempt >= MAX_ATTEMPTS) {
+          failed.incrementAndGet();
+          log.error("failed to write point history {} after {} attempts", event, attempt, e);
+          return;
+        }
+        log.warn("retrying point history {} after attempt {}", event, attempt, e);
+        sleepQuietly(RETRY_BACKOFF_MILLIS * attempt);
+      }
+    }
+  }
+
+  // completed 가 seen 에서 바뀌거나 writer 가 멈출 때까지 기다립니다.
+  private void awaitCompleted(long seen) throws InterruptedException {
+    completedLock.lock();
+    try {
+      while (completed.get() == seen && !writerStopped) {
+        completedChanged.await();
+      }
+    } finally {
+      completedLock.unlock();
+    }
+  }
+
+  private void checkWriterRunning() {
+    if (writerStopped) {
+      throw new IllegalStateException("point history writer has stopped");
+    }
+  }
+
+  private void signalCompleted() {
+    completedLock.lock();
+    try {
+      completedChanged.signalAll();
+    } finally {
+      completedLock.unlock();
+    }
+  }
+
+  private static void sleepQuietly(long millis) {
+    try {
+      TimeUnit.MILLISECONDS.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private record HistoryEvent(long userId, long amount, TransactionType type, long updateMillis) {}
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point.hotkey;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * point.hot-key.* 설정
+ *
+ * @param enabled 유저별 처리량/락 대기 추적 여부
+ * @param capacity 동시에 추적할 최대 유저 수. 메모리 사용량은 이 값에 비례합니다.
+ * @param window 집계 구간. 직전 구간과 현재 구간을 합쳐 보고합니다.
+ */
+@ConfigurationProperties("point.hot-key")
+public record HotKeyProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("1024") int capacity,
+    @DefaultValue("1m") Duration window) {}
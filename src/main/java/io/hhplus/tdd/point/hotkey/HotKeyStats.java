@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point.hotkey;
+
+/**
+ * 한 유저의 추적 결과입니다.
+ *
+ * @param operations 추정 락 획득 횟수(일괄 요청의 유저별 묶음은 1회). 실제 횟수는 operations - maxOverestimate 이상
+ *     operations 이하입니다.
+ * @param maxOverestimate 추적을 시작하기 전에 다른 유저에게서 물려받았을 수 있는 최대 건수
+ * @param contended 다른 쓰레드가 락을 쥐고 있어 기다려야 했던 건수
+ */
+public record HotKeyStats(
+    long userId,
+    long operations,
+    long maxOverestimate,
+    double operationsPerSecond,
+    long contended,
+    double averageLockWaitMillis,
+    double maxLockWaitMillis) {}
@@ -0,0 +1,311 @@
+package io.hhplus.tdd.point.hotkey;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * 처리 건수가 많은 유저(hot key)를 Space-Saving 알고리즘으로 추적하고, 유저별 락 대기 시간을 함께 집계합니다.
+ *
+ * <p>추적하는 유저 수는 capacity 로 제한됩니다. 자리가 없을 때 처음 보는 유저가 들어오면 건수가 가장 적은 유저의 자리를 건수째로 물려받으므로, 건수는
+ * 실제보다 많게 추정될 수 있지만 적게 추정되지는 않습니다.
+ *
+ * <p>유저 id 를 해시해 샤드를 나누고 샤드마다 따로 동기화하므로, 서로 다른 샤드의 기록은 경합하지 않습니다. 자리도 샤드마다 capacity / 샤드 수
+ * 개씩 나눠 가지므로, 반드시 남아 있다고 보장되는 유저는 한 구간에서 자기 샤드 건수의 1/(샤드 자리 수) 보다 많이 처리된 유저입니다. 건수가 샤드에
+ * 고르게 나뉘면 전체 건수의 약 1/capacity 와 같지만, 한 샤드에 몰리면 그 샤드 안에서의 비율로만 보장됩니다. 집계 구간(window)이 지나면 현재
+ * 구간을 직전 구간으로 넘기고, 보고할 때는 두 구간을 합칩니다.
+ */
+public class HotKeyTracker {
+  private static final int SHARDS = 16;
+  private static final HotKeyTracker DISABLED = new HotKeyTracker();
+
+  private final Shard[] shards;
+  private final long windowNanos;
+  private final LongSupplier nanoClock;
+  private final long originNanos;
+
+  private HotKeyTracker() {
+    this.shards = null;
+    this.windowNanos = 0;
+    this.nanoClock = System::nanoTime;
+    this.originNanos = 0;
+  }
+
+  /**
+   * @param nanoClock 구간 계산에 쓰는 시계. 테스트에서 시간을 직접 움직일 때 사용합니다.
+   */
+  public HotKeyTracker(int capacity, Duration window, LongSupplier nanoClock) {
+    if (capacity <= 0 || window.isNegative() || window.isZero()) {
+      throw new IllegalArgumentException("capacity and window should be positive");
+    }
+    int shardCount = Math.min(SHARDS, capacity);
+    int shardCapacity = (capacity + shardCount - 1) / shardCount;
+    this.shards = new Shard[shardCount];
+    for (int i = 0; i < shardCount; i++) {
+      shards[i] = new Shard(shardCapacity);
+    }
+    this.windowNanos = window.toNanos();
+    this.nanoClock = nanoClock;
+    this.originNanos = nanoClock.getAsLong();
+  }
+
+  public static HotKeyTracker of(int capacity, Duration window) {
+    return new HotKeyTracker(capacity, window, System::nanoTime);
+  }
+
+  public static HotKeyTracker disabled() {
+    return DISABLED;
+  }
+
+  public boolean isEnabled() {
+    return shards != null;
+  }
+
+  /**
+   * @param lockWaitNanos 락을 얻기까지 기다린 시간. 락 없이 처리했다면 0
+   * @param contended 다른 쓰레드가 락을 쥐고 있어 기다렸는지 여부
+   */
+  public void record(long userId, long lockWaitNanos, boolean contended) {
+    if (shards == null) {
+      return;
+    }
+    shards[shardOf(userId)].record(userId, currentEpoch(), lockWaitNanos, contended);
+  }
+
+  /** 처리 건수가 많은 순서로 최대 limit 명을 반환합니다. */
+  public List<HotKeyStats> top(int limit) {
+    if (shards == null || limit <= 0) {
+      return List.of();
+    }
+
+    long epoch = currentEpoch();
+    Map<Long, Slot> merged = new HashMap<>();
+    for (Shard shard : shards) {
+      shard.collect(epoch, merged);
+    }
+
+    long elapsedInWindow = nanoClock.getAsLong() - originNanos - epoch * windowNanos;
+    long elapsedNanos = epoch > 0 ? windowNanos + elapsedInWindow : elapsedInWindow;
+    double elapsedSeconds = Math.max(elapsedNanos, 1_000_000L) / 1e9;
+
+    return merged.values().stream()
+        .sorted(Comparator.comparingLong((Slot slot) -> slot.operations).reversed())
+        .limit(limit)
+        .map(slot -> slot.toStats(elapsedSeconds))
+        .toList();
+  }
+
+  private long currentEpoch() {
+    return (nanoClock.getAsLong() - originNanos) / windowNanos;
+  }
+
+  private int shardOf(long userId) {
+    long hash = userId * 0x9E3779B97F4A7C15L;
+    return (int) ((hash >>> 32) % shards.length);
+  }
+
+  private static class Shard {
+    private final int capacity;
+    private SlotTable current;
+    private SlotTable previous;
+    private long epoch;
+
+    private Shard(int capacity) {
+      this.capacity = capacity;
+      this.current = new SlotTable(capacity);
+      this.previous = new SlotTable(capacity);
+    }
+
+    private synchronized void record(
+        long userId, long epoch, long lockWaitNanos, boolean contended) {
+      rotate(epoch);
+      Slot slot = current.get(userId);
+      if (slot == null) {
+        slot = admit(userId);
+      }
+      slot.operations++;
+      slot.lockWaitNanos += lockWaitNanos;
+      slot.maxLockWaitNanos = Math.max(slot.maxLockWaitNanos, lockWaitNanos);
+      if (contended) {
+        slot.contended++;
+      }
+    }
+
+    private synchronized void collect(long epoch, Map<Long, Slot> merged) {
+      rotate(epoch);
+      previous.forEach(slot -> merged.computeIfAbsent(slot.userId, Slot::new).add(slot));
+      current.forEach(slot -> merged.computeIfAbsent(slot.userId, Slot::new).add(slot));
+    }
+
+    // 자리가 없으면 건수가 가장 적은 유저의 Slot 을 건수째로 넘겨받습니다. 락 대기 통계는 물려받지 않습니다.
+    private Slot admit(long userId) {
+      if (current.size < capacity) {
+        Slot slot = new Slot(userId);
+        current.put(userId, slot);
+        return slot;
+      }
+
+      Slot min = current.min();
+      current.remove(min.userId);
+      min.reassign(userId);
+      current.put(userId, min);
+      return min;
+    }
+
+    private void rotate(long epoch) {
+      if (epoch == this.epoch) {
+        return;
+      }
+      SlotTable expired = previous;
+      expired.clear();
+      if (epoch == this.epoch + 1) {
+        previous = current;
+        current = expired;
+      } else {
+        // 한 구간 넘게 기록이 없었으면 직전 구간도 비어 있어야 합니다.
+        current.clear();
+      }
+      this.epoch = epoch;
+    }
+  }
+
+  /**
+   * 유저 id 를 박싱하지 않도록 long 키를 배열에 그대로 두는 open addressing 해시 테이블입니다. 크기가 capacity 의 두 배 이상이라 절반 넘게 차지
+   * 않고, 삭제할 때는 뒤따르는 항목을 당겨 와 탐색 경로가 끊기지 않게 합니다. 샤드 모니터 안에서만 사용합니다.
+   */
+  private static final class SlotTable {
+    private final long[] keys;
+    private final Slot[] slots;
+    private final int shift;
+    private int size;
+
+    private SlotTable(int capacity) {
+      int length = Integer.highestOneBit(Math.max(capacity, 1) * 2 - 1) << 1;
+      this.keys = new long[length];
+      this.slots = new Slot[length];
+      this.shift = 64 - Integer.numberOfTrailingZeros(length);
+    }
+
+    private Slot get(long key) {
+      for (int i = indexOf(key); slots[i] != null; i = next(i)) {
+        if (keys[i] == key) {
+          return slots[i];
+        }
+      }
+      return null;
+    }
+
+    // key 가 없을 때만 호출합니다.
+    private void put(long key, Slot slot) {
+      int i = indexOf(key);
+      while (slots[i] != null) {
+        i = next(i);
+      }
+      keys[i] = key;
+      slots[i] = slot;
+      size++;
+    }
+
+    private void remove(long key) {
+      int i = indexOf(key);
+      while (slots[i] != null && keys[i] != key) {
+        i = next(i);
+      }
+      if (slots[i] == null) {
+        return;
+      }
+      slots[i] = null;
+      size--;
+
+      // 빈 자리 뒤의 항목 중 원래 자리가 빈 자리보다 앞(순환 기준)인 것을 당겨 옵니다.
+      for (int j = next(i); slots[j] != null; j = next(j)) {
+        int home = indexOf(keys[j]);
+        boolean movable = i <= j ? (home <= i || home > j) : (home <= i && home > j);
+        if (movable) {
+          keys[i] = keys[j];
+          slots[i] = slots[j];
+          slots[j] = null;
+          i = j;
+        }
+      }
+    }
+
+    private Slot min() {
+      Slot min = null;
+      for (Slot slot : slots) {
+        if (slot != null && (min == null || slot.operations < min.operations)) {
+          min = slot;
+        }
+      }
+      return min;
+    }
+
+    private void forEach(Consumer<Slot> action) {
+      for (Slot slot : slots) {
+        if (slot != null) {
+          action.accept(slot);
+        }
+      }
+    }
+
+    private void clear() {
+      Arrays.fill(slots, null);
+      size = 0;
+    }
+
+    // 샤드를 고를 때와 다른 상수로 섞어, 같은 샤드의 키가 한쪽에 몰리지 않게 합니다.
+    private int indexOf(long key) {
+      return (int) ((key * 0xC2B2AE3D27D4EB4FL) >>> shift);
+    }
+
+    private int next(int index) {
+      return (index + 1) & (slots.length - 1);
+    }
+  }
+
+  private static class Slot {
+    private long userId;
+    private long operations;
+    private long maxOverestimate;
+    private long contended;
+    private long lockWaitNanos;
+    private long maxLockWaitNanos;
+
+    private Slot(long userId) {
+      this.userId = userId;
+    }
+
+    private void reassign(long userId) {
+      this.userId = userId;
+      this.maxOverestimate = operations;
+      this.contended = 0;
+      this.lockWaitNanos = 0;
+      this.maxLockWaitNanos = 0;
+    }
+
+    private void add(Slot other) {
+      operations += other.operations;
+      maxOverestimate += other.maxOverestimate;
+      contended += other.contended;
+      lockWaitNanos += other.lockWaitNanos;
+      maxLockWaitNanos = Math.max(maxLockWaitNanos, other.maxLockWaitNanos);
+    }
+
+    private HotKeyStats toStats(double elapsedSeconds) {
+      long observed = operations - maxOverestimate;
+      return new HotKeyStats(
+          userId,
+          operations,
+          maxOverestimate,
+          operations / elapsedSeconds,
+          contended,
+          observed == 0 ? 0 : lockWaitNanos / 1e6 / observed,
+          maxLockWaitNanos / 1e6);
+    }
+  }
+}
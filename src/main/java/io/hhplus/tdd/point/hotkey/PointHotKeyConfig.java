@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point.hotkey;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PointHotKeyConfig {
+  @Bean
+  public HotKeyTracker hotKeyTracker(HotKeyProperties hotKeyProperties) {
+    if (!hotKeyProperties.enabled()) {
+      return HotKeyTracker.disabled();
+    }
+    return HotKeyTracker.of(hotKeyProperties.capacity(), hotKeyProperties.window());
+  }
+}
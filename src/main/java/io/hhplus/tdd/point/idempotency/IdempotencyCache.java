@@ -0,0 +1,92 @@
+package io.hhplus.tdd.point.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.hhplus.tdd.point.exceptions.IdempotencyKeyConflictException;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 별로 charge/use 결과를 기억합니다. 같은 키로 다시 들어온 요청은 다시 실행하지 않고, 처음 요청이 아직 처리 중이면 그 결과를
+ * 기다렸다가 같은 결과를 돌려받습니다.
+ *
+ * <p>실패한 요청은 잔액이 바뀌지 않으므로 키를 지워 재시도가 다시 실행되게 합니다. 키는 ttl 이 지나거나 크기 제한을 넘으면 제거됩니다.
+ *
+ * <p>처리 중인 키가 크기 제한으로 밀려나면 같은 키의 재시도가 한 번 더 실행되므로, 처리 중인 키는 무게 0 으로 두고 끝난 뒤 다시 넣어 무게 1 로
+ * 셉니다. 다시 넣을 때 ttl 도 처리가 끝난 시점부터 다시 셉니다.
+ */
+public class IdempotencyCache {
+  private final Cache<String, Entry> cache;
+
+  private IdempotencyCache(Cache<String, Entry> cache) {
+    this.cache = cache;
+  }
+
+  public static IdempotencyCache of(long maximumSize, Duration ttl) {
+    return new IdempotencyCache(
+        Caffeine.newBuilder()
+            .maximumWeight(maximumSize)
+            .weigher((String key, Entry entry) -> entry.result.isDone() ? 1 : 0)
+            .expireAfterWrite(ttl)
+            .build());
+  }
+
+  /**
+   * 키가 없으면 action 을 실행하고, 있으면 처음 요청의 결과를 반환합니다.
+   *
+   * @throws IdempotencyKeyConflictException 같은 키가 다른 유저, 종류, 금액의 요청에 이미 사용된 경우
+   */
+  public UserPoint execute(
+      String key, long userId, TransactionType type, long amount, Supplier<UserPoint> action) {
+    Entry created = new Entry(userId, type, amount, new CompletableFuture<>());
+    Entry existing = cache.asMap().putIfAbsent(key, created);
+    if (existing != null) {
+      if (!existing.matches(userId, type, amount)) {
+        throw new IdempotencyKeyConflictException();
+      }
+      return await(existing.result);
+    }
+
+    UserPoint userPoint;
+    try {
+      userPoint = action.get();
+    } catch (Throwable e) {
+      // Error 도 기다리는 요청에 전달해야 무한히 기다리지 않습니다.
+      cache.asMap().remove(key, created);
+      created.result.completeExceptionally(e);
+      throw e;
+    }
+    created.result.complete(userPoint);
+    cache.asMap().replace(key, created, created);
+    return userPoint;
+  }
+
+  public long size() {
+    return cache.estimatedSize();
+  }
+
+  private static UserPoint await(CompletableFuture<UserPoint> result) {
+    try {
+      return result.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private record Entry(
+      long userId, TransactionType type, long amount, CompletableFuture<UserPoint> result) {
+    private boolean matches(long userId, TransactionType type, long amount) {
+      return this.userId == userId && this.type == type && this.amount == amount;
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point.idempotency;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * point.idempotency.* 설정
+ *
+ * @param maximumSize 기억할 최대 Idempotency-Key 수. 처리 중인 키는 세지 않습니다.
+ * @param ttl 처음 요청 후 같은 키의 재시도를 중복으로 보는 시간
+ */
+@ConfigurationProperties("point.idempotency")
+public record IdempotencyProperties(
+    @DefaultValue("100000") long maximumSize, @DefaultValue("10m") Duration ttl) {}
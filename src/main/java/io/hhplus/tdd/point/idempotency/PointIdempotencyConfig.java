@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point.idempotency;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PointIdempotencyConfig {
+  @Bean
+  public IdempotencyCache idempotencyCache(IdempotencyProperties idempotencyProperties) {
+    return IdempotencyCache.of(idempotencyProperties.maximumSize(), idempotencyProperties.ttl());
+  }
+}
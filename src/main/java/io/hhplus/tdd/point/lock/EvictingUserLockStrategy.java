@@ -0,0 +1,129 @@
+package io.hhplus.tdd.point.lock;
+
+import io.hhplus.tdd.point.exceptions.LockAcquisitionTimeoutException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저별 락을 참조 카운팅으로 관리하고, 락을 잡고 있거나 기다리는 쓰레드가 없어지면 맵에서 제거합니다.
+ *
+ * <p>참조 카운트 증감과 제거는 모두 같은 키에 대한 {@link ConcurrentHashMap#compute} 안에서 일어나므로, 한 유저에 대해 살아있는 락 객체는
+ * 항상 하나뿐입니다.
+ */
+public class EvictingUserLockStrategy implements UserLockStrategy {
+  private final ConcurrentHashMap<Long, Entry> locks = new ConcurrentHashMap<>();
+  private final boolean fair;
+  private final long timeoutMillis;
+  private final LockWaiters waiters;
+
+  private final AtomicLong peakLocks = new AtomicLong();
+  private final LongAdder evictions = new LongAdder();
+
+  public EvictingUserLockStrategy(boolean fair, long timeoutMillis) {
+    this(fair, timeoutMillis, 0);
+  }
+
+  public EvictingUserLockStrategy(boolean fair, long timeoutMillis, int overloadWaiters) {
+    this.fair = fair;
+    this.timeoutMillis = timeoutMillis;
+    this.waiters = new LockWaiters(overloadWaiters);
+  }
+
+  public EvictingUserLockStrategy(LockProperties properties) {
+    this(properties.fair(), properties.timeoutMillis(), properties.overloadWaiters());
+  }
+
+  @Override
+  public UserLock acquire(long userId) {
+    Entry entry = retain(userId);
+    // 락 상태를 읽기만 하므로 공정성에 영향을 주지 않습니다.
+    boolean contended = entry.isLocked();
+    if (timeoutMillis <= 0) {
+      entry.lock();
+      entry.contended = contended;
+      return entry;
+    }
+
+    LockAcquisitionTimeoutException timeout;
+    waiters.enter();
+    try {
+      if (entry.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+        entry.contended = contended;
+        return entry;
+      }
+      timeout = waiters.timeout();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      timeout = waiters.timeout();
+    } finally {
+      waiters.exit();
+    }
+    release(entry);
+    throw timeout;
+  }
+
+  public long liveLocks() {
+    return locks.size();
+  }
+
+  public long peakLocks() {
+    return peakLocks.get();
+  }
+
+  public long evictions() {
+    return evictions.sum();
+  }
+
+  private Entry retain(long userId) {
+    return locks.compute(
+        userId,
+        (key, current) -> {
+          Entry retained = current;
+          if (retained == null) {
+            retained = new Entry(key, fair);
+            peakLocks.accumulateAndGet(locks.size() + 1, Math::max);
+          }
+          retained.references++;
+          return retained;
+        });
+  }
+
+  private void release(Entry entry) {
+    locks.computeIfPresent(
+        entry.userId,
+        (key, current) -> {
+          if (--current.references > 0) {
+            return current;
+          }
+          evictions.increment();
+          return null;
+        });
+  }
+
+  private class Entry extends ReentrantLock implements UserLock {
+    private final long userId;
+    // compute 블록 안에서만 읽고 씁니다.
+    private int references;
+    // 락을 쥔 쓰레드만 쓰고 읽습니다.
+    private boolean contended;
+
+    private Entry(long userId, boolean fair) {
+      super(fair);
+      this.userId = userId;
+    }
+
+    @Override
+    public boolean contended() {
+      return contended;
+    }
+
+    @Override
+    public void close() {
+      unlock();
+      release(this);
+    }
+  }
+}
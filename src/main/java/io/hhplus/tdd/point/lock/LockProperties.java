@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point.lock;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * point.lock.* 설정
+ *
+ * @param strategy STRIPED: 고정 크기 락 배열, EVICTING: 사용이 끝난 락을 제거하는 유저별 락
+ * @param stripes STRIPED 전략의 락 배열 크기 (2의 거듭제곱으로 올림)
+ * @param fair 공정 락 사용 여부
+ * @param timeoutMillis 0 이하이면 락을 얻을 때까지 기다리고, 양수이면 해당 시간 동안만 tryLock 합니다.
+ * @param overloadWaiters 타임아웃 때 락을 기다리는 요청이 이 수 이상이면 과부하(503)로, 아니면 유저별 요청 과다(429)로 응답합니다. 0 이하이면
+ *     항상 429 입니다.
+ */
+@ConfigurationProperties("point.lock")
+public record LockProperties(
+    @DefaultValue("STRIPED") Strategy strategy,
+    @DefaultValue("1024") int stripes,
+    @DefaultValue("true") boolean fair,
+    @DefaultValue("0") long timeoutMillis,
+    @DefaultValue("0") int overloadWaiters) {
+
+  public enum Strategy {
+    STRIPED,
+    EVICTING
+  }
+}
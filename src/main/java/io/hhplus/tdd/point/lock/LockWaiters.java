@@ -0,0 +1,31 @@
+package io.hhplus.tdd.point.lock;
+
+import io.hhplus.tdd.point.exceptions.LockAcquisitionTimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 시간 제한을 두고 유저 락을 기다리는 요청 수를 셉니다. 타임아웃 순간 기다리는 요청이 overloadWaiters 이상이면, 한 유저에 몰린 요청이 아니라
+ * 서버 전체가 밀린 것으로 보고 과부하 타임아웃을 만듭니다.
+ */
+final class LockWaiters {
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final int overloadWaiters;
+
+  LockWaiters(int overloadWaiters) {
+    this.overloadWaiters = overloadWaiters;
+  }
+
+  void enter() {
+    waiting.incrementAndGet();
+  }
+
+  void exit() {
+    waiting.decrementAndGet();
+  }
+
+  // 자신도 아직 기다리는 요청으로 셉니다.
+  LockAcquisitionTimeoutException timeout() {
+    return new LockAcquisitionTimeoutException(
+        overloadWaiters > 0 && waiting.get() >= overloadWaiters);
+  }
+}
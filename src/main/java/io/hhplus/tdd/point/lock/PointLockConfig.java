@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point.lock;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PointLockConfig {
+  @Bean
+  public UserLockStrategy userLockStrategy(LockProperties lockProperties) {
+    return switch (lockProperties.strategy()) {
+      case STRIPED -> new StripedUserLockStrategy(lockProperties);
+      case EVICTING -> new EvictingUserLockStrategy(lockProperties);
+    };
+  }
+}
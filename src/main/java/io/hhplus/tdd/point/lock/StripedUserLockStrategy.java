@@ -0,0 +1,106 @@
+package io.hhplus.tdd.point.lock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저 id 를 해싱해서 고정 크기 락 배열 중 하나를 사용합니다. 유저 수와 무관하게 락 개수가 고정되고, 같은 stripe 에 걸린 다른 유저끼리는 함께
+ * 직렬화됩니다.
+ */
+public class StripedUserLockStrategy implements UserLockStrategy {
+  private final Stripe[] stripes;
+  private final int mask;
+  private final long timeoutMillis;
+  private final LockWaiters waiters;
+
+  public StripedUserLockStrategy(int stripes, boolean fair, long timeoutMillis) {
+    this(stripes, fair, timeoutMillis, 0);
+  }
+
+  public StripedUserLockStrategy(
+      int stripes, boolean fair, long timeoutMillis, int overloadWaiters) {
+    if (stripes <= 0) {
+      throw new IllegalArgumentException("stripes should be positive");
+    }
+    int size = Integer.highestOneBit(stripes);
+    if (size < stripes) {
+      size <<= 1;
+    }
+
+    this.stripes = new Stripe[size];
+    for (int i = 0; i < size; i++) {
+      this.stripes[i] = new Stripe(fair);
+    }
+    this.mask = size - 1;
+    this.timeoutMillis = timeoutMillis;
+    this.waiters = new LockWaiters(overloadWaiters);
+  }
+
+  public StripedUserLockStrategy(LockProperties properties) {
+    this(
+        properties.stripes(),
+        properties.fair(),
+        properties.timeoutMillis(),
+        properties.overloadWaiters());
+  }
+
+  @Override
+  public UserLock acquire(long userId) {
+    Stripe stripe = stripes[indexOf(userId)];
+    // 락 상태를 읽기만 하므로 공정성에 영향을 주지 않습니다.
+    boolean contended = stripe.isLocked();
+    if (timeoutMillis <= 0) {
+      stripe.lock();
+      stripe.contended = contended;
+      return stripe;
+    }
+
+    waiters.enter();
+    try {
+      if (stripe.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+        stripe.contended = contended;
+        return stripe;
+      }
+      throw waiters.timeout();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw waiters.timeout();
+    } finally {
+      waiters.exit();
+    }
+  }
+
+  public int size() {
+    return stripes.length;
+  }
+
+  int indexOf(long userId) {
+    // murmur3 fmix64 - 연속된 id 가 인접한 stripe 에 몰리지 않도록 섞어줍니다.
+    long h = userId;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return (int) h & mask;
+  }
+
+  private static class Stripe extends ReentrantLock implements UserLock {
+    // 락을 쥔 쓰레드만 쓰고 읽습니다.
+    private boolean contended;
+
+    private Stripe(boolean fair) {
+      super(fair);
+    }
+
+    @Override
+    public boolean contended() {
+      return contended;
+    }
+
+    @Override
+    public void close() {
+      unlock();
+    }
+  }
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point.lock;
+
+/** 획득한 유저 락. try-with-resources 로 해제합니다. */
+public interface UserLock extends AutoCloseable {
+  /** 획득하려는 시점에 다른 쓰레드가 이 락을 쥐고 있었는지 여부입니다. 지표용이므로 정확하지 않을 수 있습니다. */
+  default boolean contended() {
+    return false;
+  }
+
+  @Override
+  void close();
+}
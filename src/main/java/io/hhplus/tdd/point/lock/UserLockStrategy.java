@@ -0,0 +1,8 @@
+package io.hhplus.tdd.point.lock;
+
+import io.hhplus.tdd.point.exceptions.LockAcquisitionTimeoutException;
+
+/** 유저 단위로 포인트 변경을 직렬화하는 락 전략입니다. */
+public interface UserLockStrategy {
+  UserLock acquire(long userId) throws LockAcquisitionTimeoutException;
+}
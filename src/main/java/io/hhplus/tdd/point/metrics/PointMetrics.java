@@ -0,0 +1,162 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.hhplus.tdd.point.hotkey.HotKeyTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서비스 메서드, 테이블 호출, 유저 락의 지연 시간을 기록합니다.
+ *
+ * <p>모든 meter 는 생성자에서 미리 등록해 두고 enum 의 ordinal 로 꺼내 쓰므로, 기록할 때는 태그나 람다를 만들지 않습니다. 호출하는 쪽은 시작
+ * 시각을 {@link System#nanoTime()} 으로 받아 넘깁니다.
+ *
+ * <p>유저별 처리량과 락 대기는 태그로 나누면 meter 수가 유저 수만큼 늘어나므로, 크기가 제한된 {@link HotKeyTracker} 에 따로 기록합니다.
+ */
+public class PointMetrics {
+  // 하위 registry 가 없는 CompositeMeterRegistry 는 기록을 모두 버립니다.
+  private static final PointMetrics NOOP = new PointMetrics(new CompositeMeterRegistry());
+
+  public enum ServiceOperation {
+    GET_USER_POINT("getUserPoint"),
+    GET_POINT_HISTORIES("getPointHistories"),
+    GET_POINT_SUMMARY("getPointSummary"),
+    GET_TOP_USERS("getTopUsers"),
+    CHARGE("charge"),
+    USE("use"),
+    APPLY_OPERATIONS("applyOperations");
+
+    private final String method;
+
+    ServiceOperation(String method) {
+      this.method = method;
+    }
+  }
+
+  public enum TableOperation {
+    SELECT_BY_ID("user_point", "selectById"),
+    INSERT_OR_UPDATE("user_point", "insertOrUpdate"),
+    INSERT("point_history", "insert"),
+    SELECT_ALL_BY_USER_ID("point_history", "selectAllByUserId");
+
+    private final String table;
+    private final String method;
+
+    TableOperation(String table, String method) {
+      this.table = table;
+      this.method = method;
+    }
+  }
+
+  public enum LockOperation {
+    CHARGE("charge"),
+    USE("use"),
+    BATCH("batch"),
+    REPAIR("repair");
+
+    private final String operation;
+
+    LockOperation(String operation) {
+      this.operation = operation;
+    }
+  }
+
+  private final Timer[] serviceTimers;
+  private final Timer[] tableTimers;
+  private final Timer[] lockWaitTimers;
+  private final Timer[] lockHoldTimers;
+  private final Counter contendedAcquisitions;
+  private final HotKeyTracker hotKeyTracker;
+
+  public PointMetrics(MeterRegistry registry) {
+    this(registry, HotKeyTracker.disabled());
+  }
+
+  public PointMetrics(MeterRegistry registry, HotKeyTracker hotKeyTracker) {
+    this.hotKeyTracker = hotKeyTracker;
+    ServiceOperation[] serviceOperations = ServiceOperation.values();
+    serviceTimers = new Timer[serviceOperations.length];
+    for (ServiceOperation operation : serviceOperations) {
+      serviceTimers[operation.ordinal()] =
+          Timer.builder("point.service")
+              .description("PointService 메서드 처리 시간")
+              .tag("method", operation.method)
+              .publishPercentileHistogram()
+              .register(registry);
+    }
+
+    TableOperation[] tableOperations = TableOperation.values();
+    tableTimers = new Timer[tableOperations.length];
+    for (TableOperation operation : tableOperations) {
+      tableTimers[operation.ordinal()] =
+          Timer.builder("point.table")
+              .description("테이블 호출 시간")
+              .tag("table", operation.table)
+              .tag("method", operation.method)
+              .publishPercentileHistogram()
+              .register(registry);
+    }
+
+    LockOperation[] lockOperations = LockOperation.values();
+    lockWaitTimers = new Timer[lockOperations.length];
+    lockHoldTimers = new Timer[lockOperations.length];
+    for (LockOperation operation : lockOperations) {
+      lockWaitTimers[operation.ordinal()] =
+          Timer.builder("point.lock.wait")
+              .description("유저 락을 얻기까지 기다린 시간")
+              .tag("operation", operation.operation)
+              .publishPercentileHistogram()
+              .register(registry);
+      lockHoldTimers[operation.ordinal()] =
+          Timer.builder("point.lock.hold")
+              .description("유저 락을 쥐고 있던 시간")
+              .tag("operation", operation.operation)
+              .publishPercentileHistogram()
+              .register(registry);
+    }
+
+    contendedAcquisitions =
+        Counter.builder("point.lock.contended")
+            .description("다른 쓰레드가 쥐고 있어 기다려야 했던 락 획득 수")
+            .register(registry);
+  }
+
+  /** 아무것도 기록하지 않습니다. Spring 밖에서 서비스를 직접 만들 때 사용합니다. */
+  public static PointMetrics noop() {
+    return NOOP;
+  }
+
+  public void recordService(ServiceOperation operation, long startNanos) {
+    serviceTimers[operation.ordinal()].record(
+        System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void recordTable(TableOperation operation, long startNanos) {
+    tableTimers[operation.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * @param requestedNanos 락을 요청한 시각
+   * @param acquiredNanos 락을 얻은 시각
+   * @param releasedNanos 락을 푼 시각. 락을 푼 뒤에 호출하므로 따로 받습니다.
+   * @param contended 다른 쓰레드가 락을 쥐고 있어 기다려야 했는지 여부
+   */
+  public void recordLock(
+      LockOperation operation,
+      long userId,
+      long requestedNanos,
+      long acquiredNanos,
+      long releasedNanos,
+      boolean contended) {
+    long waitNanos = acquiredNanos - requestedNanos;
+    lockWaitTimers[operation.ordinal()].record(waitNanos, TimeUnit.NANOSECONDS);
+    lockHoldTimers[operation.ordinal()].record(
+        releasedNanos - acquiredNanos, TimeUnit.NANOSECONDS);
+    if (contended) {
+      contendedAcquisitions.increment();
+    }
+    hotKeyTracker.record(userId, waitNanos, contended);
+  }
+}
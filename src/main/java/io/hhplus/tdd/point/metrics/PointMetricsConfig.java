@@ -0,0 +1,101 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.hhplus.tdd.point.cache.UserPointCache;
+import io.hhplus.tdd.point.history.PointHistoryRecorder;
+import io.hhplus.tdd.point.history.WriteBehindPointHistoryRecorder;
+import io.hhplus.tdd.point.hotkey.HotKeyTracker;
+import io.hhplus.tdd.point.lock.EvictingUserLockStrategy;
+import io.hhplus.tdd.point.lock.UserLockStrategy;
+import io.hhplus.tdd.point.service.CasPointServiceImpl;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PointMetricsConfig {
+  @Bean
+  public PointMetrics pointMetrics(MeterRegistry meterRegistry, HotKeyTracker hotKeyTracker) {
+    return new PointMetrics(meterRegistry, hotKeyTracker);
+  }
+
+  /** 큐 깊이, 락 맵 크기, 캐시 통계는 scrape 할 때만 읽는 gauge 로 등록해 요청 경로에는 비용이 없습니다. */
+  @Bean
+  public MeterBinder pointResourceMetrics(
+      PointHistoryRecorder pointHistoryRecorder,
+      UserLockStrategy userLockStrategy,
+      UserPointCache userPointCache,
+      ObjectProvider<CasPointServiceImpl> casPointService,
+      @Qualifier("pointTaskExecutor") ExecutorService pointTaskExecutor,
+      @Qualifier("pointBatchPool") ForkJoinPool pointBatchPool) {
+    return registry -> {
+      if (pointHistoryRecorder instanceof WriteBehindPointHistoryRecorder writeBehind) {
+        Gauge.builder(
+                "point.history.queue.depth",
+                writeBehind,
+                WriteBehindPointHistoryRecorder::queueDepth)
+            .description("아직 테이블에 쓰이지 않은 이력 수")
+            .register(registry);
+        FunctionCounter.builder(
+                "point.history.write.failures",
+                writeBehind,
+                WriteBehindPointHistoryRecorder::failedCount)
+            .description("다시 시도해도 테이블에 쓰지 못한 이력 수")
+            .register(registry);
+      }
+
+      // CAS 서비스는 point.service.engine=cas 일 때만 있습니다.
+      casPointService.ifAvailable(
+          cas -> {
+            Gauge.builder("point.cas.queue.depth", cas, CasPointServiceImpl::queueDepth)
+                .description("CAS 서비스에서 아직 테이블에 반영하지 않은 작업 수")
+                .register(registry);
+            Gauge.builder("point.cas.balances.live", cas, CasPointServiceImpl::liveBalances)
+                .register(registry);
+            FunctionCounter.builder(
+                    "point.cas.write.failures", cas, CasPointServiceImpl::failedCount)
+                .description("다시 시도해도 테이블에 반영하지 못한 CAS 서비스의 쓰기 수")
+                .register(registry);
+          });
+
+      if (userLockStrategy instanceof EvictingUserLockStrategy evicting) {
+        Gauge.builder("point.lock.live", evicting, EvictingUserLockStrategy::liveLocks)
+            .description("맵에 살아있는 유저 락 수")
+            .register(registry);
+        Gauge.builder("point.lock.peak", evicting, EvictingUserLockStrategy::peakLocks)
+            .register(registry);
+        FunctionCounter.builder("point.lock.evictions", evicting, EvictingUserLockStrategy::evictions)
+            .register(registry);
+      }
+
+      if (userPointCache.isEnabled()) {
+        FunctionCounter.builder("point.cache.hits", userPointCache, c -> c.stats().hitCount())
+            .register(registry);
+        FunctionCounter.builder("point.cache.misses", userPointCache, c -> c.stats().missCount())
+            .register(registry);
+        FunctionCounter.builder(
+                "point.cache.evictions", userPointCache, c -> c.stats().evictionCount())
+            .register(registry);
+        Gauge.builder("point.cache.size", userPointCache, c -> c.stats().size())
+            .register(registry);
+      }
+
+      if (pointTaskExecutor instanceof ThreadPoolExecutor taskPool) {
+        Gauge.builder("point.executor.queue.depth", taskPool, pool -> pool.getQueue().size())
+            .tag("executor", "pointTaskExecutor")
+            .register(registry);
+      }
+      Gauge.builder(
+              "point.executor.queue.depth", pointBatchPool, ForkJoinPool::getQueuedSubmissionCount)
+          .tag("executor", "pointBatchPool")
+          .register(registry);
+    };
+  }
+}
@@ -0,0 +1,48 @@
+package io.hhplus.tdd.point.model;
+
+/**
+ * 포인트 이력 페이지 조회 조건. null 인 조건은 적용하지 않습니다.
+ *
+ * @param afterId 이 id 다음 이력부터 (커서)
+ * @param limit 최대 개수
+ * @param fromMillis updateMillis 하한 (포함)
+ * @param toMillis updateMillis 상한 (미포함)
+ * @param type 트랜잭션 종류
+ */
+public record PointHistoryQuery(
+    Long afterId, Integer limit, Long fromMillis, Long toMillis, TransactionType type) {
+  public static final int DEFAULT_LIMIT = 100;
+  public static final int MAX_LIMIT = 1000;
+
+  public PointHistoryQuery {
+    if (limit != null && (limit <= 0 || limit > MAX_LIMIT)) {
+      throw new IllegalArgumentException("limit should be between 1 and " + MAX_LIMIT);
+    }
+    if (fromMillis != null && toMillis != null && fromMillis > toMillis) {
+      throw new IllegalArgumentException("from should not be after to");
+    }
+  }
+
+  public static PointHistoryQuery all() {
+    return new PointHistoryQuery(null, null, null, null, null);
+  }
+
+  public boolean isUnbounded() {
+    return afterId == null && limit == null && fromMillis == null && toMillis == null && type == null;
+  }
+
+  public long afterIdOrZero() {
+    return afterId == null ? 0 : afterId;
+  }
+
+  public int limitOrMax() {
+    return limit == null ? Integer.MAX_VALUE : limit;
+  }
+
+  /** 커서와 개수를 제외한 필터 조건에 맞는지 확인합니다. */
+  public boolean matches(PointHistory pointHistory) {
+    return (fromMillis == null || pointHistory.updateMillis() >= fromMillis)
+        && (toMillis == null || pointHistory.updateMillis() < toMillis)
+        && (type == null || pointHistory.type() == type);
+  }
+}
@@ -0,0 +1,37 @@
+package io.hhplus.tdd.point.model;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/** 일괄 처리 요청의 한 항목입니다. */
+public record PointOperation(long userId, TransactionType type, long amount) {
+  /** 바이너리 형식에서 항목 하나의 크기입니다. userId(8) + type(1, ordinal) + amount(8), big-endian */
+  public static final int BINARY_SIZE = Long.BYTES + 1 + Long.BYTES;
+
+  public PointOperation {
+    if (type == null) {
+      throw new IllegalArgumentException("type should not be null");
+    }
+  }
+
+  public static List<PointOperation> decodeAll(byte[] bytes) {
+    if (bytes.length % BINARY_SIZE != 0) {
+      throw new IllegalArgumentException("body length should be a multiple of " + BINARY_SIZE);
+    }
+
+    TransactionType[] types = TransactionType.values();
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    List<PointOperation> operations = new ArrayList<>(bytes.length / BINARY_SIZE);
+    while (buffer.hasRemaining()) {
+      long userId = buffer.getLong();
+      int type = buffer.get();
+      long amount = buffer.getLong();
+      if (type < 0 || type >= types.length) {
+        throw new IllegalArgumentException("unknown type " + type);
+      }
+      operations.add(new PointOperation(userId, types[type], amount));
+    }
+    return operations;
+  }
+}
@@ -0,0 +1,30 @@
+package io.hhplus.tdd.point.model;
+
+import io.hhplus.tdd.point.exceptions.PointErrorStatus;
+
+/**
+ * 일괄 처리 요청의 항목별 결과입니다. 성공하면 userPoint 에 처리 후 잔액이, 실패하면 code/message 에 단건 API 와 같은 에러 코드가 담깁니다.
+ */
+public record PointOperationResult(
+    long userId,
+    TransactionType type,
+    long amount,
+    UserPoint userPoint,
+    String code,
+    String message) {
+
+  public static PointOperationResult success(PointOperation operation, UserPoint userPoint) {
+    return new PointOperationResult(
+        operation.userId(), operation.type(), operation.amount(), userPoint, null, null);
+  }
+
+  public static PointOperationResult failure(PointOperation operation, RuntimeException e) {
+    return new PointOperationResult(
+        operation.userId(),
+        operation.type(),
+        operation.amount(),
+        null,
+        String.valueOf(PointErrorStatus.of(e)),
+        PointErrorStatus.messageOf(e));
+  }
+}
@@ -0,0 +1,46 @@
+package io.hhplus.tdd.point.model;
+
+import java.util.stream.Collector;
+
+/**
+ * 한 유저의 기간 내 충전/사용 합계
+ *
+ * @param fromMillis 기간 하한 (포함). null 이면 처음부터
+ * @param toMillis 기간 상한 (미포함). null 이면 끝까지
+ */
+public record PointSummary(
+    long userId,
+    Long fromMillis,
+    Long toMillis,
+    long chargedAmount,
+    long chargeCount,
+    long usedAmount,
+    long useCount) {
+
+  /** 이미 기간으로 걸러낸 이력을 합칩니다. 병렬 스트림에서도 쓸 수 있습니다. */
+  public static Collector<PointHistory, long[], PointSummary> collector(
+      long userId, PointHistoryQuery query) {
+    return Collector.of(
+        () -> new long[4],
+        (totals, pointHistory) -> {
+          int offset = pointHistory.type() == TransactionType.CHARGE ? 0 : 2;
+          totals[offset] += pointHistory.amount();
+          totals[offset + 1]++;
+        },
+        (left, right) -> {
+          for (int i = 0; i < left.length; i++) {
+            left[i] += right[i];
+          }
+          return left;
+        },
+        totals ->
+            new PointSummary(
+                userId,
+                query.fromMillis(),
+                query.toMillis(),
+                totals[0],
+                totals[1],
+                totals[2],
+                totals[3]));
+  }
+}
@@ -0,0 +1,44 @@
+package io.hhplus.tdd.point.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Collector;
+
+/** 한 유저의 기간 내 한 종류(type) 이력의 금액 합계와 건수 */
+public record PointTotal(long userId, TransactionType type, long amount, long count) {
+  // 금액이 큰 순서, 같으면 userId 가 작은 순서
+  private static final Comparator<PointTotal> RANKING =
+      Comparator.comparingLong(PointTotal::amount)
+          .reversed()
+          .thenComparingLong(PointTotal::userId);
+
+  /**
+   * 금액이 큰 순서로 최대 limit 개를 모읍니다. 병렬 스트림의 작업마다 limit 크기의 heap 만 유지하므로 전체를 정렬하지 않습니다.
+   */
+  public static Collector<PointTotal, ?, List<PointTotal>> top(int limit) {
+    return Collector.<PointTotal, PriorityQueue<PointTotal>, List<PointTotal>>of(
+        () -> new PriorityQueue<>(RANKING.reversed()),
+        (heap, total) -> offer(heap, total, limit),
+        (left, right) -> {
+          right.forEach(total -> offer(left, total, limit));
+          return left;
+        },
+        heap -> {
+          List<PointTotal> ranking = new ArrayList<>(heap);
+          ranking.sort(RANKING);
+          return ranking;
+        });
+  }
+
+  // heap 의 머리는 지금까지 모은 것 중 가장 순위가 낮은 항목입니다.
+  private static void offer(PriorityQueue<PointTotal> heap, PointTotal total, int limit) {
+    if (heap.size() < limit) {
+      heap.add(total);
+    } else if (RANKING.compare(total, heap.peek()) < 0) {
+      heap.poll();
+      heap.add(total);
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.UserPoint;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/** 결과를 CompletableFuture 로 돌려주는 PointService 입니다. 예외는 CompletionException 으로 감싸지 않고 그대로 전달합니다. */
+public interface AsyncPointService {
+  public CompletableFuture<UserPoint> getUserPoint(long id);
+
+  public CompletableFuture<List<PointHistory>> getPointHistories(long id);
+
+  public CompletableFuture<UserPoint> charge(long id, long amount);
+
+  public CompletableFuture<UserPoint> use(long id, long amount);
+}
@@ -0,0 +1,224 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.exceptions.InsufficientPointsException;
+import io.hhplus.tdd.point.lock.StripedUserLockStrategy;
+import io.hhplus.tdd.point.lock.UserLockStrategy;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.metrics.PointMetrics.LockOperation;
+import io.hhplus.tdd.point.metrics.PointMetrics.ServiceOperation;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * 테이블 호출을 executor 에서 실행하고, 서로의 결과에 의존하지 않는 호출은 동시에 실행합니다.
+ *
+ * <ul>
+ *   <li>charge: 잔액을 조회한 뒤 이력 저장과 잔액 저장을 동시에 실행합니다.
+ *   <li>use: 잔액을 조회해 검사한 뒤 이력 저장과 잔액 저장을 동시에 실행합니다.
+ * </ul>
+ *
+ * 이력 저장은 잔액 조회가 성공한 뒤에 시작하므로, 조회가 실패한 요청은 이력을 남기지 않습니다. 이력 저장이 실패하면 락을 쥔 채로
+ * 잔액을 되돌립니다.
+ *
+ * 유저 락은 동기 서비스와 같은 {@link UserLockStrategy} 를 사용하므로 두 경로의 요청이 섞여도 유저 단위로 직렬화됩니다. 서비스 처리 시간과
+ * 락 대기/점유 시간, hot key 도 동기 서비스와 같은 지표에 기록합니다. 테이블을 직접
+ * 고치므로, 잔액을 메모리에 두는 CAS 서비스가 요청을 처리할 때(point.service.engine=cas)는 등록하지 않습니다.
+ */
+@Service
+@ConditionalOnProperty(name = "point.service.engine", havingValue = "lock", matchIfMissing = true)
+public class AsyncPointServiceImpl implements AsyncPointService {
+  private static final int DEFAULT_STRIPES = 1024;
+
+  private final PointServiceImpl pointService;
+  private final MeteredUserLocks userLocks;
+  private final PointMetrics pointMetrics;
+  private final Executor executor;
+
+  public AsyncPointServiceImpl(
+      UserPointTable userPointTable, PointHistoryTable pointHistoryTable, Executor executor) {
+    this(
+        new PointServiceImpl(userPointTable, pointHistoryTable),
+        new StripedUserLockStrategy(DEFAULT_STRIPES, true, 0),
+        executor,
+        PointMetrics.noop());
+  }
+
+  @Autowired
+  public AsyncPointServiceImpl(
+      @Qualifier("pointServiceImpl") PointServiceImpl pointService,
+      UserLockStrategy lockStrategy,
+      @Qualifier("pointTaskExecutor") Executor executor,
+      PointMetrics pointMetrics) {
+    this.pointService = pointService;
+    this.userLocks = new MeteredUserLocks(lockStrategy, pointMetrics);
+    this.pointMetrics = pointMetrics;
+    this.executor = executor;
+  }
+
+  @Override
+  public CompletableFuture<UserPoint> getUserPoint(long id) {
+    return supply(() -> pointService.getUserPoint(id));
+  }
+
+  @Override
+  public CompletableFuture<List<PointHistory>> getPointHistories(long id) {
+    return supply(() -> pointService.getPointHistories(id));
+  }
+
+  @Override
+  public CompletableFuture<UserPoint> charge(long id, long amount) {
+    return supply(
+        ServiceOperation.CHARGE,
+        () -> {
+          pointService.validateUserPointAmount(amount);
+
+          return userLocks.call(
+              LockOperation.CHARGE,
+              id,
+              () -> {
+                UserPoint currentUserPoint = pointService.readUserPoint(id);
+                return writeWithHistory(
+                    currentUserPoint,
+                    amount,
+                    TransactionType.CHARGE,
+                    currentUserPoint.point() + amount);
+              });
+        });
+  }
+
+  @Override
+  public CompletableFuture<UserPoint> use(long id, long amount) {
+    return supply(
+        ServiceOperation.USE,
+        () -> {
+          pointService.validateUserPointAmount(amount);
+
+          return userLocks.call(
+              LockOperation.USE,
+              id,
+              () -> {
+                UserPoint currentUserPoint = pointService.readUserPoint(id);
+                if (currentUserPoint.point() < amount) {
+                  throw new InsufficientPointsException();
+                }
+
+                return writeWithHistory(
+                    currentUserPoint,
+                    amount,
+                    TransactionType.USE,
+                    currentUserPoint.point() - amount);
+              });
+        });
+  }
+
+  /** 유저 락을 쥔 채로 호출합니다. 이력 저장과 잔액 저장을 동시에 실행하고, 둘 다 끝난 뒤에 반환합니다. */
+  private UserPoint writeWithHistory(
+      UserPoint currentUserPoint, long amount, TransactionType type, long point) {
+    long id = currentUserPoint.id();
+    ForkedTask history = fork(() -> pointService.recordHistory(id, amount, type));
+    UserPoint userPoint;
+    try {
+      userPoint = pointService.writeUserPoint(id, point);
+    } catch (RuntimeException e) {
+      // 락을 풀기 전에 이력 저장도 끝나게 합니다.
+      try {
+        history.join();
+      } catch (RuntimeException suppressed) {
+        e.addSuppressed(suppressed);
+      }
+      throw e;
+    }
+
+    try {
+      history.join();
+    } catch (RuntimeException e) {
+      // 이력 저장이 실패하면 잔액을 되돌려, 이력 없이 바뀐 잔액이 남지 않게 합니다.
+      pointService.writeUserPoint(id, currentUserPoint.point());
+      throw e;
+    }
+    return userPoint;
+  }
+
+  // 처리 시간은 요청을 받은 때부터 결과가 정해질 때까지입니다. executor 에서 기다린 시간도 포함합니다.
+  private <T> CompletableFuture<T> supply(ServiceOperation operation, Supplier<T> supplier) {
+    long start = System.nanoTime();
+    return supply(
+        () -> {
+          try {
+            return supplier.get();
+          } finally {
+            pointMetrics.recordService(operation, start);
+          }
+        });
+  }
+
+  private <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    executor.execute(
+        () -> {
+          try {
+            future.complete(supplier.get());
+          } catch (Throwable e) {
+            future.completeExceptionally(e);
+          }
+        });
+    return future;
+  }
+
+  private ForkedTask fork(Runnable runnable) {
+    ForkedTask task = new ForkedTask(runnable);
+    executor.execute(task::runIfNotStarted);
+    return task;
+  }
+
+  /**
+   * 락을 쥔 작업이 함께 실행할 작업입니다. join 할 때까지 executor 에서 시작되지 않았다면 기다리지 않고 호출한 쓰레드에서 직접 실행하므로,
+   * executor 의 쓰레드가 모두 락을 기다리는 중이어도 교착되지 않습니다.
+   */
+  private static class ForkedTask {
+    private final Runnable runnable;
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    private ForkedTask(Runnable runnable) {
+      this.runnable = runnable;
+    }
+
+    private void runIfNotStarted() {
+      if (!started.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        runnable.run();
+        done.complete(null);
+      } catch (Throwable e) {
+        done.completeExceptionally(e);
+      }
+    }
+
+    private void join() {
+      runIfNotStarted();
+      try {
+        done.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+          throw cause;
+        }
+        throw e;
+      }
+    }
+  }
+}
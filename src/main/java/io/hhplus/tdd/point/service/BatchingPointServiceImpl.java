@@ -0,0 +1,190 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.cache.UserPointCache;
+import io.hhplus.tdd.point.exceptions.InsufficientPointsException;
+import io.hhplus.tdd.point.history.DirectPointHistoryRecorder;
+import io.hhplus.tdd.point.history.PointHistoryRecorder;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.metrics.PointMetrics.ServiceOperation;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * 같은 유저의 charge/use 요청을 유저별 큐에 모으고, 한 쓰레드(drainer)가 한 번의 조회와 한 번의 잔액 저장으로 묶어서 처리합니다.
+ * 각 요청자는 자신의 요청에 대한 결과(또는 예외)를 그대로 돌려받습니다.
+ *
+ * <p>요청을 큐에 넣는 일과 빈 큐를 맵에서 지우는 일은 모두 같은 키에 대한 {@link ConcurrentHashMap#compute} 안에서 하므로, 지워진 큐에 요청이
+ * 들어가 한 유저의 큐가 둘이 되는 일은 없습니다.
+ */
+@Service
+public class BatchingPointServiceImpl extends PointServiceImpl {
+  static final int MAX_BATCH_SIZE = 128;
+
+  private final ConcurrentHashMap<Long, UserQueue> queues = new ConcurrentHashMap<>();
+
+  public BatchingPointServiceImpl(
+      UserPointTable userPointTable, PointHistoryTable pointHistoryTable) {
+    this(
+        userPointTable,
+        pointHistoryTable,
+        UserPointCache.disabled(),
+        new DirectPointHistoryRecorder(pointHistoryTable),
+        PointMetrics.noop());
+  }
+
+  @Autowired
+  public BatchingPointServiceImpl(
+      UserPointTable userPointTable,
+      PointHistoryTable pointHistoryTable,
+      UserPointCache userPointCache,
+      PointHistoryRecorder pointHistoryRecorder,
+      PointMetrics pointMetrics) {
+    super(userPointTable, pointHistoryTable, userPointCache, pointHistoryRecorder, pointMetrics);
+  }
+
+  @Override
+  public UserPoint charge(long id, long amount) throws IllegalArgumentException {
+    long start = System.nanoTime();
+    try {
+      return submit(id, TransactionType.CHARGE, amount);
+    } finally {
+      pointMetrics.recordService(ServiceOperation.CHARGE, start);
+    }
+  }
+
+  @Override
+  public UserPoint use(long id, long amount)
+      throws IllegalArgumentException, InsufficientPointsException {
+    long start = System.nanoTime();
+    try {
+      return submit(id, TransactionType.USE, amount);
+    } finally {
+      pointMetrics.recordService(ServiceOperation.USE, start);
+    }
+  }
+
+  private UserPoint submit(long id, TransactionType type, long amount) {
+    validateUserPointAmount(amount);
+
+    PendingOperation operation = new PendingOperation(type, amount);
+    UserQueue queue =
+        queues.compute(
+            id,
+            (key, current) -> {
+              UserQueue retained = current == null ? new UserQueue() : current;
+              retained.pending.add(operation);
+              return retained;
+            });
+
+    // 먼저 draining 플래그를 잡은 쓰레드가 큐가 빌 때까지 배치를 처리하고, 나머지는 자기 결과만 기다립니다.
+    boolean drained = false;
+    while (!queue.pending.isEmpty() && queue.draining.compareAndSet(false, true)) {
+      try {
+        drain(id, queue);
+      } finally {
+        queue.draining.set(false);
+      }
+      drained = true;
+    }
+    // 큐를 비운 쓰레드가 그 사이 들어온 요청도, 이어받은 drainer 도 없으면 큐를 지웁니다.
+    if (drained) {
+      queues.computeIfPresent(
+          id,
+          (key, current) ->
+              current.pending.isEmpty() && !current.draining.get() ? null : current);
+    }
+
+    try {
+      return operation.result.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  /** 처리할 요청이 남아 있어 큐를 가진 유저 수 */
+  public int queuedUsers() {
+    return queues.size();
+  }
+
+  private void drain(long id, UserQueue queue) {
+    List<PendingOperation> batch = new ArrayList<>();
+    PendingOperation next;
+    while (batch.size() < MAX_BATCH_SIZE && (next = queue.pending.poll()) != null) {
+      batch.add(next);
+    }
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    try {
+      applyBatch(id, batch);
+    } catch (Throwable e) {
+      // Error 로 끝나도 기다리는 요청자가 남지 않게 합니다. 이미 결과를 받은 요청은 그대로입니다.
+      batch.forEach(operation -> operation.result.completeExceptionally(e));
+    }
+  }
+
+  private void applyBatch(long id, List<PendingOperation> batch) {
+    long balance = readUserPoint(id).point();
+
+    List<PendingOperation> applied = new ArrayList<>(batch.size());
+    for (PendingOperation operation : batch) {
+      if (operation.type == TransactionType.USE && balance < operation.amount) {
+        operation.result.completeExceptionally(new InsufficientPointsException());
+        continue;
+      }
+
+      recordHistory(id, operation.amount, operation.type);
+      balance =
+          operation.type == TransactionType.CHARGE
+              ? balance + operation.amount
+              : balance - operation.amount;
+      operation.balance = balance;
+      applied.add(operation);
+    }
+
+    if (applied.isEmpty()) {
+      return;
+    }
+
+    UserPoint saved = writeUserPoint(id, balance);
+    for (PendingOperation operation : applied) {
+      operation.result.complete(new UserPoint(id, operation.balance, saved.updateMillis()));
+    }
+  }
+
+  private static class UserQueue {
+    private final Queue<PendingOperation> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+  }
+
+  private static class PendingOperation {
+    private final TransactionType type;
+    private final long amount;
+    private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+    private long balance;
+
+    private PendingOperation(TransactionType type, long amount) {
+      this.type = type;
+      this.amount = amount;
+    }
+  }
+}
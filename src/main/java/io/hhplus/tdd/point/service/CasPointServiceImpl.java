@@ -0,0 +1,665 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.cache.UserPointCache;
+import io.hhplus.tdd.point.cas.CasProperties;
+import io.hhplus.tdd.point.exceptions.HistoryQueueFullException;
+import io.hhplus.tdd.point.exceptions.InsufficientPointsException;
+import io.hhplus.tdd.point.history.DirectPointHistoryRecorder;
+import io.hhplus.tdd.point.history.HistoryWriteBehindProperties.OverflowPolicy;
+import io.hhplus.tdd.point.history.PointHistoryRecorder;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.metrics.PointMetrics.ServiceOperation;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import jakarta.annotation.PreDestroy;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * 유저별 잔액을 메모리의 AtomicLong 으로 관리하고 compare-and-set 재시도로 charge/use 를 적용합니다. 락 없이 잔액을 바꾸고, 테이블 반영은 유저별로
+ * 순서가 보장되는 write-behind 레인에서 처리합니다.
+ *
+ * <p>레인마다 기다릴 수 있는 작업 수는 laneCapacity 로 정해져 있고, 잔액을 바꾸기 전에 자리를 먼저 잡습니다. 자리가 없으면 overflowPolicy 에
+ * 따라 기다리거나 잔액을 바꾸지 않은 채 {@link HistoryQueueFullException} 을 던집니다. 테이블 반영이 실패하면 몇 번 다시 시도하고, 그래도
+ * 실패하면 {@link #failedCount()} 에 셉니다.
+ *
+ * <p>charge/use 가 없고 반영할 작업도 남지 않은 채 idleTimeout 이 지난 잔액은 메모리에서 내립니다. 이후 요청은 테이블에서 다시 읽습니다.
+ *
+ * <p>point.service.engine=cas 일 때만 등록되며, 이때 /point 요청을 처리하는 서비스(servingPointService)가 됩니다. 잔액의 기준은
+ * 메모리이므로 테이블을 직접 고치는 경로가 있으면 안 됩니다.
+ *
+ * <p>요청이 몰리는 유저는 {@link #enableSharding(long, int)} 이나 point.cas.sharded-users 로 잔액을 여러 셀에 나눠 담을 수 있습니다. 자세한
+ * 동작은 {@link Balance} 를 참고하세요.
+ */
+@Service("servingPointService")
+@ConditionalOnProperty(name = "point.service.engine", havingValue = "cas")
+public class CasPointServiceImpl extends PointServiceImpl {
+  private static final Logger log = LoggerFactory.getLogger(CasPointServiceImpl.class);
+  private static final int MAX_ATTEMPTS = 3;
+  private static final long RETRY_BACKOFF_MILLIS = 10;
+
+  private final ConcurrentHashMap<Long, Balance> balances = new ConcurrentHashMap<>();
+  private final Lane[] writerLanes;
+  private final OverflowPolicy overflowPolicy;
+  private final long idleTimeoutMillis;
+  private final int shardCells;
+  private final Set<Long> shardedUsers;
+  private final ScheduledExecutorService evictor;
+  // 잔액을 내릴 때마다 올립니다. 테이블에서 읽는 동안 바뀌었으면 읽은 값을 등록하지 않습니다.
+  private final AtomicLong evictionEpoch = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+
+  @Autowired
+  public CasPointServiceImpl(
+      UserPointTable userPointTable,
+      PointHistoryTable pointHistoryTable,
+      UserPointCache userPointCache,
+      PointHistoryRecorder pointHistoryRecorder,
+      PointMetrics pointMetrics,
+      CasProperties casProperties) {
+    super(userPointTable, pointHistoryTable, userPointCache, pointHistoryRecorder, pointMetrics);
+    this.writerLanes = new Lane[casProperties.writerLanes()];
+    for (int i = 0; i < writerLanes.length; i++) {
+      writerLanes[i] = new Lane("point-write-behind-" + i, casProperties.laneCapacity());
+    }
+    this.overflowPolicy = casProperties.overflowPolicy();
+    this.idleTimeoutMillis = casProperties.idleTimeout().toMillis();
+    this.shardCells =
+        casProperties.shardCells() > 0
+            ? casProperties.shardCells()
+            : Runtime.getRuntime().availableProcessors();
+    this.shardedUsers = Set.copyOf(casProperties.shardedUsers());
+
+    this.evictor =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "point-cas-evictor");
+              thread.setDaemon(true);
+              return thread;
+            });
+    if (idleTimeoutMillis > 0) {
+      evictor.scheduleWithFixedDelay(
+          () -> {
+            try {
+              evictIdleBalances();
+            } catch (RuntimeException e) {
+              log.error("failed to evict idle balances", e);
+            }
+          },
+          idleTimeoutMillis,
+          idleTimeoutMillis,
+          TimeUnit.MILLISECONDS);
+    }
+  }
+
+  public CasPointServiceImpl(
+      UserPointTable userPointTable, PointHistoryTable pointHistoryTable, int writerLanes) {
+    this(userPointTable, pointHistoryTable, CasProperties.of(writerLanes));
+  }
+
+  public CasPointServiceImpl(
+      UserPointTable userPointTable,
+      PointHistoryTable pointHistoryTable,
+      CasProperties casProperties) {
+    this(
+        userPointTable,
+        pointHistoryTable,
+        UserPointCache.disabled(),
+        new DirectPointHistoryRecorder(pointHistoryTable),
+        PointMetrics.noop(),
+        casProperties);
+  }
+
+  @Override
+  public UserPoint getUserPoint(long userId) {
+    Balance balance = balances.get(userId);
+    if (balance == null) {
+      return super.getUserPoint(userId);
+    }
+    return new UserPoint(userId, balance.sum(), balance.updateMillis);
+  }
+
+  @Override
+  public UserPoint charge(long id, long amount) throws IllegalArgumentException {
+    long start = System.nanoTime();
+    try {
+      validateUserPointAmount(amount);
+      return apply(id, amount, TransactionType.CHARGE);
+    } finally {
+      pointMetrics.recordService(ServiceOperation.CHARGE, start);
+    }
+  }
+
+  @Override
+  public UserPoint use(long id, long amount)
+      throws IllegalArgumentException, InsufficientPointsException {
+    long start = System.nanoTime();
+    try {
+      validateUserPointAmount(amount);
+      return apply(id, amount, TransactionType.USE);
+    } finally {
+      pointMetrics.recordService(ServiceOperation.USE, start);
+    }
+  }
+
+  /**
+   * 메모리의 잔액이 아직 observed 이면 point 와의 차이만큼 바로잡고, 바로잡은 잔액을 테이블에도 반영합니다. 테이블만 고치면 다음 반영에서 메모리의
+   * 잔액으로 덮어써지기 때문입니다. 그 사이 다른 요청이 적용되었어도 차이만 더하므로 그 요청은 사라지지 않습니다. 이력은 남기지 않습니다.
+   */
+  @Override
+  public UserPoint repairUserPoint(long id, long observed, long point) {
+    Lane lane = writerLanes[laneOf(id)];
+    lane.reserve(overflowPolicy);
+    Balance balance = null;
+    boolean submitted = false;
+    try {
+      balance = retain(id);
+      if (!balance.correct(observed, point)) {
+        return null;
+      }
+      long updateMillis = System.currentTimeMillis();
+      balance.updateMillis = updateMillis;
+      submit(lane, id, balance, null);
+      submitted = true;
+      return new UserPoint(id, balance.sum(), updateMillis);
+    } finally {
+      if (!submitted) {
+        if (balance != null) {
+          balance.release();
+        }
+        lane.slots.release();
+      }
+    }
+  }
+
+  /**
+   * 이 유저의 잔액을 cells 개의 셀에 나눠 담습니다. charge 는 쓰레드마다 다른 셀에 더해 서로 경합하지 않고, getUserPoint 는 모든 셀의 합을
+   * 반환합니다. 이미 나눠져 있으면 기존 셀을 그대로 사용합니다. 나눠 담은 잔액은 메모리에서 내리지 않으며, 이 서비스만 잔액을 바꾸므로 테이블과
+   * 어긋나지 않습니다.
+   */
+  public void enableSharding(long userId, int cells) {
+    if (cells <= 0) {
+      throw new IllegalArgumentException("cells should be positive");
+    }
+    Balance balance = retain(userId);
+    try {
+      balance.enableSharding(cells);
+    } finally {
+      balance.release();
+    }
+  }
+
+  public void enableSharding(long userId) {
+    enableSharding(userId, shardCells);
+  }
+
+  /** 새 charge/use 를 다시 한 곳(base)에 적용합니다. 셀에 남은 잔액은 사라지지 않고 이후 use 가 가져다 씁니다. */
+  public void disableSharding(long userId) {
+    Balance balance = balances.get(userId);
+    if (balance != null) {
+      balance.sharded = false;
+    }
+  }
+
+  public boolean isSharded(long userId) {
+    Balance balance = balances.get(userId);
+    return balance != null && balance.sharded;
+  }
+
+  /** 메모리에 올라와 있는 잔액 수 */
+  public int liveBalances() {
+    return balances.size();
+  }
+
+  /** 레인에서 반영을 기다리는 작업 수 */
+  public int queueDepth() {
+    int depth = 0;
+    for (Lane lane : writerLanes) {
+      depth += lane.executor.getQueue().size();
+    }
+    return depth;
+  }
+
+  /** 다시 시도해도 테이블에 반영하지 못한 이력 기록과 잔액 저장 수 */
+  public long failedCount() {
+    return failed.get();
+  }
+
+  /**
+   * idleTimeout 동안 쓰이지 않았고 반영할 작업이 남지 않은 잔액을 내립니다. 나눠 담은 잔액과 마지막 저장이 실패한 잔액은 남겨 둡니다.
+   *
+   * @return 내린 잔액 수
+   */
+  public int evictIdleBalances() {
+    long now = System.currentTimeMillis();
+    int[] evicted = new int[1];
+    for (Long userId : balances.keySet()) {
+      balances.computeIfPresent(
+          userId,
+          (key, balance) -> {
+            if (!balance.tryRetire(now - idleTimeoutMillis)) {
+              return balance;
+            }
+            evictionEpoch.incrementAndGet();
+            evicted[0]++;
+            return null;
+          });
+    }
+    return evicted[0];
+  }
+
+  /** 지금까지 접수된 write-behind 작업이 모두 테이블에 반영될 때까지 기다립니다. */
+  public void flush() {
+    Future<?>[] barriers = new Future<?>[writerLanes.length];
+    for (int i = 0; i < writerLanes.length; i++) {
+      Lane lane = writerLanes[i];
+      try {
+        lane.slots.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      barriers[i] = lane.executor.submit(() -> lane.slots.release());
+    }
+    for (Future<?> barrier : barriers) {
+      try {
+        barrier.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    evictor.shutdownNow();
+    for (Lane lane : writerLanes) {
+      lane.executor.shutdown();
+    }
+    for (Lane lane : writerLanes) {
+      lane.executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+
+  private UserPoint apply(long id, long amount, TransactionType type) {
+    // 잔액을 바꾼 뒤에는 되돌릴 수 없으므로 레인의 자리를 먼저 잡습니다.
+    Lane lane = writerLanes[laneOf(id)];
+    lane.reserve(overflowPolicy);
+    Balance balance = null;
+    boolean submitted = false;
+    try {
+      balance = retain(id);
+      long next = type == TransactionType.CHARGE ? balance.add(amount) : balance.subtract(amount);
+      UserPoint userPoint = writeBehind(lane, id, balance, amount, type, next);
+      submitted = true;
+      return userPoint;
+    } finally {
+      if (!submitted) {
+        if (balance != null) {
+          balance.release();
+        }
+        lane.slots.release();
+      }
+    }
+  }
+
+  /** 내려가는 중이 아닌 잔액을 찾아 사용 중으로 표시합니다. 없으면 테이블에서 읽어 등록합니다. */
+  private Balance retain(long id) {
+    while (true) {
+      Balance balance = balances.get(id);
+      if (balance == null) {
+        // 테이블 조회는 느리므로 computeIfAbsent 밖에서 하고, 먼저 등록된 값을 사용합니다.
+        long epoch = evictionEpoch.get();
+        UserPoint stored = readUserPoint(id);
+        balance =
+            balances.computeIfAbsent(
+                id, key -> evictionEpoch.get() == epoch ? newBalance(stored) : null);
+      }
+      if (balance != null && balance.retain()) {
+        return balance;
+      }
+      // 그 사이 내려간 잔액이면 테이블에서 다시 읽습니다.
+    }
+  }
+
+  private Balance newBalance(UserPoint stored) {
+    Balance balance = new Balance(stored.point(), stored.updateMillis());
+    if (shardedUsers.contains(stored.id())) {
+      balance.enableSharding(shardCells);
+    }
+    return balance;
+  }
+
+  private UserPoint writeBehind(
+      Lane lane, long id, Balance balance, long amount, TransactionType type, long pointAfter) {
+    long updateMillis = System.currentTimeMillis();
+    balance.updateMillis = updateMillis;
+    submit(
+        lane, id, balance, () -> pointHistoryRecorder.record(id, amount, type, updateMillis));
+    return new UserPoint(id, pointAfter, updateMillis);
+  }
+
+  /** 이력이 있으면 먼저 기록하고 잔액을 저장합니다. 끝나면 잔액과 레인의 자리를 돌려줍니다. */
+  private void submit(Lane lane, long id, Balance balance, Runnable history) {
+    // 같은 유저는 항상 같은 레인에서 처리되므로 테이블에는 접수 순서대로 반영됩니다.
+    // 잔액은 작업 시점의 최신 값을 쓰기 때문에, 마지막 작업이 끝나면 테이블과 메모리의 잔액이 같아집니다.
+    lane.executor.execute(
+        () -> {
+          try {
+            if (history != null) {
+              writeWithRetry(id, "history", history);
+            }
+            balance.dirty = !writeWithRetry(id, "balance", () -> writeUserPoint(id, balance.sum()));
+          } finally {
+            balance.release();
+            lane.slots.release();
+          }
+        });
+  }
+
+  private boolean writeWithRetry(long id, String target, Runnable write) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        write.run();
+        return true;
+      } catch (RuntimeException e) {
+        if (attempt >= MAX_ATTEMPTS) {
+          failed.incrementAndGet();
+          log.error("write-behind {} failed for user {} after {} attempts", target, id, attempt, e);
+          return false;
+        }
+        log.warn("retrying write-behind {} for user {} after attempt {}", target, id, attempt, e);
+        sleepQuietly(RETRY_BACKOFF_MILLIS * attempt);
+      }
+    }
+  }
+
+  private int laneOf(long id) {
+    return (int) Math.floorMod(id ^ (id >>> 32), (long) writerLanes.length);
+  }
+
+  private static void sleepQuietly(long millis) {
+    try {
+      TimeUnit.MILLISECONDS.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * 한 쓰레드가 순서대로 처리하는 레인. 큐에 넣기 전에 slots 에서 자리를 잡고 작업이 끝나면 돌려주므로, 처리 중인 작업을 포함해 capacity 개를
+   * 넘지 않고 큐가 넘쳐 거절되는 일이 없습니다.
+   */
+  private static final class Lane {
+    private final ThreadPoolExecutor executor;
+    private final Semaphore slots;
+
+    private Lane(String name, int capacity) {
+      this.executor =
+          new ThreadPoolExecutor(
+              1,
+              1,
+              0,
+              TimeUnit.MILLISECONDS,
+              new ArrayBlockingQueue<>(capacity),
+              runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+              });
+      this.slots = new Semaphore(capacity);
+    }
+
+    private void reserve(OverflowPolicy overflowPolicy) {
+      if (overflowPolicy == OverflowPolicy.REJECT) {
+        if (!slots.tryAcquire()) {
+          throw new HistoryQueueFullException();
+        }
+        return;
+      }
+      try {
+        slots.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new HistoryQueueFullException();
+      }
+    }
+  }
+
+  /**
+   * LongAdder 처럼 base 와 셀 배열에 나눠 담고, 잔액은 base 와 모든 셀의 합입니다. 각 칸은 compare-and-set 으로만 바꾸며 0 아래로 내려가지 않으므로
+   * 합도 음수가 되지 않습니다.
+   *
+   * <ul>
+   *   <li>charge: 샤딩 중이면 쓰레드에 정해진 셀에, 아니면 base 에 더합니다.
+   *   <li>use: 같은 칸에서 amount 만큼 뺄 수 있으면 바로 뺍니다. 모자라면 reserve 에서 다른 칸들의 잔액을 모아 차감합니다.
+   * </ul>
+   *
+   * 셀 배열은 한 번 만들면 버리지 않으므로, 샤딩을 켜고 끄는 중에 진행 중인 요청이 있어도 금액이 사라지지 않습니다.
+   */
+  private static class Balance {
+    // 셀끼리 같은 캐시 라인을 나눠 쓰지 않도록 8칸(64 byte)마다 하나씩 사용합니다.
+    private static final int CELL_STRIDE = 8;
+
+    private final AtomicLong base;
+    private volatile AtomicLongArray cells;
+    private volatile boolean sharded;
+    private volatile long updateMillis;
+    // 진행 중인 charge/use 와 반영을 기다리는 작업 수. 내려간 잔액은 -1 입니다.
+    private final AtomicInteger references = new AtomicInteger();
+    // 마지막 잔액 저장이 실패해 테이블이 메모리보다 뒤처져 있는지
+    private volatile boolean dirty;
+
+    private Balance(long point, long updateMillis) {
+      this.base = new AtomicLong(point);
+      this.updateMillis = updateMillis;
+    }
+
+    private boolean retain() {
+      int current;
+      do {
+        current = references.get();
+        if (current < 0) {
+          return false;
+        }
+      } while (!references.compareAndSet(current, current + 1));
+      return true;
+    }
+
+    private void release() {
+      references.decrementAndGet();
+    }
+
+    /** 쓰는 곳이 없고 idleSince 이후로 바뀌지 않았으면 내려간 것으로 표시합니다. 이후 retain 은 실패합니다. */
+    private boolean tryRetire(long idleSince) {
+      if (sharded || dirty || updateMillis > idleSince) {
+        return false;
+      }
+      return references.compareAndSet(0, -1);
+    }
+
+    /** 합계가 observed 이면 point 와의 차이를 더하거나 뺍니다. reserve 와 같은 모니터를 잡으므로 모자란 차감끼리 섞이지 않습니다. */
+    private synchronized boolean correct(long observed, long point) {
+      if (sum() != observed) {
+        return false;
+      }
+      if (point >= observed) {
+        base.addAndGet(point - observed);
+        return true;
+      }
+      // 그 사이 use 가 잔액을 가져가 뺄 수 없으면 바로잡지 않습니다.
+      long shortfall = observed - point;
+      if (cells == null) {
+        long current;
+        do {
+          current = base.get();
+          if (current < shortfall) {
+            return false;
+          }
+        } while (!base.compareAndSet(current, current - shortfall));
+        return true;
+      }
+      try {
+        reserve(shortfall);
+        return true;
+      } catch (InsufficientPointsException e) {
+        return false;
+      }
+    }
+
+    private synchronized void enableSharding(int cellCount) {
+      if (cells == null) {
+        cells = new AtomicLongArray(cellCount * CELL_STRIDE);
+      }
+      sharded = true;
+    }
+
+    /** 여러 칸을 차례로 읽으므로 다른 요청과 동시에 호출하면 그 사이의 값일 수 있습니다. */
+    private long sum() {
+      long sum = base.get();
+      AtomicLongArray snapshot = cells;
+      if (snapshot != null) {
+        for (int i = 0; i < snapshot.length(); i += CELL_STRIDE) {
+          sum += snapshot.get(i);
+        }
+      }
+      return sum;
+    }
+
+    /** @return 샤딩 중이 아니면 적용 직후 잔액, 샤딩 중이면 적용 직후 합계 */
+    private long add(long amount) {
+      AtomicLongArray snapshot = cells;
+      if (!sharded || snapshot == null) {
+        long current;
+        long next;
+        do {
+          current = base.get();
+          next = Math.addExact(current, amount);
+        } while (!base.compareAndSet(current, next));
+        return snapshot == null ? next : sum();
+      }
+
+      int cell = cellOf(snapshot);
+      long current;
+      do {
+        current = snapshot.get(cell);
+      } while (!snapshot.compareAndSet(cell, current, Math.addExact(current, amount)));
+      return sum();
+    }
+
+    private long subtract(long amount) {
+      AtomicLongArray snapshot = cells;
+      if (sharded && snapshot != null) {
+        if (tryTake(snapshot, cellOf(snapshot), amount)) {
+          return sum();
+        }
+        return reserve(amount);
+      }
+
+      long current;
+      long next;
+      do {
+        current = base.get();
+        if (current < amount) {
+          if (snapshot == null) {
+            throw new InsufficientPointsException();
+          }
+          // 샤딩을 끈 뒤에도 셀에 잔액이 남아 있을 수 있습니다.
+          return reserve(amount);
+        }
+        next = current - amount;
+      } while (!base.compareAndSet(current, next));
+      return snapshot == null ? next : sum();
+    }
+
+    /**
+     * base 와 모든 셀에서 남은 금액을 조금씩 가져와 amount 를 모읍니다. 다 모으지 못하면 가져온 금액을 base 에 돌려놓고 예외를 던집니다.
+     *
+     * <p>reserve 끼리는 동기화해서, 두 요청이 서로 절반씩 가져가 둘 다 실패하는 일이 없게 합니다. 한 칸에서 바로 빼는 요청과 charge 는 기다리지
+     * 않습니다.
+     */
+    private synchronized long reserve(long amount) {
+      AtomicLongArray snapshot = cells;
+      long reserved = 0;
+      boolean progressed = true;
+      while (reserved < amount && progressed) {
+        progressed = false;
+        long taken = takeUpTo(base, amount - reserved);
+        for (int i = 0; i < snapshot.length() && reserved + taken < amount; i += CELL_STRIDE) {
+          taken += takeUpTo(snapshot, i, amount - reserved - taken);
+        }
+        reserved += taken;
+        progressed = taken > 0;
+      }
+
+      if (reserved < amount) {
+        base.addAndGet(reserved);
+        throw new InsufficientPointsException();
+      }
+      return sum();
+    }
+
+    private static boolean tryTake(AtomicLongArray array, int index, long amount) {
+      long current;
+      do {
+        current = array.get(index);
+        if (current < amount) {
+          return false;
+        }
+      } while (!array.compareAndSet(index, current, current - amount));
+      return true;
+    }
+
+    private static long takeUpTo(AtomicLong counter, long limit) {
+      long current;
+      long taken;
+      do {
+        current = counter.get();
+        taken = Math.min(current, limit);
+        if (taken <= 0) {
+          return 0;
+        }
+      } while (!counter.compareAndSet(current, current - taken));
+      return taken;
+    }
+
+    private static long takeUpTo(AtomicLongArray array, int index, long limit) {
+      long current;
+      long taken;
+      do {
+        current = array.get(index);
+        taken = Math.min(current, limit);
+        if (taken <= 0) {
+          return 0;
+        }
+      } while (!array.compareAndSet(index, current, current - taken));
+      return taken;
+    }
+
+    private static int cellOf(AtomicLongArray snapshot) {
+      int cellCount = snapshot.length() / CELL_STRIDE;
+      long threadId = Thread.currentThread().threadId();
+      return (int) Math.floorMod(threadId * 0x9E3779B97F4A7C15L, (long) cellCount) * CELL_STRIDE;
+    }
+  }
+}
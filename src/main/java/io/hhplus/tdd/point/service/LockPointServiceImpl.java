@@ -2,63 +2,145 @@ package io.hhplus.tdd.point.service;
 
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.cache.UserPointCache;
 import io.hhplus.tdd.point.exceptions.InsufficientPointsException;
+import io.hhplus.tdd.point.exceptions.LockAcquisitionTimeoutException;
+import io.hhplus.tdd.point.history.DirectPointHistoryRecorder;
+import io.hhplus.tdd.point.history.PointHistoryRecorder;
+import io.hhplus.tdd.point.lock.StripedUserLockStrategy;
+import io.hhplus.tdd.point.lock.UserLockStrategy;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.metrics.PointMetrics.LockOperation;
+import io.hhplus.tdd.point.metrics.PointMetrics.ServiceOperation;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.PointOperationResult;
 import io.hhplus.tdd.point.model.UserPoint;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
-@Service
+/** 기본 서비스입니다. point.service.engine 이 lock 이거나 없으면 /point 요청을 처리하는 서비스(servingPointService)로 등록됩니다. */
+@Service("servingPointService")
+@ConditionalOnProperty(name = "point.service.engine", havingValue = "lock", matchIfMissing = true)
 public class LockPointServiceImpl extends PointServiceImpl {
-  private final ConcurrentHashMap<Long, Lock> lockMap = new ConcurrentHashMap<>();
+  private static final int DEFAULT_STRIPES = 1024;
+
+  private final MeteredUserLocks userLocks;
+  private final ForkJoinPool batchPool;
 
-  @Autowired
   public LockPointServiceImpl(UserPointTable userPointTable, PointHistoryTable pointHistoryTable) {
-    super(userPointTable, pointHistoryTable);
+    this(userPointTable, pointHistoryTable, new StripedUserLockStrategy(DEFAULT_STRIPES, true, 0));
   }
 
-  public UserPoint charge(long id, long amount, int countForTest) throws IllegalArgumentException {
-    Lock lock = lockMap.computeIfAbsent(id, key -> new ReentrantLock(true));
+  public LockPointServiceImpl(
+      UserPointTable userPointTable,
+      PointHistoryTable pointHistoryTable,
+      UserLockStrategy lockStrategy) {
+    this(
+        userPointTable,
+        pointHistoryTable,
+        lockStrategy,
+        UserPointCache.disabled(),
+        new DirectPointHistoryRecorder(pointHistoryTable),
+        ForkJoinPool.commonPool(),
+        PointMetrics.noop());
+  }
 
-    System.out.println("in charge, number " + countForTest + ", try to acquire lock");
-    lock.lock();
-    try {
-      System.out.println("in charge, number " + countForTest + ", acquire lock!");
-      return super.charge(id, amount);
-    } finally {
-      lock.unlock();
-    }
+  @Autowired
+  public LockPointServiceImpl(
+      UserPointTable userPointTable,
+      PointHistoryTable pointHistoryTable,
+      UserLockStrategy lockStrategy,
+      UserPointCache userPointCache,
+      PointHistoryRecorder pointHistoryRecorder,
+      @Qualifier("pointBatchPool") ForkJoinPool batchPool,
+      PointMetrics pointMetrics) {
+    super(userPointTable, pointHistoryTable, userPointCache, pointHistoryRecorder, pointMetrics);
+    this.userLocks = new MeteredUserLocks(lockStrategy, pointMetrics);
+    this.batchPool = batchPool;
+  }
 
-    //    try {
-    //      boolean acquired = lock.tryLock(5, TimeUnit.SECONDS);
-    //      if (!acquired) {
-    //        System.out.println("count: " + countForTest + " cannot acquire lock");
-    //      }
-    //    } catch (Exception e) {
-    //      e.printStackTrace();
-    //    }
-    //
-    //    try {
-    //      return super.charge(id, amount);
-    //    } finally {
-    //      System.out.println("count: " + countForTest + " unlock");
-    //      lock.unlock();
-    //    }
+  @Override
+  public UserPoint charge(long id, long amount) throws IllegalArgumentException {
+    return userLocks.call(LockOperation.CHARGE, id, () -> super.charge(id, amount));
   }
 
-  public UserPoint use(long id, long amount, int countForTest)
+  @Override
+  public UserPoint use(long id, long amount)
       throws IllegalArgumentException, InsufficientPointsException {
-    Lock lock = lockMap.computeIfAbsent(id, k -> new ReentrantLock(true));
+    return userLocks.call(LockOperation.USE, id, () -> super.use(id, amount));
+  }
+
+  /** charge/use 와 같은 유저 락 안에서 확인하고 고치므로, 진행 중인 요청의 잔액을 덮어쓰지 않습니다. */
+  @Override
+  public UserPoint repairUserPoint(long id, long observed, long point) {
+    return userLocks.call(
+        LockOperation.REPAIR, id, () -> super.repairUserPoint(id, observed, point));
+  }
+
+  /**
+   * 항목을 유저별로 묶고, 각 묶음을 batchPool 에서 락을 한 번만 잡은 채 요청 순서대로 처리합니다. 서로 다른 유저의 묶음은 동시에 처리되며, 결과는
+   * 요청과 같은 순서로 반환합니다.
+   */
+  @Override
+  public List<PointOperationResult> applyOperations(List<PointOperation> operations) {
+    long start = System.nanoTime();
+    Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+    for (int i = 0; i < operations.size(); i++) {
+      indexesByUser.computeIfAbsent(operations.get(i).userId(), key -> new ArrayList<>()).add(i);
+    }
+
+    PointOperationResult[] results = new PointOperationResult[operations.size()];
+    List<ForkJoinTask<?>> tasks = new ArrayList<>(indexesByUser.size());
+    indexesByUser.forEach(
+        (userId, indexes) ->
+            tasks.add(batchPool.submit(() -> applyGroup(userId, indexes, operations, results))));
+    tasks.forEach(ForkJoinTask::join);
+
+    pointMetrics.recordService(ServiceOperation.APPLY_OPERATIONS, start);
+    return Arrays.asList(results);
+  }
+
+  private void applyGroup(
+      long userId,
+      List<Integer> indexes,
+      List<PointOperation> operations,
+      PointOperationResult[] results) {
+    try {
+      userLocks.run(
+          LockOperation.BATCH,
+          userId,
+          () -> {
+            for (int index : indexes) {
+              results[index] = applyUnlocked(operations.get(index));
+            }
+          });
+    } catch (LockAcquisitionTimeoutException e) {
+      for (int index : indexes) {
+        results[index] = PointOperationResult.failure(operations.get(index), e);
+      }
+    }
+  }
 
-    System.out.println("in use, number " + countForTest + ", try to acquire lock");
-    lock.lock();
+  // 이미 락을 쥐고 있으므로 락을 다시 잡지 않는 상위 클래스의 charge/use 를 호출합니다.
+  private PointOperationResult applyUnlocked(PointOperation operation) {
     try {
-      System.out.println("in use, number " + countForTest + ", acquire lock!");
-      return super.use(id, amount);
-    } finally {
-      lock.unlock();
+      UserPoint userPoint =
+          switch (operation.type()) {
+            case CHARGE -> super.charge(operation.userId(), operation.amount());
+            case USE -> super.use(operation.userId(), operation.amount());
+          };
+      return PointOperationResult.success(operation, userPoint);
+    } catch (RuntimeException e) {
+      return PointOperationResult.failure(operation, e);
     }
   }
 }
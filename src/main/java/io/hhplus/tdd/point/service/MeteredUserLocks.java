@@ -0,0 +1,49 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.lock.UserLock;
+import io.hhplus.tdd.point.lock.UserLockStrategy;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.metrics.PointMetrics.LockOperation;
+import java.util.function.Supplier;
+
+/**
+ * 유저 락을 잡고 작업을 실행하면서 락 대기/점유 시간과 유저별 락 획득({@link PointMetrics#recordLock})을 기록합니다. 동기 서비스와 비동기
+ * 서비스가 같은 방식으로 기록하도록 함께 씁니다.
+ *
+ * <p>기록은 락을 푼 뒤에 합니다. hot key 집계는 샤드마다 동기화하므로, 락 안에서 기록하면 그 대기가 같은 유저의 다음 요청이 기다리는 시간에
+ * 더해집니다.
+ */
+final class MeteredUserLocks {
+  private final UserLockStrategy lockStrategy;
+  private final PointMetrics pointMetrics;
+
+  MeteredUserLocks(UserLockStrategy lockStrategy, PointMetrics pointMetrics) {
+    this.lockStrategy = lockStrategy;
+    this.pointMetrics = pointMetrics;
+  }
+
+  <T> T call(LockOperation operation, long userId, Supplier<T> action) {
+    long requested = System.nanoTime();
+    UserLock lock = lockStrategy.acquire(userId);
+    long acquired = System.nanoTime();
+    // 락을 쥔 쓰레드만 읽을 수 있으므로 풀기 전에 읽어 둡니다.
+    boolean contended = lock.contended();
+    try {
+      return action.get();
+    } finally {
+      long released = System.nanoTime();
+      lock.close();
+      pointMetrics.recordLock(operation, userId, requested, acquired, released, contended);
+    }
+  }
+
+  void run(LockOperation operation, long userId, Runnable action) {
+    call(
+        operation,
+        userId,
+        () -> {
+          action.run();
+          return null;
+        });
+  }
+}
@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryQuery;
+import java.util.stream.Stream;
+
+/** 유저의 이력을 목록으로 만들지 않고 흘려보냅니다. 유저별 인덱스가 있는 이력 테이블에서만 등록됩니다. */
+public interface PointHistoryExportService {
+  public Stream<PointHistory> streamPointHistories(long id, PointHistoryQuery query);
+}
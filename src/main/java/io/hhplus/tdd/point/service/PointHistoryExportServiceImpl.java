@@ -0,0 +1,35 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.database.PointHistoryIndex;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.metrics.PointMetrics.ServiceOperation;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryQuery;
+import java.util.stream.Stream;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link PointHistoryIndex} 로 유저의 이력을 흘려보냅니다. 인덱스를 구현한 이력 테이블이 주입되는 프로필에서만 등록되므로, 기본 테이블에서는
+ * 이 서비스도 내보내기 경로도 없습니다. 처리 시간은 스트림을 닫을 때 기록합니다.
+ */
+@Service
+@Profile({"indexed-history", "durable-storage"})
+public class PointHistoryExportServiceImpl implements PointHistoryExportService {
+  private final PointHistoryIndex pointHistoryIndex;
+  private final PointMetrics pointMetrics;
+
+  public PointHistoryExportServiceImpl(
+      PointHistoryIndex pointHistoryIndex, PointMetrics pointMetrics) {
+    this.pointHistoryIndex = pointHistoryIndex;
+    this.pointMetrics = pointMetrics;
+  }
+
+  @Override
+  public Stream<PointHistory> streamPointHistories(long userId, PointHistoryQuery query) {
+    long start = System.nanoTime();
+    return pointHistoryIndex
+        .streamByUserId(userId, query)
+        .onClose(() -> pointMetrics.recordService(ServiceOperation.GET_POINT_HISTORIES, start));
+  }
+}
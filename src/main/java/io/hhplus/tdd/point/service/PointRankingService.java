@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.model.PointHistoryQuery;
+import io.hhplus.tdd.point.model.PointTotal;
+import java.util.List;
+
+/** 전체 유저를 대상으로 한 순위입니다. 유저별 합계를 쌓는 이력 테이블에서만 등록됩니다. */
+public interface PointRankingService {
+  public List<PointTotal> getTopUsers(PointHistoryQuery query);
+}
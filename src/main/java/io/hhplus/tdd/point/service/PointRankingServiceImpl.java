@@ -0,0 +1,42 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.database.PointHistoryAggregate;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.metrics.PointMetrics.ServiceOperation;
+import io.hhplus.tdd.point.model.PointHistoryQuery;
+import io.hhplus.tdd.point.model.PointTotal;
+import java.util.List;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link PointHistoryAggregate} 의 유저별 합계로 순위를 구합니다. 합계를 구현한 이력 테이블이 주입되는 프로필에서만 등록되므로, 기본
+ * 테이블에서는 이 서비스도 통계 경로도 없습니다.
+ */
+@Service
+@Profile({"indexed-history", "durable-storage"})
+public class PointRankingServiceImpl implements PointRankingService {
+  private final PointHistoryAggregate pointHistoryAggregate;
+  private final PointMetrics pointMetrics;
+
+  public PointRankingServiceImpl(
+      PointHistoryAggregate pointHistoryAggregate, PointMetrics pointMetrics) {
+    this.pointHistoryAggregate = pointHistoryAggregate;
+    this.pointMetrics = pointMetrics;
+  }
+
+  /** 기간 안에서 query.type 금액 합이 큰 유저 순으로 최대 query.limit 명입니다. */
+  @Override
+  public List<PointTotal> getTopUsers(PointHistoryQuery query) {
+    long start = System.nanoTime();
+    try {
+      if (query.type() == null) {
+        throw new IllegalArgumentException("type should be given");
+      }
+
+      return pointHistoryAggregate.selectTopUsers(query);
+    } finally {
+      pointMetrics.recordService(ServiceOperation.GET_TOP_USERS, start);
+    }
+  }
+}
@@ -1,6 +1,10 @@
 package io.hhplus.tdd.point.service;
 
 import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryQuery;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.PointOperationResult;
+import io.hhplus.tdd.point.model.PointSummary;
 import io.hhplus.tdd.point.model.UserPoint;
 import java.util.List;
 
@@ -9,7 +13,13 @@ public interface PointService {
 
   public List<PointHistory> getPointHistories(long id);
 
-  public UserPoint charge(long id, long amount) throws InterruptedException;
+  public List<PointHistory> getPointHistories(long id, PointHistoryQuery query);
+
+  public PointSummary getPointSummary(long id, PointHistoryQuery query);
+
+  public UserPoint charge(long id, long amount);
 
   public UserPoint use(long id, long amount);
+
+  public List<PointOperationResult> applyOperations(List<PointOperation> operations);
 }
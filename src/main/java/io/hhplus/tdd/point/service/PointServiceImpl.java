@@ -1,61 +1,241 @@
 package io.hhplus.tdd.point.service;
 
+import io.hhplus.tdd.database.PointHistoryAggregate;
+import io.hhplus.tdd.database.PointHistoryIndex;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.cache.UserPointCache;
 import io.hhplus.tdd.point.exceptions.InsufficientPointsException;
+import io.hhplus.tdd.point.history.DirectPointHistoryRecorder;
+import io.hhplus.tdd.point.history.PointHistoryRecorder;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.metrics.PointMetrics.ServiceOperation;
+import io.hhplus.tdd.point.metrics.PointMetrics.TableOperation;
 import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryQuery;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.PointOperationResult;
+import io.hhplus.tdd.point.model.PointSummary;
 import io.hhplus.tdd.point.model.TransactionType;
 import io.hhplus.tdd.point.model.UserPoint;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class PointServiceImpl implements PointService {
-  private final UserPointTable userPointTable;
-  private final PointHistoryTable pointHistoryTable;
+  protected final UserPointTable userPointTable;
+  protected final PointHistoryTable pointHistoryTable;
+  protected final UserPointCache userPointCache;
+  protected final PointHistoryRecorder pointHistoryRecorder;
+  protected final PointMetrics pointMetrics;
+  // 조회마다 메서드 참조를 만들지 않도록 한 번만 만들어 둡니다.
+  private final LongFunction<UserPoint> userPointLoader = this::selectUserPoint;
 
-  @Autowired
   public PointServiceImpl(UserPointTable userPointTable, PointHistoryTable pointHistoryTable) {
+    this(userPointTable, pointHistoryTable, UserPointCache.disabled());
+  }
+
+  public PointServiceImpl(
+      UserPointTable userPointTable,
+      PointHistoryTable pointHistoryTable,
+      UserPointCache userPointCache) {
+    this(
+        userPointTable,
+        pointHistoryTable,
+        userPointCache,
+        new DirectPointHistoryRecorder(pointHistoryTable));
+  }
+
+  public PointServiceImpl(
+      UserPointTable userPointTable,
+      PointHistoryTable pointHistoryTable,
+      UserPointCache userPointCache,
+      PointHistoryRecorder pointHistoryRecorder) {
+    this(
+        userPointTable,
+        pointHistoryTable,
+        userPointCache,
+        pointHistoryRecorder,
+        PointMetrics.noop());
+  }
+
+  @Autowired
+  public PointServiceImpl(
+      UserPointTable userPointTable,
+      PointHistoryTable pointHistoryTable,
+      UserPointCache userPointCache,
+      PointHistoryRecorder pointHistoryRecorder,
+      PointMetrics pointMetrics) {
     this.userPointTable = userPointTable;
     this.pointHistoryTable = pointHistoryTable;
+    this.userPointCache = userPointCache;
+    this.pointHistoryRecorder = pointHistoryRecorder;
+    this.pointMetrics = pointMetrics;
   }
 
   public UserPoint getUserPoint(long userId) {
-    return userPointTable.selectById(userId);
+    long start = System.nanoTime();
+    try {
+      return readUserPoint(userId);
+    } finally {
+      pointMetrics.recordService(ServiceOperation.GET_USER_POINT, start);
+    }
   }
 
   public List<PointHistory> getPointHistories(long userId) {
+    long start = System.nanoTime();
+    try {
+      return selectAllPointHistories(userId);
+    } finally {
+      pointMetrics.recordService(ServiceOperation.GET_POINT_HISTORIES, start);
+    }
+  }
+
+  public List<PointHistory> getPointHistories(long userId, PointHistoryQuery query) {
+    long start = System.nanoTime();
+    try {
+      if (pointHistoryTable instanceof PointHistoryIndex pointHistoryIndex) {
+        return pointHistoryIndex.selectByUserId(userId, query);
+      }
+
+      return filterAllByUserId(userId, query).toList();
+    } finally {
+      pointMetrics.recordService(ServiceOperation.GET_POINT_HISTORIES, start);
+    }
+  }
 
-    return pointHistoryTable.selectAllByUserId(userId);
+  /** 기간(query 의 fromMillis, toMillis) 안의 충전/사용 합계입니다. 누적 합계가 없는 테이블은 유저의 전체 이력을 병렬로 합칩니다. */
+  public PointSummary getPointSummary(long userId, PointHistoryQuery query) {
+    long start = System.nanoTime();
+    try {
+      if (pointHistoryTable instanceof PointHistoryAggregate pointHistoryAggregate) {
+        return pointHistoryAggregate.summarizeByUserId(userId, query);
+      }
+
+      PointHistoryQuery window =
+          new PointHistoryQuery(null, null, query.fromMillis(), query.toMillis(), null);
+      return selectAllPointHistories(userId).parallelStream()
+          .filter(window::matches)
+          .collect(PointSummary.collector(userId, query));
+    } finally {
+      pointMetrics.recordService(ServiceOperation.GET_POINT_SUMMARY, start);
+    }
+  }
+
+  // 인덱스가 없는 테이블은 유저의 전체 이력을 읽은 뒤 걸러냅니다.
+  private Stream<PointHistory> filterAllByUserId(long userId, PointHistoryQuery query) {
+    return selectAllPointHistories(userId).stream()
+        .filter(pointHistory -> pointHistory.id() > query.afterIdOrZero())
+        .filter(query::matches)
+        .limit(query.limitOrMax());
   }
 
   public UserPoint charge(long id, long amount) throws IllegalArgumentException {
-    validateUserPointAmount(amount);
+    long start = System.nanoTime();
+    try {
+      validateUserPointAmount(amount);
 
-    UserPoint currentUserPoint = userPointTable.selectById(id);
-    PointHistory pointHistory =
-        pointHistoryTable.insert(id, amount, TransactionType.CHARGE, System.currentTimeMillis());
+      UserPoint currentUserPoint = readUserPoint(id);
+      recordHistory(id, amount, TransactionType.CHARGE);
 
-    return userPointTable.insertOrUpdate(id, currentUserPoint.point() + pointHistory.amount());
+      return writeUserPoint(id, currentUserPoint.point() + amount);
+    } finally {
+      pointMetrics.recordService(ServiceOperation.CHARGE, start);
+    }
   }
 
   public UserPoint use(long id, long amount)
       throws IllegalArgumentException, InsufficientPointsException {
-    validateUserPointAmount(amount);
+    long start = System.nanoTime();
+    try {
+      validateUserPointAmount(amount);
 
-    UserPoint currentUserPoint = userPointTable.selectById(id);
-    if (currentUserPoint.point() < amount) {
-      throw new InsufficientPointsException();
+      UserPoint currentUserPoint = readUserPoint(id);
+      if (currentUserPoint.point() < amount) {
+        throw new InsufficientPointsException();
+      }
+
+      recordHistory(id, amount, TransactionType.USE);
+
+      return writeUserPoint(id, currentUserPoint.point() - amount);
+    } finally {
+      pointMetrics.recordService(ServiceOperation.USE, start);
+    }
+  }
+
+  /** 항목을 순서대로 charge/use 에 적용하고, 항목마다 결과 또는 실패 사유를 담아 반환합니다. */
+  public List<PointOperationResult> applyOperations(List<PointOperation> operations) {
+    long start = System.nanoTime();
+    List<PointOperationResult> results = new ArrayList<>(operations.size());
+    for (PointOperation operation : operations) {
+      results.add(applyOperation(operation));
     }
+    pointMetrics.recordService(ServiceOperation.APPLY_OPERATIONS, start);
+    return results;
+  }
 
-    PointHistory pointHistory =
-        pointHistoryTable.insert(id, amount, TransactionType.USE, System.currentTimeMillis());
+  protected PointOperationResult applyOperation(PointOperation operation) {
+    try {
+      UserPoint userPoint =
+          switch (operation.type()) {
+            case CHARGE -> charge(operation.userId(), operation.amount());
+            case USE -> use(operation.userId(), operation.amount());
+          };
+      return PointOperationResult.success(operation, userPoint);
+    } catch (RuntimeException e) {
+      return PointOperationResult.failure(operation, e);
+    }
+  }
+
+  /**
+   * 테이블의 잔액이 아직 observed 이면 point 로 바로잡고, 그 사이 잔액이 바뀌었으면 아무것도 하지 않고 null 을 반환합니다. 이력과 맞지 않는
+   * 잔액을 감사기가 고칠 때 사용하며 이력은 남기지 않습니다.
+   */
+  public UserPoint repairUserPoint(long id, long observed, long point) {
+    if (selectUserPoint(id).point() != observed) {
+      return null;
+    }
+    return writeUserPoint(id, point);
+  }
+
+  /** 잔액 조회는 모두 이 경로를 거칩니다. 캐시가 켜져 있으면 캐시에 없을 때만 테이블을 읽습니다. */
+  protected UserPoint readUserPoint(long id) {
+    return userPointCache.get(id, userPointLoader);
+  }
+
+  /** 이력 기록은 모두 이 경로를 거칩니다. write-behind 가 켜져 있으면 큐에 넣고 바로 반환합니다. */
+  protected void recordHistory(long id, long amount, TransactionType type) {
+    pointHistoryRecorder.record(id, amount, type, System.currentTimeMillis());
+  }
+
+  /** 잔액 저장은 모두 이 경로를 거치며, 저장한 값으로 캐시도 갱신합니다. */
+  protected UserPoint writeUserPoint(long id, long point) {
+    long start = System.nanoTime();
+    UserPoint userPoint = userPointTable.insertOrUpdate(id, point);
+    pointMetrics.recordTable(TableOperation.INSERT_OR_UPDATE, start);
+    userPointCache.put(userPoint);
+    return userPoint;
+  }
+
+  private UserPoint selectUserPoint(long id) {
+    long start = System.nanoTime();
+    UserPoint userPoint = userPointTable.selectById(id);
+    pointMetrics.recordTable(TableOperation.SELECT_BY_ID, start);
+    return userPoint;
+  }
 
-    return userPointTable.insertOrUpdate(id, currentUserPoint.point() - pointHistory.amount());
+  private List<PointHistory> selectAllPointHistories(long userId) {
+    long start = System.nanoTime();
+    List<PointHistory> pointHistories = pointHistoryTable.selectAllByUserId(userId);
+    pointMetrics.recordTable(TableOperation.SELECT_ALL_BY_USER_ID, start);
+    return pointHistories;
   }
 
-  private void validateUserPointAmount(long amount) {
+  protected void validateUserPointAmount(long amount) {
     if (amount < 0) {
       throw new IllegalArgumentException("amount should be positive");
     }
@@ -0,0 +1,64 @@
+package io.hhplus.tdd.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+public class TestConcurrentLongMap {
+
+  @Test
+  public void putAndGet_WithZeroAndNegativeKeys() {
+    ConcurrentLongMap<String> map = new ConcurrentLongMap<>();
+
+    // when
+    map.put(0, "zero");
+    map.put(-1, "minus");
+    map.put(Long.MAX_VALUE, "max");
+    String previous = map.put(0, "zero again");
+
+    // then
+    assertEquals("zero", previous);
+    assertEquals("zero again", map.get(0));
+    assertEquals("minus", map.get(-1));
+    assertEquals("max", map.get(Long.MAX_VALUE));
+    assertNull(map.get(1));
+    assertEquals(3, map.size());
+  }
+
+  @Test
+  public void putConcurrently_FromManyThreads_ThenEveryKeyIsReadable()
+      throws InterruptedException {
+    ConcurrentLongMap<Long> map = new ConcurrentLongMap<>(4);
+    int threadCount = 8;
+    int keysPerThread = 20_000;
+
+    CountDownLatch latch = new CountDownLatch(threadCount);
+
+    // when
+    for (int i = 0; i < threadCount; i++) {
+      long offset = (long) i * keysPerThread;
+      new Thread(
+              () -> {
+                try {
+                  for (long key = offset; key < offset + keysPerThread; key++) {
+                    map.put(key, key * 2);
+                    // 다른 쓰레드의 resize 와 겹치는 읽기
+                    assertEquals(Long.valueOf(key * 2), map.get(key));
+                  }
+                } finally {
+                  latch.countDown();
+                }
+              })
+          .start();
+    }
+    latch.await();
+
+    // then
+    assertEquals(threadCount * keysPerThread, map.size());
+    for (long key = 0; key < (long) threadCount * keysPerThread; key++) {
+      assertEquals(Long.valueOf(key * 2), map.get(key));
+    }
+  }
+}
@@ -0,0 +1,246 @@
+package io.hhplus.tdd.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryQuery;
+import io.hhplus.tdd.point.model.PointSummary;
+import io.hhplus.tdd.point.model.PointTotal;
+import io.hhplus.tdd.point.model.TransactionType;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestIndexedPointHistoryTable {
+  private IndexedPointHistoryTable pointHistoryTable;
+
+  @BeforeEach
+  public void setUp() {
+    pointHistoryTable = new IndexedPointHistoryTable();
+  }
+
+  @Test
+  public void selectAllByUserId_ReturnsOnlyThatUsersRows_InInsertOrder() {
+    long userId = 1;
+    long otherUserId = 2;
+
+    // given
+    pointHistoryTable.insert(userId, 100, TransactionType.CHARGE, 1L);
+    pointHistoryTable.insert(otherUserId, 300, TransactionType.CHARGE, 2L);
+    pointHistoryTable.insert(userId, 50, TransactionType.USE, 3L);
+
+    // when
+    List<PointHistory> pointHistories = pointHistoryTable.selectAllByUserId(userId);
+
+    // then
+    assertEquals(2, pointHistories.size());
+    assertEquals(new PointHistory(1, userId, 100, TransactionType.CHARGE, 1L), pointHistories.get(0));
+    assertEquals(new PointHistory(3, userId, 50, TransactionType.USE, 3L), pointHistories.get(1));
+  }
+
+  @Test
+  public void selectAllByUserId_ButNothing() {
+    pointHistoryTable.insert(2, 300, TransactionType.CHARGE, 1L);
+
+    assertEquals(0, pointHistoryTable.selectAllByUserId(1).size());
+  }
+
+  @Test
+  public void selectByUserId_ReturnsPageAfterCursor_WithFilters() {
+    long userId = 1;
+
+    // given
+    for (int i = 1; i <= 10; i++) {
+      TransactionType type = i % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+      pointHistoryTable.insert(userId, i, type, i * 100L);
+      pointHistoryTable.insert(2, i, type, i * 100L);
+    }
+
+    // when
+    List<PointHistory> page =
+        pointHistoryTable.selectByUserId(
+            userId, new PointHistoryQuery(5L, 2, null, 1000L, TransactionType.USE));
+
+    // then
+    assertEquals(2, page.size());
+    assertEquals(4, page.get(0).amount());
+    assertEquals(6, page.get(1).amount());
+    assertEquals(
+        List.of(),
+        pointHistoryTable.selectByUserId(userId, new PointHistoryQuery(19L, 10, null, null, null)));
+  }
+
+  @Test
+  public void selectByUserId_WithOffHeapLog_ReturnsSamePageAsHeapLog() {
+    long userId = 1;
+    IndexedPointHistoryTable offHeapTable =
+        new IndexedPointHistoryTable(LatencyModel.zero(), new OffHeapPointHistoryLog());
+
+    // given
+    for (int i = 1; i <= 10; i++) {
+      TransactionType type = i % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+      pointHistoryTable.insert(userId, i, type, i * 100L);
+      offHeapTable.insert(userId, i, type, i * 100L);
+    }
+    PointHistoryQuery query = new PointHistoryQuery(3L, 3, 200L, 900L, TransactionType.USE);
+
+    // when
+    List<PointHistory> page = offHeapTable.selectByUserId(userId, query);
+
+    // then
+    assertEquals(List.of(4L, 6L, 8L), page.stream().map(PointHistory::amount).toList());
+    assertEquals(pointHistoryTable.selectByUserId(userId, query), page);
+    assertEquals(page, offHeapTable.streamByUserId(userId, query).toList());
+    assertEquals(pointHistoryTable.selectAllByUserId(userId), offHeapTable.selectAllByUserId(userId));
+  }
+
+  @Test
+  public void summarizeByUserId_UsesRunningTotals_EvenWhenRowsAreOutOfTimeOrder() {
+    long userId = 1;
+    long unorderedUserId = 2;
+
+    // given
+    for (int i = 1; i <= 10; i++) {
+      TransactionType type = i % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+      pointHistoryTable.insert(userId, i, type, i * 100L);
+      pointHistoryTable.insert(unorderedUserId, i, type, (11 - i) * 100L);
+    }
+    PointHistoryQuery window = new PointHistoryQuery(null, null, 300L, 800L, null);
+
+    // when
+    PointSummary summary = pointHistoryTable.summarizeByUserId(userId, window);
+    PointSummary unorderedSummary = pointHistoryTable.summarizeByUserId(unorderedUserId, window);
+    PointSummary allTime = pointHistoryTable.summarizeByUserId(userId, PointHistoryQuery.all());
+
+    // then
+    // 300 ~ 700 : 3, 5, 7 충전 / 4, 6 사용
+    assertEquals(new PointSummary(userId, 300L, 800L, 15, 3, 10, 2), summary);
+    // 시각이 역순이므로 300 ~ 700 은 8, 6, 4 사용 / 7, 5 충전
+    assertEquals(new PointSummary(unorderedUserId, 300L, 800L, 12, 2, 18, 3), unorderedSummary);
+    assertEquals(new PointSummary(userId, null, null, 25, 5, 30, 5), allTime);
+    assertEquals(
+        new PointSummary(3, 300L, 800L, 0, 0, 0, 0), pointHistoryTable.summarizeByUserId(3, window));
+  }
+
+  @Test
+  public void summarizeByUserId_AcrossHourBuckets_MatchesRowByRowTotals() {
+    long userId = 1;
+    long minute = 60_000L;
+
+    // given : 7분 간격으로 10시간, 구간 경계를 여러 번 넘습니다.
+    for (int i = 0; i < 90; i++) {
+      TransactionType type = i % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+      pointHistoryTable.insert(userId, i + 1, type, i * 7 * minute);
+    }
+    PointHistoryQuery window = new PointHistoryQuery(null, null, 95 * minute, 421 * minute, null);
+
+    // when
+    PointSummary summary = pointHistoryTable.summarizeByUserId(userId, window);
+
+    // then
+    long charged = 0;
+    long chargeCount = 0;
+    long used = 0;
+    long useCount = 0;
+    for (PointHistory pointHistory : pointHistoryTable.selectAllByUserId(userId)) {
+      if (!window.matches(pointHistory)) {
+        continue;
+      }
+      if (pointHistory.type() == TransactionType.CHARGE) {
+        charged += pointHistory.amount();
+        chargeCount++;
+      } else {
+        used += pointHistory.amount();
+        useCount++;
+      }
+    }
+    assertEquals(
+        new PointSummary(userId, 95 * minute, 421 * minute, charged, chargeCount, used, useCount),
+        summary);
+  }
+
+  @Test
+  public void summarizeByUserId_WithLateRowsAcrossHours_MatchesRowByRowTotals() {
+    long userId = 1;
+    long minute = 60_000L;
+    IndexedPointHistoryTable table = new IndexedPointHistoryTable(LatencyModel.zero());
+    Random random = new Random(7);
+
+    // given : 150분 간격이라 빈 구간이 생기고, 다섯 번째 행마다 최대 10시간 늦게 도착해 앞의 구간이나 빈 구간에 들어갑니다.
+    for (int i = 0; i < 200; i++) {
+      long millis = i * 150 * minute;
+      if (i % 5 == 4) {
+        millis = Math.max(0, millis - random.nextInt(600) * minute);
+      }
+      TransactionType type = i % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+      table.insert(userId, i + 1, type, millis);
+    }
+
+    // when & then
+    for (int i = 0; i < 50; i++) {
+      long from = random.nextInt(200 * 150) * minute;
+      long to = from + random.nextInt(40 * 60) * minute;
+      PointHistoryQuery window = new PointHistoryQuery(null, null, from, to, null);
+      long charged = 0;
+      long chargeCount = 0;
+      long used = 0;
+      long useCount = 0;
+      for (PointHistory pointHistory : table.selectAllByUserId(userId)) {
+        if (!window.matches(pointHistory)) {
+          continue;
+        }
+        if (pointHistory.type() == TransactionType.CHARGE) {
+          charged += pointHistory.amount();
+          chargeCount++;
+        } else {
+          used += pointHistory.amount();
+          useCount++;
+        }
+      }
+      assertEquals(
+          new PointSummary(userId, from, to, charged, chargeCount, used, useCount),
+          table.summarizeByUserId(userId, window));
+    }
+  }
+
+  @Test
+  public void selectTopUsers_RanksUsersByAmountInWindow() {
+    // given
+    for (long userId = 1; userId <= 5; userId++) {
+      pointHistoryTable.insert(userId, userId * 10, TransactionType.USE, 100L);
+      pointHistoryTable.insert(userId, 1_000, TransactionType.CHARGE, 100L);
+      pointHistoryTable.insert(userId, 100 - userId * 10, TransactionType.USE, 500L);
+    }
+
+    // when
+    List<PointTotal> top =
+        pointHistoryTable.selectTopUsers(
+            new PointHistoryQuery(null, 3, 200L, null, TransactionType.USE));
+
+    // then
+    assertEquals(
+        List.of(
+            new PointTotal(1, TransactionType.USE, 90, 1),
+            new PointTotal(2, TransactionType.USE, 80, 1),
+            new PointTotal(3, TransactionType.USE, 70, 1)),
+        top);
+  }
+
+  @Test
+  public void streamByUserId_DoesNotSeeRowsInsertedAfterItStarted() {
+    long userId = 1;
+
+    // given
+    pointHistoryTable.insert(userId, 100, TransactionType.CHARGE, 1L);
+    pointHistoryTable.insert(userId, 200, TransactionType.CHARGE, 2L);
+
+    // when
+    Stream<PointHistory> stream = pointHistoryTable.streamByUserId(userId, PointHistoryQuery.all());
+    pointHistoryTable.insert(userId, 300, TransactionType.CHARGE, 3L);
+
+    // then
+    assertEquals(List.of(1L, 2L), stream.map(PointHistory::id).toList());
+  }
+}
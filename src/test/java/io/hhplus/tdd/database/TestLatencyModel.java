@@ -0,0 +1,87 @@
+package io.hhplus.tdd.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class TestLatencyModel {
+  private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  @Test
+  public void parseZeroAndFixed() {
+    assertEquals(0, LatencyModel.parse("zero", new Random()).nextDelayNanos());
+    assertEquals(5 * MILLIS, LatencyModel.parse("fixed(5ms)", new Random()).nextDelayNanos());
+    assertEquals(1_500_000, LatencyModel.parse("fixed(1.5ms)", new Random()).nextDelayNanos());
+  }
+
+  @Test
+  public void uniform_StaysInRange() {
+    LatencyModel latencyModel = LatencyModel.parse("uniform(10ms, 20ms)", new Random(1));
+
+    for (int i = 0; i < 10_000; i++) {
+      long nanos = latencyModel.nextDelayNanos();
+      assertTrue(nanos >= 10 * MILLIS && nanos < 20 * MILLIS);
+    }
+  }
+
+  @Test
+  public void sameSeed_ThenSameDelays() {
+    // given
+    LatencyModel first = LatencyModel.parse("lognormal(20ms, 0.5)", new Random(42));
+    LatencyModel second = LatencyModel.parse("lognormal(20ms, 0.5)", new Random(42));
+
+    // when & then
+    for (int i = 0; i < 100; i++) {
+      assertEquals(first.nextDelayNanos(), second.nextDelayNanos());
+    }
+  }
+
+  @Test
+  public void logNormal_MedianIsCloseToGivenMedian() {
+    LatencyModel latencyModel = LatencyModel.parse("lognormal(20ms, 0.5)", new Random(7));
+
+    // when
+    long[] samples = new long[10_001];
+    for (int i = 0; i < samples.length; i++) {
+      samples[i] = latencyModel.nextDelayNanos();
+    }
+    Arrays.sort(samples);
+
+    // then
+    long median = samples[samples.length / 2];
+    assertTrue(median > 19 * MILLIS && median < 21 * MILLIS, "median " + median);
+  }
+
+  @Test
+  public void histogram_PicksBucketsByCount() {
+    LatencyModel latencyModel =
+        LatencyModel.parse("histogram(1ms:900, 100ms:100)", new Random(3));
+
+    // when
+    int fast = 0;
+    int samples = 10_000;
+    for (int i = 0; i < samples; i++) {
+      long nanos = latencyModel.nextDelayNanos();
+      assertTrue(nanos >= 0 && nanos < 100 * MILLIS);
+      if (nanos < MILLIS) {
+        fast++;
+      }
+    }
+
+    // then
+    assertTrue(fast > 8_700 && fast < 9_300, "fast " + fast);
+  }
+
+  @Test
+  public void parseInvalidSpec_ThenThrowIllegalArgumentException() {
+    assertThrows(IllegalArgumentException.class, () -> LatencyModel.parse("gaussian(1ms)", null));
+    assertThrows(IllegalArgumentException.class, () -> LatencyModel.parse("fixed(5m)", null));
+    assertThrows(
+        IllegalArgumentException.class, () -> LatencyModel.parse("histogram(5ms:1, 1ms:1)", null));
+  }
+}
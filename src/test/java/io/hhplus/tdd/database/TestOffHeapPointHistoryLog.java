@@ -0,0 +1,103 @@
+package io.hhplus.tdd.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryQuery;
+import io.hhplus.tdd.point.model.TransactionType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+public class TestOffHeapPointHistoryLog {
+
+  @Test
+  public void appendConcurrently_ThenEveryRowIsReadBackFromColumns() throws InterruptedException {
+    PointHistoryLog log = new OffHeapPointHistoryLog();
+    int threadCount = 8;
+    // chunk 경계를 넘도록 충분히 씁니다.
+    int appendsPerThread = 20_000;
+
+    CountDownLatch start = new CountDownLatch(1);
+    CountDownLatch latch = new CountDownLatch(threadCount);
+    List<String> errors = new ArrayList<>();
+
+    // when
+    for (int i = 0; i < threadCount; i++) {
+      long userId = i;
+      new Thread(
+              () -> {
+                try {
+                  start.await();
+                  for (int j = 0; j < appendsPerThread; j++) {
+                    log.append(userId, j, TransactionType.values()[j % 2], j);
+                    long published = log.publishedId();
+                    if (published > 0 && log.get(published) == null) {
+                      synchronized (errors) {
+                        errors.add("row " + published + " is published but empty");
+                      }
+                    }
+                  }
+                } catch (InterruptedException ignored) {
+                } finally {
+                  latch.countDown();
+                }
+              })
+          .start();
+    }
+    start.countDown();
+    latch.await();
+
+    // then
+    long total = (long) threadCount * appendsPerThread;
+    assertTrue(errors.isEmpty(), String.join(",", errors));
+    assertEquals(total, log.publishedId());
+    long[] perUser = new long[threadCount];
+    for (long id = 1; id <= total; id++) {
+      PointHistory pointHistory = log.get(id);
+      assertEquals(id, pointHistory.id());
+      int j = (int) perUser[(int) pointHistory.userId()]++;
+      assertEquals(j, pointHistory.amount());
+      assertEquals(TransactionType.values()[j % 2], pointHistory.type());
+      assertEquals(j, pointHistory.updateMillis());
+    }
+    assertNull(log.get(total + 1));
+  }
+
+  @Test
+  public void put_WritesRowAtItsId_AndPublishesOnceGapIsFilled() {
+    PointHistoryLog log = new OffHeapPointHistoryLog();
+
+    // when
+    log.put(new PointHistory(2, 1, 200, TransactionType.USE, 20L));
+    long beforeGapFilled = log.publishedId();
+    log.put(new PointHistory(1, 1, 100, TransactionType.CHARGE, 10L));
+
+    // then
+    assertEquals(0, beforeGapFilled);
+    assertNull(log.get(3));
+    assertEquals(2, log.publishedId());
+    assertEquals(new PointHistory(2, 1, 200, TransactionType.USE, 20L), log.get(2));
+  }
+
+  @Test
+  public void matches_ReadsFiltersFromColumns() {
+    PointHistoryLog log = new OffHeapPointHistoryLog();
+    log.append(1, 100, TransactionType.CHARGE, 10L);
+    log.append(1, 50, TransactionType.USE, 20L);
+
+    // when
+    PointHistoryQuery useFrom15 = new PointHistoryQuery(null, null, 15L, null, TransactionType.USE);
+    PointHistoryQuery before15 = new PointHistoryQuery(null, null, null, 15L, null);
+
+    // then
+    assertFalse(log.matches(1, useFrom15));
+    assertTrue(log.matches(2, useFrom15));
+    assertTrue(log.matches(1, before15));
+    assertFalse(log.matches(2, before15));
+  }
+}
@@ -0,0 +1,107 @@
+package io.hhplus.tdd.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+public class TestPointHistoryLog {
+
+  @Test
+  public void appendConcurrently_ThenIdsAreUniqueAndContiguous() throws InterruptedException {
+    PointHistoryLog log = new HeapPointHistoryLog();
+    int threadCount = 8;
+    // chunk 경계를 여러 번 넘도록 충분히 씁니다.
+    int appendsPerThread = 20_000;
+
+    CountDownLatch start = new CountDownLatch(1);
+    CountDownLatch latch = new CountDownLatch(threadCount);
+
+    // when
+    for (int i = 0; i < threadCount; i++) {
+      long userId = i;
+      new Thread(
+              () -> {
+                try {
+                  start.await();
+                  for (int j = 0; j < appendsPerThread; j++) {
+                    log.append(userId, j, TransactionType.CHARGE, j);
+                  }
+                } catch (InterruptedException ignored) {
+                } finally {
+                  latch.countDown();
+                }
+              })
+          .start();
+    }
+    start.countDown();
+    latch.await();
+
+    // then
+    long total = (long) threadCount * appendsPerThread;
+    assertEquals(total, log.publishedId());
+    for (long id = 1; id <= total; id++) {
+      PointHistory pointHistory = log.get(id);
+      assertNotNull(pointHistory);
+      assertEquals(id, pointHistory.id());
+    }
+    assertNull(log.get(total + 1));
+  }
+
+  @Test
+  public void scan_ReadsInIdOrder_FromAfterIdToPublishedId() {
+    PointHistoryLog log = new HeapPointHistoryLog();
+    for (int i = 0; i < 10; i++) {
+      log.append(1, i, TransactionType.USE, i);
+    }
+
+    // when
+    List<PointHistory> scanned = new ArrayList<>();
+    log.scan(7, scanned::add);
+
+    // then
+    assertEquals(3, scanned.size());
+    assertEquals(8, scanned.get(0).id());
+    assertEquals(10, scanned.get(2).id());
+  }
+
+  @Test
+  public void publishedId_NeverPointsPastAnUnwrittenRow() throws InterruptedException {
+    PointHistoryLog log = new HeapPointHistoryLog();
+    int threadCount = 4;
+    CountDownLatch latch = new CountDownLatch(threadCount);
+    List<String> errors = new ArrayList<>();
+
+    // when
+    for (int i = 0; i < threadCount; i++) {
+      new Thread(
+              () -> {
+                try {
+                  for (int j = 0; j < 10_000; j++) {
+                    log.append(1, j, TransactionType.CHARGE, j);
+                    long published = log.publishedId();
+                    if (published > 0 && log.get(published) == null) {
+                      synchronized (errors) {
+                        errors.add("row " + published + " is published but empty");
+                      }
+                    }
+                  }
+                } finally {
+                  latch.countDown();
+                }
+              })
+          .start();
+    }
+    latch.await();
+
+    // then
+    assertTrue(errors.isEmpty(), String.join(",", errors));
+  }
+}
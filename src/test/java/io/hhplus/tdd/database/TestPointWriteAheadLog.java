@@ -0,0 +1,273 @@
+package io.hhplus.tdd.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.hhplus.tdd.database.wal.BalanceSnapshot;
+import io.hhplus.tdd.database.wal.PointWriteAheadLog;
+import io.hhplus.tdd.database.wal.WalDurability;
+import io.hhplus.tdd.database.wal.WalRecord;
+import io.hhplus.tdd.database.wal.WalRecord.Kind;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestPointWriteAheadLog {
+  private static final long SEGMENT_BYTES = WalRecord.SIZE * 4L;
+
+  @TempDir private Path directory;
+
+  @Test
+  public void reopen_RestoresBalancesAndHistoriesWithSameIds() throws InterruptedException {
+    // given
+    PointWriteAheadLog wal = open(WalDurability.SYNC);
+    DurableUserPointTable userPointTable = new DurableUserPointTable(wal);
+    DurablePointHistoryTable pointHistoryTable = new DurablePointHistoryTable(wal);
+    pointHistoryTable.insert(1, 100, TransactionType.CHARGE, 10L);
+    pointHistoryTable.insert(2, 300, TransactionType.CHARGE, 11L);
+    userPointTable.insertOrUpdate(1, 100);
+    pointHistoryTable.insert(1, 40, TransactionType.USE, 12L);
+    userPointTable.insertOrUpdate(1, 60);
+    wal.close();
+
+    // when
+    PointWriteAheadLog reopened = open(WalDurability.SYNC);
+    DurableUserPointTable restoredUserPoints = new DurableUserPointTable(reopened);
+    DurablePointHistoryTable restoredHistories = new DurablePointHistoryTable(reopened);
+    PointHistory next = restoredHistories.insert(2, 5, TransactionType.USE, 13L);
+
+    // then
+    assertEquals(60, restoredUserPoints.selectById(1L).point());
+    assertEquals(
+        List.of(
+            new PointHistory(1, 1, 100, TransactionType.CHARGE, 10L),
+            new PointHistory(3, 1, 40, TransactionType.USE, 12L)),
+        restoredHistories.selectAllByUserId(1));
+    assertEquals(4, next.id());
+    reopened.close();
+  }
+
+  @Test
+  public void append_RollsSegments_AndReplaysInLsnOrder() throws InterruptedException {
+    // given
+    PointWriteAheadLog wal = open(WalDurability.NONE);
+    for (int i = 1; i <= 10; i++) {
+      wal.append(Kind.CHARGE, i, i * 10L, i, record -> {});
+    }
+    wal.close();
+
+    // when
+    PointWriteAheadLog reopened = open(WalDurability.NONE);
+    List<WalRecord> records = new ArrayList<>();
+    reopened.replay(records::add);
+
+    // then
+    assertEquals(10, records.size());
+    for (int i = 0; i < records.size(); i++) {
+      assertEquals(i + 1, records.get(i).lsn());
+      assertEquals(i + 1, records.get(i).id());
+    }
+    reopened.close();
+  }
+
+  @Test
+  public void tornRecord_AndEverythingAfterIt_AreDropped() throws Exception {
+    // given
+    PointWriteAheadLog wal = open(WalDurability.SYNC);
+    for (int i = 1; i <= 3; i++) {
+      wal.append(Kind.CHARGE, 1, 100, i, record -> {});
+    }
+    wal.close();
+    corrupt(segmentFiles().get(0), 1);
+
+    // when
+    PointWriteAheadLog reopened = open(WalDurability.SYNC);
+    WalRecord appended = reopened.append(Kind.USE, 1, 50, 4L, record -> {});
+    reopened.close();
+
+    PointWriteAheadLog replayed = open(WalDurability.SYNC);
+    List<WalRecord> records = new ArrayList<>();
+    replayed.replay(records::add);
+
+    // then
+    assertEquals(2, appended.lsn());
+    assertEquals(2, appended.id());
+    assertEquals(List.of(1L, 2L), records.stream().map(WalRecord::lsn).toList());
+    assertEquals(Kind.USE, records.get(1).kind());
+    replayed.close();
+  }
+
+  @Test
+  public void snapshotAndTruncate_ThenReopen_RestoresBalancesFromSnapshotAndTail_AndAllHistories()
+      throws InterruptedException {
+    // given
+    PointWriteAheadLog wal = open(WalDurability.SYNC);
+    DurableUserPointTable userPointTable = new DurableUserPointTable(wal);
+    DurablePointHistoryTable pointHistoryTable = new DurablePointHistoryTable(wal);
+    for (long userId = 1; userId <= 5; userId++) {
+      pointHistoryTable.insert(userId, userId * 100, TransactionType.CHARGE, userId);
+      userPointTable.insertOrUpdate(userId, userId * 100);
+    }
+    BalanceSnapshot snapshot = userPointTable.snapshot();
+    int truncated = wal.truncateBefore(snapshot.lsn());
+    userPointTable.insertOrUpdate(1, 50);
+    userPointTable.insertOrUpdate(6, 600);
+    wal.close();
+
+    // when
+    PointWriteAheadLog reopened = open(WalDurability.SYNC);
+    DurableUserPointTable restoredUserPoints = new DurableUserPointTable(reopened);
+    DurablePointHistoryTable restoredHistories = new DurablePointHistoryTable(reopened);
+    PointHistory next = restoredHistories.insert(2, 10, TransactionType.USE, 20L);
+    List<WalRecord> tail = new ArrayList<>();
+    reopened.replay(snapshot.lsn(), tail::add);
+
+    // then
+    assertEquals(10, snapshot.lsn());
+    assertEquals(5, snapshot.count());
+    assertEquals(true, truncated > 0);
+    assertEquals(50, restoredUserPoints.selectById(1L).point());
+    for (long userId = 2; userId <= 5; userId++) {
+      assertEquals(userId * 100, restoredUserPoints.selectById(userId).point());
+    }
+    assertEquals(600, restoredUserPoints.selectById(6L).point());
+    assertEquals(6, next.id());
+    for (long userId = 1; userId <= 5; userId++) {
+      assertEquals(
+          new PointHistory(userId, userId, userId * 100, TransactionType.CHARGE, userId),
+          restoredHistories.selectAllByUserId(userId).get(0));
+    }
+    assertEquals(6, restoredHistories.publishedId());
+    assertEquals(List.of(11L, 12L, 13L), tail.stream().map(WalRecord::lsn).toList());
+    reopened.close();
+  }
+
+  @Test
+  public void shardedReplay_DeliversEachRecordToExactlyOneShard_InLsnOrder()
+      throws InterruptedException {
+    int shards = 3;
+
+    // given
+    PointWriteAheadLog wal = open(WalDurability.NONE);
+    for (int i = 1; i <= 10; i++) {
+      wal.append(Kind.BALANCE, i % 4, i, i, record -> {});
+    }
+
+    // when
+    List<WalRecord> records = new ArrayList<>();
+    for (int shard = 0; shard < shards; shard++) {
+      List<WalRecord> shardRecords = new ArrayList<>();
+      wal.replay(2, shard, shards, shardRecords::add);
+      for (int i = 1; i < shardRecords.size(); i++) {
+        assertEquals(true, shardRecords.get(i - 1).lsn() < shardRecords.get(i).lsn());
+      }
+      int expectedShard = shard;
+      shardRecords.forEach(
+          record ->
+              assertEquals(expectedShard, PointWriteAheadLog.shardOf(record.userId(), shards)));
+      records.addAll(shardRecords);
+    }
+
+    // then
+    assertEquals(
+        List.of(3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L),
+        records.stream().map(WalRecord::lsn).sorted().toList());
+    wal.close();
+  }
+
+  @Test
+  public void concurrentSyncAppends_AreAllDurable() throws InterruptedException {
+    int threadCount = 16;
+    int appendsPerThread = 50;
+
+    // given
+    PointWriteAheadLog wal =
+        new PointWriteAheadLog(directory, 1 << 20, WalDurability.SYNC, Duration.ofMillis(10));
+    DurablePointHistoryTable pointHistoryTable = new DurablePointHistoryTable(wal);
+    CountDownLatch latch = new CountDownLatch(threadCount);
+
+    // when
+    for (int i = 0; i < threadCount; i++) {
+      long userId = i;
+      new Thread(
+              () -> {
+                try {
+                  for (int j = 0; j < appendsPerThread; j++) {
+                    pointHistoryTable.insert(userId, 1, TransactionType.CHARGE, j);
+                  }
+                } finally {
+                  latch.countDown();
+                }
+              })
+          .start();
+    }
+    latch.await();
+
+    // then
+    long total = (long) threadCount * appendsPerThread;
+    assertEquals(total, wal.lastLsn());
+    assertEquals(total, wal.durableLsn());
+    for (long userId = 0; userId < threadCount; userId++) {
+      List<PointHistory> pointHistories = pointHistoryTable.selectAllByUserId(userId);
+      assertEquals(appendsPerThread, pointHistories.size());
+      for (int j = 1; j < pointHistories.size(); j++) {
+        assertEquals(true, pointHistories.get(j - 1).id() < pointHistories.get(j).id());
+      }
+    }
+    wal.close();
+  }
+
+  @Test
+  public void syncInsert_IsNotVisibleUntilDurable() throws InterruptedException {
+    // given
+    AtomicReference<DurablePointHistoryTable> table = new AtomicReference<>();
+    List<Integer> visibleBeforeDurable = new ArrayList<>();
+    PointWriteAheadLog wal =
+        new PointWriteAheadLog(directory, SEGMENT_BYTES, WalDurability.SYNC, Duration.ofMillis(10)) {
+          @Override
+          public void awaitDurable(long lsn) {
+            visibleBeforeDurable.add(table.get().selectAllByUserId(1L).size());
+            super.awaitDurable(lsn);
+          }
+        };
+    table.set(new DurablePointHistoryTable(wal));
+
+    // when
+    table.get().insert(1L, 100L, TransactionType.CHARGE, 1L);
+    table.get().insert(1L, 30L, TransactionType.USE, 2L);
+
+    // then
+    assertEquals(List.of(0, 1), visibleBeforeDurable);
+    assertEquals(2, table.get().selectAllByUserId(1L).size());
+    wal.close();
+  }
+
+  private PointWriteAheadLog open(WalDurability durability) {
+    return new PointWriteAheadLog(directory, SEGMENT_BYTES, durability, Duration.ofMillis(10));
+  }
+
+  private List<Path> segmentFiles() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(path -> path.toString().endsWith(".wal")).sorted().toList();
+    }
+  }
+
+  // index 번째 레코드의 금액 한 byte 를 바꿔 checksum 이 맞지 않게 합니다.
+  private static void corrupt(Path segment, int index) throws IOException {
+    try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[] {0x7f}), (long) index * WalRecord.SIZE + 24);
+    }
+  }
+}
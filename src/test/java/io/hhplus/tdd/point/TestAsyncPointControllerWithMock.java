@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import io.hhplus.tdd.point.exceptions.InsufficientPointsException;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.service.AsyncPointService;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+// 비동기 핸들러는 요청 쓰레드에서 async 로 시작한 뒤, future 가 끝나면 asyncDispatch 로 응답이 만들어진다.
+@WebMvcTest(AsyncPointController.class)
+public class TestAsyncPointControllerWithMock {
+  @Autowired private MockMvc mockMvc;
+
+  @MockBean private AsyncPointService asyncPointService;
+
+  @Test
+  public void getUserPoint() throws Exception {
+    when(asyncPointService.getUserPoint(1))
+        .thenReturn(CompletableFuture.completedFuture(new UserPoint(1, 1000, 100L)));
+
+    MvcResult result =
+        mockMvc.perform(get("/async/point/1")).andExpect(request().asyncStarted()).andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().json("{\"id\":1,\"point\":1000,\"updateMillis\":100}"));
+  }
+
+  @Test
+  public void chargePoint() throws Exception {
+    when(asyncPointService.charge(1, 100))
+        .thenReturn(CompletableFuture.completedFuture(new UserPoint(1, 1100, 100L)));
+
+    MvcResult result =
+        mockMvc
+            .perform(
+                patch("/async/point/1/charge").contentType(MediaType.APPLICATION_JSON).content("100"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().json("{\"id\":1,\"point\":1100,\"updateMillis\":100}"));
+  }
+
+  @Test
+  public void useInsufficientPoint_ThenThrowBadRequestError() throws Exception {
+    when(asyncPointService.use(1, 100))
+        .thenReturn(CompletableFuture.failedFuture(new InsufficientPointsException()));
+
+    MvcResult result =
+        mockMvc
+            .perform(
+                patch("/async/point/1/use").contentType(MediaType.APPLICATION_JSON).content("100"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc.perform(asyncDispatch(result)).andExpect(status().isBadRequest());
+  }
+}
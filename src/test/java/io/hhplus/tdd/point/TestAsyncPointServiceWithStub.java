@@ -0,0 +1,149 @@
+package io.hhplus.tdd.point;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.hhplus.tdd.database.PointHistoryTableStub;
+import io.hhplus.tdd.database.UserPointTableStub;
+import io.hhplus.tdd.point.exceptions.InsufficientPointsException;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.service.AsyncPointServiceImpl;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestAsyncPointServiceWithStub {
+  private UserPointTableStub userPointTableStub;
+  private PointHistoryTableStub pointHistoryTableStub;
+  private ExecutorService executor;
+  private AsyncPointServiceImpl asyncPointService;
+
+  @BeforeEach
+  public void setUp() {
+    userPointTableStub = new UserPointTableStub();
+    pointHistoryTableStub = new PointHistoryTableStub();
+    // 락을 쥔 작업이 이력 저장을 기다리므로, 쓰레드가 모두 락을 기다려도 교착되지 않는지 작은 풀로 함께 확인합니다.
+    executor = Executors.newFixedThreadPool(2);
+    asyncPointService =
+        new AsyncPointServiceImpl(userPointTableStub, pointHistoryTableStub, executor);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void charge100PointConcurrently_ToExistUser_With0Point() {
+    long userId = 1;
+    long chargeAmount = 100;
+    int requestCount = 10;
+
+    // given
+    HashMap<Long, UserPoint> table = new HashMap<>();
+    table.put(userId, new UserPoint(userId, 0, System.currentTimeMillis()));
+    userPointTableStub.setTable(table);
+
+    // when
+    List<CompletableFuture<UserPoint>> futures = new ArrayList<>();
+    for (int i = 0; i < requestCount; i++) {
+      futures.add(asyncPointService.charge(userId, chargeAmount));
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+    // then
+    assertEquals(chargeAmount * requestCount, userPointTableStub.selectById(userId).point());
+    assertEquals(requestCount, pointHistoryTableStub.selectAllByUserId(userId).size());
+  }
+
+  @Test
+  public void useOverPoint_ThenCompleteWithInsufficientPointsException() {
+    long userId = 1;
+
+    // given
+    HashMap<Long, UserPoint> table = new HashMap<>();
+    table.put(userId, new UserPoint(userId, 100, System.currentTimeMillis()));
+    userPointTableStub.setTable(table);
+
+    // when
+    CompletableFuture<UserPoint> future = asyncPointService.use(userId, 200);
+
+    // then
+    ExecutionException e = assertThrows(ExecutionException.class, future::get);
+    assertInstanceOf(InsufficientPointsException.class, e.getCause());
+    assertEquals(100, userPointTableStub.selectById(userId).point());
+    assertEquals(0, pointHistoryTableStub.selectAllByUserId(userId).size());
+  }
+
+  @Test
+  public void charge_WhenReadFails_ThenLeaveNoHistory() {
+    long userId = 1;
+
+    // given
+    UserPointTableStub failingTable =
+        new UserPointTableStub() {
+          @Override
+          public UserPoint selectById(Long id) {
+            throw new IllegalStateException("table is unavailable");
+          }
+        };
+    AsyncPointServiceImpl service =
+        new AsyncPointServiceImpl(failingTable, pointHistoryTableStub, executor);
+
+    // when
+    CompletableFuture<UserPoint> future = service.charge(userId, 100);
+
+    // then
+    ExecutionException e = assertThrows(ExecutionException.class, future::get);
+    assertInstanceOf(IllegalStateException.class, e.getCause());
+    assertEquals(0, pointHistoryTableStub.selectAllByUserId(userId).size());
+  }
+
+  @Test
+  public void charge_WhenHistoryFails_ThenRestoreBalance() {
+    long userId = 1;
+
+    // given
+    HashMap<Long, UserPoint> table = new HashMap<>();
+    table.put(userId, new UserPoint(userId, 100, System.currentTimeMillis()));
+    userPointTableStub.setTable(table);
+    PointHistoryTableStub failingHistoryTable =
+        new PointHistoryTableStub() {
+          @Override
+          public PointHistory insert(
+              long userId, long amount, TransactionType type, long updateMillis) {
+            throw new IllegalStateException("table is unavailable");
+          }
+        };
+    AsyncPointServiceImpl service =
+        new AsyncPointServiceImpl(userPointTableStub, failingHistoryTable, executor);
+
+    // when
+    CompletableFuture<UserPoint> future = service.charge(userId, 100);
+
+    // then
+    ExecutionException e = assertThrows(ExecutionException.class, future::get);
+    assertInstanceOf(IllegalStateException.class, e.getCause());
+    assertEquals(100, userPointTableStub.selectById(userId).point());
+  }
+
+  @Test
+  public void chargeInvalidPoint_ThenCompleteWithIllegalArgumentException() {
+    // when
+    CompletableFuture<UserPoint> future = asyncPointService.charge(1, -100);
+
+    // then
+    ExecutionException e = assertThrows(ExecutionException.class, future::get);
+    assertInstanceOf(IllegalArgumentException.class, e.getCause());
+  }
+}
@@ -0,0 +1,37 @@
+package io.hhplus.tdd.point;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import io.hhplus.tdd.point.audit.AuditReport;
+import io.hhplus.tdd.point.audit.BalanceAuditor;
+import io.hhplus.tdd.point.audit.BalanceDrift;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(AuditController.class)
+public class TestAuditControllerWithMock {
+  @Autowired private MockMvc mockMvc;
+
+  @MockBean private BalanceAuditor balanceAuditor;
+
+  @Test
+  public void getAudit() throws Exception {
+    when(balanceAuditor.report())
+        .thenReturn(
+            new AuditReport(90, 100, 10, 3, 1, 12, 0, List.of(new BalanceDrift(1, 100, 70, 42))));
+
+    mockMvc
+        .perform(get("/admin/point/audit"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.lag").value(10))
+        .andExpect(jsonPath("$.drifts[0].userId").value(1))
+        .andExpect(jsonPath("$.drifts[0].expected").value(100))
+        .andExpect(jsonPath("$.drifts[0].actual").value(70));
+  }
+}
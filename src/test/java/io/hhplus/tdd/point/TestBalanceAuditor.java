@@ -0,0 +1,245 @@
+package io.hhplus.tdd.point;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.hhplus.tdd.database.ConcurrentUserPointTable;
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import io.hhplus.tdd.point.audit.AuditReport;
+import io.hhplus.tdd.point.audit.BalanceAuditor;
+import io.hhplus.tdd.point.audit.BalanceDrift;
+import io.hhplus.tdd.point.cache.UserPointCache;
+import io.hhplus.tdd.point.history.DirectPointHistoryRecorder;
+import io.hhplus.tdd.point.history.HistoryWriteBehindProperties.OverflowPolicy;
+import io.hhplus.tdd.point.history.WriteBehindPointHistoryRecorder;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.service.LockPointServiceImpl;
+import io.hhplus.tdd.point.service.PointServiceImpl;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestBalanceAuditor {
+  private ConcurrentUserPointTable userPointTable;
+  private IndexedPointHistoryTable pointHistoryTable;
+  private LockPointServiceImpl pointService;
+
+  @BeforeEach
+  public void setUp() {
+    userPointTable = new ConcurrentUserPointTable();
+    pointHistoryTable = new IndexedPointHistoryTable();
+    pointService = new LockPointServiceImpl(userPointTable, pointHistoryTable);
+  }
+
+  @Test
+  public void runOnce_AdvancesWatermarkIncrementally_WithoutDrift_WhenBalancesMatchHistories() {
+    // given
+    for (long userId = 1; userId <= 3; userId++) {
+      pointService.charge(userId, 100);
+      pointService.use(userId, 30);
+    }
+    BalanceAuditor auditor = auditor(4, false);
+
+    // when
+    auditor.runOnce();
+    AuditReport first = auditor.report();
+    auditor.runOnce();
+    AuditReport second = auditor.report();
+
+    // then
+    assertEquals(4, first.watermark());
+    assertEquals(2, first.lag());
+    assertEquals(6, second.watermark());
+    assertEquals(0, second.lag());
+    assertEquals(3, second.trackedUsers());
+    assertEquals(0, second.pendingUsers());
+    assertEquals(List.of(), second.drifts());
+  }
+
+  @Test
+  public void corruptedBalance_IsReported_OnlyAfterSecondCheckSeesSameState() {
+    // given
+    pointService.charge(1L, 100);
+    pointService.charge(2L, 200);
+    userPointTable.insertOrUpdate(1L, 70);
+    BalanceAuditor auditor = auditor(100, false);
+
+    // when
+    auditor.runOnce();
+    AuditReport first = auditor.report();
+    auditor.runOnce();
+    AuditReport second = auditor.report();
+
+    // then
+    assertEquals(List.of(), first.drifts());
+    assertEquals(1, first.pendingUsers());
+    assertEquals(List.of(new BalanceDrift(1L, 100, 70, 1L)), second.drifts());
+    assertEquals(70, userPointTable.selectById(1L).point());
+  }
+
+  @Test
+  public void corruptedBalance_IsRepairedToHistorySum_WhenRepairIsEnabled() {
+    // given
+    pointService.charge(1L, 100);
+    pointService.use(1L, 40);
+    userPointTable.insertOrUpdate(1L, 0);
+    BalanceAuditor auditor = auditor(100, true);
+
+    // when
+    auditor.runOnce();
+    auditor.runOnce();
+    AuditReport report = auditor.report();
+
+    // then
+    assertEquals(60, userPointTable.selectById(1L).point());
+    assertEquals(1, report.repairedUsers());
+    assertEquals(List.of(), report.drifts());
+  }
+
+  @Test
+  public void mismatch_IsNotReported_WhenHistoryCatchesUpBeforeSecondCheck() {
+    // given
+    pointService.charge(1L, 100);
+    BalanceAuditor auditor = auditor(100, false);
+    auditor.runOnce();
+
+    // 이력만 남기고 잔액은 아직 저장하지 않은 요청을 흉내냅니다.
+    pointHistoryTable.insert(1L, 50, TransactionType.CHARGE, 2L);
+    auditor.runOnce();
+
+    // when
+    userPointTable.insertOrUpdate(1L, 150);
+    auditor.runOnce();
+    AuditReport report = auditor.report();
+
+    // then
+    assertEquals(List.of(), report.drifts());
+    assertEquals(0, report.pendingUsers());
+  }
+
+  @Test
+  public void balance_IsNotRepaired_WhileItsHistoryWaitsInWriteBehindQueue()
+      throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    IndexedPointHistoryTable slowTable =
+        new IndexedPointHistoryTable() {
+          @Override
+          public PointHistory insert(
+              long userId, long amount, TransactionType type, long updateMillis) {
+            if (amount == 50) {
+              try {
+                release.await();
+              } catch (InterruptedException ignored) {
+              }
+            }
+            return super.insert(userId, amount, type, updateMillis);
+          }
+        };
+    WriteBehindPointHistoryRecorder recorder =
+        new WriteBehindPointHistoryRecorder(slowTable, 16, 4, OverflowPolicy.BLOCK);
+    PointServiceImpl writeBehindService =
+        new PointServiceImpl(userPointTable, slowTable, UserPointCache.disabled(), recorder);
+    BalanceAuditor auditor =
+        new BalanceAuditor(
+            slowTable,
+            slowTable,
+            userPointTable,
+            writeBehindService,
+            recorder,
+            100,
+            400,
+            100,
+            true,
+            0);
+
+    // given - 첫 충전의 이력은 쓰였고, 두 번째 충전의 이력은 아직 큐에 있습니다.
+    writeBehindService.charge(1L, 100);
+    recorder.flush();
+    writeBehindService.charge(1L, 50);
+
+    // when
+    for (int i = 0; i < 3; i++) {
+      auditor.runOnce();
+    }
+    AuditReport stalled = auditor.report();
+    release.countDown();
+    recorder.flush();
+    auditor.runOnce();
+    AuditReport drained = auditor.report();
+
+    // then
+    assertEquals(150, userPointTable.selectById(1L).point());
+    assertEquals(0, stalled.repairedUsers());
+    assertEquals(List.of(), stalled.drifts());
+    assertEquals(1, stalled.pendingUsers());
+    assertEquals(List.of(), drained.drifts());
+    assertEquals(0, drained.pendingUsers());
+    recorder.close();
+  }
+
+  @Test
+  public void verifiedIdleUser_IsEvicted_AndReloadsEarlierHistories_WhenSeenAgain()
+      throws InterruptedException {
+    // given
+    pointService.charge(1L, 100);
+    pointService.use(1L, 30);
+    pointService.charge(2L, 50);
+    BalanceAuditor auditor = auditor(100, false, 1);
+    auditor.runOnce();
+    Thread.sleep(5);
+
+    // when
+    auditor.runOnce();
+    AuditReport evicted = auditor.report();
+    long evictedUsers = auditor.evictedUsers();
+    pointService.charge(1L, 10);
+    userPointTable.insertOrUpdate(2L, 40);
+    pointHistoryTable.insert(2L, 5, TransactionType.CHARGE, 4L);
+    auditor.runOnce();
+    auditor.runOnce();
+    AuditReport reloaded = auditor.report();
+
+    // then - 내린 뒤에도 앞선 이력까지 합쳐 비교합니다.
+    assertEquals(0, evicted.trackedUsers());
+    assertEquals(2, evictedUsers);
+    assertEquals(List.of(new BalanceDrift(2L, 55, 40, 5L)), reloaded.drifts());
+    assertEquals(80, userPointTable.selectById(1L).point());
+  }
+
+  @Test
+  public void scanLimit_Grows_WhileHistoriesAreBehind() {
+    // given
+    for (int i = 0; i < 7; i++) {
+      pointService.charge(1L, 10);
+    }
+    BalanceAuditor auditor = auditor(1, false);
+
+    // when
+    auditor.runOnce();
+    auditor.runOnce();
+    auditor.runOnce();
+
+    // then - 1, 2, 4 개씩 읽어 따라잡습니다.
+    assertEquals(7, auditor.watermark());
+    assertEquals(0, auditor.lag());
+  }
+
+  private BalanceAuditor auditor(int historiesPerRun, boolean repair) {
+    return auditor(historiesPerRun, repair, 0);
+  }
+
+  private BalanceAuditor auditor(int historiesPerRun, boolean repair, long idleTimeoutMillis) {
+    return new BalanceAuditor(
+        pointHistoryTable,
+        pointHistoryTable,
+        userPointTable,
+        pointService,
+        new DirectPointHistoryRecorder(pointHistoryTable),
+        historiesPerRun,
+        historiesPerRun * 4,
+        100,
+        repair,
+        idleTimeoutMillis);
+  }
+}
@@ -0,0 +1,160 @@
+package io.hhplus.tdd.point;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.hhplus.tdd.database.PointHistoryTableStub;
+import io.hhplus.tdd.database.UserPointTableStub;
+import io.hhplus.tdd.point.exceptions.InsufficientPointsException;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.service.BatchingPointServiceImpl;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestBatchingPointServiceWithStub {
+  private UserPointTableStub userPointTableStub;
+  private PointHistoryTableStub pointHistoryTableStub;
+  private BatchingPointServiceImpl batchingPointService;
+
+  @BeforeEach
+  public void setUp() {
+    userPointTableStub = new UserPointTableStub();
+    pointHistoryTableStub = new PointHistoryTableStub();
+    batchingPointService = new BatchingPointServiceImpl(userPointTableStub, pointHistoryTableStub);
+  }
+
+  @Test
+  public void charge100PointConcurrently_ToExistUser_With0Point() throws InterruptedException {
+    long userId = 1;
+    long chargeAmount = 100;
+    int threadCount = 20;
+
+    // given
+    HashMap<Long, UserPoint> table = new HashMap<>();
+    table.put(userId, new UserPoint(userId, 0, System.currentTimeMillis()));
+    userPointTableStub.setTable(table);
+
+    CountDownLatch latch = new CountDownLatch(threadCount);
+
+    // when
+    for (int i = 0; i < threadCount; i++) {
+      new Thread(
+              () -> {
+                try {
+                  batchingPointService.charge(userId, chargeAmount);
+                } finally {
+                  latch.countDown();
+                }
+              })
+          .start();
+    }
+    latch.await();
+
+    // then
+    UserPoint userPoint = userPointTableStub.selectById(userId);
+    assertEquals(chargeAmount * threadCount, userPoint.point());
+
+    List<PointHistory> pointHistories = pointHistoryTableStub.selectAllByUserId(userId);
+    assertEquals(threadCount, pointHistories.size());
+  }
+
+  @Test
+  public void use100PointConcurrently_ToExistUser_With500Point_OnlyFiveSucceed()
+      throws InterruptedException {
+    long userId = 1;
+    long currentPointAmount = 500;
+    long useAmount = 100;
+    int threadCount = 10;
+
+    // given
+    HashMap<Long, UserPoint> table = new HashMap<>();
+    table.put(userId, new UserPoint(userId, currentPointAmount, System.currentTimeMillis()));
+    userPointTableStub.setTable(table);
+
+    CountDownLatch latch = new CountDownLatch(threadCount);
+    AtomicInteger insufficientCount = new AtomicInteger();
+
+    // when
+    for (int i = 0; i < threadCount; i++) {
+      new Thread(
+              () -> {
+                try {
+                  batchingPointService.use(userId, useAmount);
+                } catch (InsufficientPointsException e) {
+                  insufficientCount.incrementAndGet();
+                } finally {
+                  latch.countDown();
+                }
+              })
+          .start();
+    }
+    latch.await();
+
+    // then
+    UserPoint userPoint = userPointTableStub.selectById(userId);
+    assertEquals(0, userPoint.point());
+    assertEquals(5, insufficientCount.get());
+
+    List<PointHistory> pointHistories = pointHistoryTableStub.selectAllByUserId(userId);
+    assertEquals(5, pointHistories.size());
+  }
+
+  @Test
+  public void chargeAndUse_EachCallerGetsItsOwnBalance() {
+    long userId = 1;
+
+    // when
+    UserPoint charged = batchingPointService.charge(userId, 300);
+    UserPoint used = batchingPointService.use(userId, 100);
+
+    // then
+    assertEquals(300, charged.point());
+    assertEquals(200, used.point());
+  }
+
+  @Test
+  public void drainedQueue_IsRemoved() throws InterruptedException {
+    long userId = 1;
+
+    // given
+    Thread[] threads = new Thread[20];
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] = new Thread(() -> batchingPointService.charge(userId, 100));
+      threads[i].start();
+    }
+
+    // when
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    // then
+    assertEquals(0, batchingPointService.queuedUsers());
+    assertEquals(2_000, batchingPointService.getUserPoint(userId).point());
+  }
+
+  @Test
+  public void tableThrowsError_ThenCallerGetsIt_AndQueueIsRemoved() {
+    // given
+    BatchingPointServiceImpl service =
+        new BatchingPointServiceImpl(
+            new UserPointTableStub() {
+              @Override
+              public UserPoint selectById(Long id) {
+                throw new LinkageError("table is broken");
+              }
+            },
+            pointHistoryTableStub);
+
+    // when
+    assertThrows(LinkageError.class, () -> service.charge(1, 100));
+
+    // then
+    assertEquals(0, service.queuedUsers());
+  }
+}
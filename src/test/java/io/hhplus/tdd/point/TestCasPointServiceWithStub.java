@@ -0,0 +1,328 @@
+package io.hhplus.tdd.point;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.hhplus.tdd.database.LatencyModel;
+import io.hhplus.tdd.database.PointHistoryTableStub;
+import io.hhplus.tdd.database.UserPointTableStub;
+import io.hhplus.tdd.point.cas.CasProperties;
+import io.hhplus.tdd.point.exceptions.HistoryQueueFullException;
+import io.hhplus.tdd.point.exceptions.InsufficientPointsException;
+import io.hhplus.tdd.point.history.HistoryWriteBehindProperties.OverflowPolicy;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.service.CasPointServiceImpl;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestCasPointServiceWithStub {
+  private UserPointTableStub userPointTableStub;
+  private PointHistoryTableStub pointHistoryTableStub;
+  private CasPointServiceImpl casPointService;
+
+  @BeforeEach
+  public void setUp() {
+    userPointTableStub = new UserPointTableStub();
+    pointHistoryTableStub = new PointHistoryTableStub();
+    // 스텁 테이블은 thread-safe 하지 않으므로 write-behind 레인을 하나만 사용합니다.
+    casPointService = new CasPointServiceImpl(userPointTableStub, pointHistoryTableStub, 1);
+  }
+
+  @AfterEach
+  public void tearDown() throws InterruptedException {
+    casPointService.shutdown();
+  }
+
+  @Test
+  public void charge100PointConcurrently_ThenTableHasSameBalance() throws InterruptedException {
+    long userId = 1;
+    long chargeAmount = 100;
+    int threadCount = 20;
+
+    CountDownLatch latch = new CountDownLatch(threadCount);
+
+    // when
+    for (int i = 0; i < threadCount; i++) {
+      new Thread(
+              () -> {
+                try {
+                  casPointService.charge(userId, chargeAmount);
+                } finally {
+                  latch.countDown();
+                }
+              })
+          .start();
+    }
+    latch.await();
+
+    // then
+    assertEquals(chargeAmount * threadCount, casPointService.getUserPoint(userId).point());
+
+    casPointService.flush();
+    assertEquals(chargeAmount * threadCount, userPointTableStub.selectById(userId).point());
+    List<PointHistory> pointHistories = pointHistoryTableStub.selectAllByUserId(userId);
+    assertEquals(threadCount, pointHistories.size());
+  }
+
+  @Test
+  public void use100PointConcurrently_ToExistUser_With500Point_NeverOverdraw()
+      throws InterruptedException {
+    long userId = 1;
+    long useAmount = 100;
+    int threadCount = 10;
+
+    // given
+    HashMap<Long, UserPoint> table = new HashMap<>();
+    table.put(userId, new UserPoint(userId, 500, System.currentTimeMillis()));
+    userPointTableStub.setTable(table);
+
+    CountDownLatch latch = new CountDownLatch(threadCount);
+    AtomicInteger insufficientCount = new AtomicInteger();
+
+    // when
+    for (int i = 0; i < threadCount; i++) {
+      new Thread(
+              () -> {
+                try {
+                  casPointService.use(userId, useAmount);
+                } catch (InsufficientPointsException e) {
+                  insufficientCount.incrementAndGet();
+                } finally {
+                  latch.countDown();
+                }
+              })
+          .start();
+    }
+    latch.await();
+
+    // then
+    assertEquals(5, insufficientCount.get());
+    assertEquals(0, casPointService.getUserPoint(userId).point());
+
+    casPointService.flush();
+    assertEquals(0, userPointTableStub.selectById(userId).point());
+    assertEquals(5, pointHistoryTableStub.selectAllByUserId(userId).size());
+  }
+
+  @Test
+  public void shardedUser_ChargeAndUseConcurrently_NeverOverdraw() throws InterruptedException {
+    long userId = 1;
+    long initialPoint = 1_000;
+    long useAmount = 100;
+    long chargeAmount = 30;
+    int useThreadCount = 40;
+    int chargeThreadCount = 20;
+
+    // given
+    CasPointServiceImpl shardedService = newZeroLatencyService(userId, initialPoint);
+    shardedService.enableSharding(userId, 4);
+
+    CountDownLatch start = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(useThreadCount + chargeThreadCount);
+    AtomicInteger usedCount = new AtomicInteger();
+    AtomicInteger negativeObserved = new AtomicInteger();
+
+    // when
+    for (int i = 0; i < useThreadCount + chargeThreadCount; i++) {
+      boolean use = i < useThreadCount;
+      new Thread(
+              () -> {
+                try {
+                  start.await();
+                  if (use) {
+                    shardedService.use(userId, useAmount);
+                    usedCount.incrementAndGet();
+                  } else {
+                    shardedService.charge(userId, chargeAmount);
+                  }
+                } catch (InsufficientPointsException | InterruptedException ignored) {
+                  // 잔액이 모자란 use 는 실패해야 합니다.
+                } finally {
+                  if (shardedService.getUserPoint(userId).point() < 0) {
+                    negativeObserved.incrementAndGet();
+                  }
+                  done.countDown();
+                }
+              })
+          .start();
+    }
+    start.countDown();
+    done.await();
+
+    // then
+    long expected =
+        initialPoint + chargeAmount * chargeThreadCount - useAmount * usedCount.get();
+    assertEquals(0, negativeObserved.get());
+    assertTrue(usedCount.get() >= initialPoint / useAmount);
+    assertTrue(expected >= 0);
+    assertEquals(expected, shardedService.getUserPoint(userId).point());
+
+    shardedService.flush();
+    assertEquals(expected, userPointTableStub.selectById(userId).point());
+    shardedService.shutdown();
+  }
+
+  @Test
+  public void disableSharding_ThenRemainingCellBalanceIsStillUsable() throws InterruptedException {
+    long userId = 1;
+
+    // given
+    CasPointServiceImpl shardedService = newZeroLatencyService(userId, 0);
+    shardedService.enableSharding(userId, 4);
+    shardedService.charge(userId, 500);
+
+    // when
+    shardedService.disableSharding(userId);
+    UserPoint userPoint = shardedService.use(userId, 500);
+
+    // then
+    assertFalse(shardedService.isSharded(userId));
+    assertEquals(0, userPoint.point());
+    assertThrows(InsufficientPointsException.class, () -> shardedService.use(userId, 1));
+    shardedService.shutdown();
+  }
+
+  @Test
+  public void laneIsFull_WithRejectPolicy_ThenThrow_AndBalanceIsUnchanged()
+      throws InterruptedException {
+    long userId = 1;
+
+    // given : 이력 기록이 느려 첫 작업이 레인의 유일한 자리를 잡고 있습니다.
+    userPointTableStub = new UserPointTableStub(LatencyModel.zero(), LatencyModel.zero());
+    CasPointServiceImpl service =
+        new CasPointServiceImpl(
+            userPointTableStub,
+            new PointHistoryTableStub(LatencyModel.fixed(Duration.ofMillis(300))),
+            new CasProperties(1, 1, OverflowPolicy.REJECT, Duration.ZERO, 0, List.of()));
+    service.charge(userId, 100);
+
+    // when
+    assertThrows(HistoryQueueFullException.class, () -> service.charge(userId, 100));
+
+    // then
+    assertEquals(100, service.getUserPoint(userId).point());
+    service.flush();
+    assertEquals(100, userPointTableStub.selectById(userId).point());
+    service.shutdown();
+  }
+
+  @Test
+  public void failedWrite_IsRetried_AndCountedWhenItKeepsFailing() throws InterruptedException {
+    AtomicInteger attempts = new AtomicInteger();
+    userPointTableStub =
+        new UserPointTableStub(LatencyModel.zero(), LatencyModel.zero()) {
+          @Override
+          public UserPoint insertOrUpdate(long id, long amount) {
+            if (id == 2 || attempts.incrementAndGet() == 1) {
+              throw new IllegalStateException("table is unavailable");
+            }
+            return super.insertOrUpdate(id, amount);
+          }
+        };
+    CasPointServiceImpl service =
+        new CasPointServiceImpl(
+            userPointTableStub, new PointHistoryTableStub(LatencyModel.zero()), 1);
+
+    // when
+    service.charge(1, 100);
+    service.charge(2, 100);
+    service.flush();
+
+    // then
+    assertEquals(100, userPointTableStub.selectById(1L).point());
+    assertEquals(1, service.failedCount());
+    service.shutdown();
+  }
+
+  @Test
+  public void idleBalance_IsEvicted_AndReloadedFromTable() throws InterruptedException {
+    long userId = 1;
+    long shardedUserId = 2;
+
+    // given
+    userPointTableStub = new UserPointTableStub(LatencyModel.zero(), LatencyModel.zero());
+    CasPointServiceImpl service =
+        new CasPointServiceImpl(
+            userPointTableStub,
+            new PointHistoryTableStub(LatencyModel.zero()),
+            new CasProperties(
+                1, 16, OverflowPolicy.BLOCK, Duration.ofMillis(20), 2, List.of(shardedUserId)));
+    service.charge(userId, 100);
+    service.charge(shardedUserId, 100);
+    service.flush();
+
+    // when
+    Thread.sleep(100);
+    service.evictIdleBalances();
+
+    // then : 나눠 담은 잔액만 남습니다.
+    assertEquals(1, service.liveBalances());
+    assertTrue(service.isSharded(shardedUserId));
+    assertEquals(100, service.getUserPoint(userId).point());
+    assertEquals(150, service.charge(userId, 50).point());
+    service.flush();
+    assertEquals(150, userPointTableStub.selectById(userId).point());
+    service.shutdown();
+  }
+
+  @Test
+  public void repairUserPoint_CorrectsInMemoryBalance_AndTable() throws InterruptedException {
+    long userId = 1;
+
+    // given : 셀에 나눠 담긴 잔액 300 을 이력 합계 100 으로 고칩니다.
+    CasPointServiceImpl service = newZeroLatencyService(userId, 0);
+    service.enableSharding(userId, 2);
+    service.charge(userId, 300);
+
+    // when
+    UserPoint repaired = service.repairUserPoint(userId, 300, 100);
+
+    // then
+    assertEquals(100, repaired.point());
+    assertEquals(100, service.getUserPoint(userId).point());
+    service.flush();
+    assertEquals(100, userPointTableStub.selectById(userId).point());
+    service.shutdown();
+  }
+
+  @Test
+  public void repairUserPoint_WhenBalanceChanged_ThenReturnNull() throws InterruptedException {
+    long userId = 1;
+
+    // given
+    CasPointServiceImpl service = newZeroLatencyService(userId, 0);
+    service.charge(userId, 300);
+
+    // when
+    UserPoint repaired = service.repairUserPoint(userId, 200, 100);
+
+    // then
+    assertNull(repaired);
+    assertEquals(300, service.getUserPoint(userId).point());
+    service.shutdown();
+  }
+
+  @Test
+  void chargeNegativePoint_ThenThrow_IllegalArgumentException() {
+    assertThrows(IllegalArgumentException.class, () -> casPointService.charge(1, -100));
+  }
+
+  private CasPointServiceImpl newZeroLatencyService(long userId, long point) {
+    userPointTableStub = new UserPointTableStub(LatencyModel.zero(), LatencyModel.zero());
+    HashMap<Long, UserPoint> table = new HashMap<>();
+    table.put(userId, new UserPoint(userId, point, System.currentTimeMillis()));
+    userPointTableStub.setTable(table);
+    return new CasPointServiceImpl(
+        userPointTableStub, new PointHistoryTableStub(LatencyModel.zero()), 1);
+  }
+}
@@ -0,0 +1,105 @@
+package io.hhplus.tdd.point;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.hhplus.tdd.point.exceptions.LockAcquisitionTimeoutException;
+import io.hhplus.tdd.point.lock.EvictingUserLockStrategy;
+import io.hhplus.tdd.point.lock.UserLock;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+// 락을 잡은 쓰레드가 없을 때마다 락이 맵에서 제거되므로,
+// 제거와 재생성이 계속 경합하는 상황에서도 같은 유저에 대해 한 쓰레드만 임계 구역에 들어가는지 확인합니다.
+public class TestEvictingUserLockStrategy {
+
+  @Test
+  public void mutualExclusionHolds_WhileLocksAreEvictedAndRecreated() throws InterruptedException {
+    EvictingUserLockStrategy lockStrategy = new EvictingUserLockStrategy(false, 0);
+    int userCount = 4;
+    int threadCount = 16;
+    int iterationCount = 5_000;
+
+    long[] counters = new long[userCount];
+    AtomicInteger[] holders = new AtomicInteger[userCount];
+    for (int i = 0; i < userCount; i++) {
+      holders[i] = new AtomicInteger();
+    }
+    AtomicInteger violations = new AtomicInteger();
+
+    CountDownLatch start = new CountDownLatch(1);
+    CountDownLatch latch = new CountDownLatch(threadCount);
+
+    // when
+    for (int i = 0; i < threadCount; i++) {
+      new Thread(
+              () -> {
+                try {
+                  start.await();
+                  for (int j = 0; j < iterationCount; j++) {
+                    int userId = ThreadLocalRandom.current().nextInt(userCount);
+                    try (UserLock ignored = lockStrategy.acquire(userId)) {
+                      if (holders[userId].incrementAndGet() != 1) {
+                        violations.incrementAndGet();
+                      }
+                      counters[userId]++;
+                      holders[userId].decrementAndGet();
+                    }
+                  }
+                } catch (InterruptedException ignored) {
+                } finally {
+                  latch.countDown();
+                }
+              })
+          .start();
+    }
+    start.countDown();
+    latch.await();
+
+    // then
+    long total = 0;
+    for (long counter : counters) {
+      total += counter;
+    }
+    assertEquals(0, violations.get());
+    assertEquals((long) threadCount * iterationCount, total);
+    assertEquals(0, lockStrategy.liveLocks());
+    assertTrue(lockStrategy.evictions() > 0);
+    assertTrue(lockStrategy.peakLocks() <= userCount);
+  }
+
+  @Test
+  public void evictLock_AfterTimedOutWaiterGivesUp() throws InterruptedException {
+    EvictingUserLockStrategy lockStrategy = new EvictingUserLockStrategy(true, 50);
+    long userId = 1;
+
+    // given
+    CountDownLatch acquired = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Thread holder =
+        new Thread(
+            () -> {
+              try (UserLock ignored = lockStrategy.acquire(userId)) {
+                acquired.countDown();
+                release.await();
+              } catch (InterruptedException ignored) {
+              }
+            });
+    holder.start();
+    acquired.await();
+
+    // when
+    assertThrows(LockAcquisitionTimeoutException.class, () -> lockStrategy.acquire(userId));
+    assertEquals(1, lockStrategy.liveLocks());
+
+    release.countDown();
+    holder.join();
+
+    // then
+    assertEquals(0, lockStrategy.liveLocks());
+    assertEquals(1, lockStrategy.evictions());
+  }
+}
@@ -0,0 +1,44 @@
+package io.hhplus.tdd.point;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import io.hhplus.tdd.point.hotkey.HotKeyStats;
+import io.hhplus.tdd.point.hotkey.HotKeyTracker;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(HotKeyController.class)
+public class TestHotKeyControllerWithMock {
+  @Autowired private MockMvc mockMvc;
+
+  @MockBean private HotKeyTracker hotKeyTracker;
+
+  @Test
+  public void getHotKeys() throws Exception {
+    when(hotKeyTracker.top(2))
+        .thenReturn(
+            List.of(
+                new HotKeyStats(1, 500, 0, 50.0, 120, 3.5, 40.0),
+                new HotKeyStats(2, 100, 10, 10.0, 0, 0.0, 0.0)));
+
+    mockMvc
+        .perform(get("/admin/point/hot-keys").param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].userId").value(1))
+        .andExpect(jsonPath("$[0].contended").value(120))
+        .andExpect(jsonPath("$[1].maxOverestimate").value(10));
+  }
+
+  @Test
+  public void getHotKeys_WithInvalidLimit_ReturnBadRequest() throws Exception {
+    mockMvc
+        .perform(get("/admin/point/hot-keys").param("limit", "0"))
+        .andExpect(status().isBadRequest());
+  }
+}
@@ -0,0 +1,116 @@
+package io.hhplus.tdd.point;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.hhplus.tdd.point.hotkey.HotKeyStats;
+import io.hhplus.tdd.point.hotkey.HotKeyTracker;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestHotKeyTracker {
+  private static final Duration WINDOW = Duration.ofSeconds(10);
+
+  private AtomicLong clock;
+  private HotKeyTracker hotKeyTracker;
+
+  @BeforeEach
+  public void setUp() {
+    clock = new AtomicLong();
+    hotKeyTracker = new HotKeyTracker(64, WINDOW, clock::get);
+  }
+
+  @Test
+  public void hotUser_IsReported_AmongManyColdUsers() {
+    long hotUserId = 7;
+
+    // given
+    for (long coldUserId = 1_000; coldUserId < 3_000; coldUserId++) {
+      hotKeyTracker.record(coldUserId, 0, false);
+      if (coldUserId % 2 == 0) {
+        hotKeyTracker.record(hotUserId, 0, false);
+      }
+    }
+
+    // when
+    List<HotKeyStats> top = hotKeyTracker.top(1);
+
+    // then
+    assertEquals(hotUserId, top.get(0).userId());
+    assertTrue(top.get(0).operations() >= 1_000);
+    assertTrue(top.get(0).operations() - top.get(0).maxOverestimate() <= 1_000);
+  }
+
+  @Test
+  public void trackedCounts_AddUpToAllRecords_WhileSlotsAreReassigned() {
+    // given : 자리보다 훨씬 많은 유저를 섞어 기록해, 자리를 넘겨주고 받는 일이 계속 일어나게 합니다.
+    int records = 0;
+    for (long i = 0; i < 20_000; i++) {
+      hotKeyTracker.record((i * 7919) % 5_003, 0, false);
+      records++;
+    }
+
+    // when
+    List<HotKeyStats> tracked = hotKeyTracker.top(1_000);
+
+    // then : 자리는 건수째로 넘어가므로, 잃어버리거나 중복된 자리가 없으면 합계가 기록 수와 같습니다.
+    assertEquals(64, tracked.size());
+    assertEquals(records, tracked.stream().mapToLong(HotKeyStats::operations).sum());
+    assertEquals(64, tracked.stream().map(HotKeyStats::userId).distinct().count());
+  }
+
+  @Test
+  public void lockWaitStats_AreAggregatedPerUser() {
+    long userId = 1;
+
+    // given
+    hotKeyTracker.record(userId, TimeUnit.MILLISECONDS.toNanos(2), true);
+    hotKeyTracker.record(userId, TimeUnit.MILLISECONDS.toNanos(4), false);
+    clock.set(TimeUnit.SECONDS.toNanos(2));
+
+    // when
+    HotKeyStats stats = hotKeyTracker.top(10).get(0);
+
+    // then
+    assertEquals(2, stats.operations());
+    assertEquals(1, stats.contended());
+    assertEquals(3.0, stats.averageLockWaitMillis(), 0.001);
+    assertEquals(4.0, stats.maxLockWaitMillis(), 0.001);
+    assertEquals(1.0, stats.operationsPerSecond(), 0.001);
+  }
+
+  @Test
+  public void previousWindow_IsMerged_AndOlderWindowsExpire() {
+    long userId = 1;
+
+    // given
+    hotKeyTracker.record(userId, 0, false);
+    clock.addAndGet(WINDOW.toNanos());
+    hotKeyTracker.record(userId, 0, false);
+
+    // when
+    List<HotKeyStats> merged = hotKeyTracker.top(10);
+    clock.addAndGet(2 * WINDOW.toNanos());
+    List<HotKeyStats> expired = hotKeyTracker.top(10);
+
+    // then
+    assertEquals(2, merged.get(0).operations());
+    assertTrue(expired.isEmpty());
+  }
+
+  @Test
+  public void disabledTracker_ReportsNothing() {
+    // given
+    HotKeyTracker disabled = HotKeyTracker.disabled();
+
+    // when
+    disabled.record(1, 0, true);
+
+    // then
+    assertTrue(disabled.top(10).isEmpty());
+  }
+}
@@ -0,0 +1,249 @@
+package io.hhplus.tdd.point;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.hhplus.tdd.point.exceptions.IdempotencyKeyConflictException;
+import io.hhplus.tdd.point.exceptions.InsufficientPointsException;
+import io.hhplus.tdd.point.idempotency.IdempotencyCache;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.model.UserPoint;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestIdempotencyCache {
+  private IdempotencyCache idempotencyCache;
+
+  @BeforeEach
+  public void setUp() {
+    idempotencyCache = IdempotencyCache.of(100, Duration.ofMinutes(1));
+  }
+
+  @Test
+  public void concurrentDuplicates_WaitForInFlightRequest_InsteadOfExecutingAgain()
+      throws InterruptedException {
+    int threadCount = 10;
+    AtomicInteger executions = new AtomicInteger();
+    CountDownLatch latch = new CountDownLatch(threadCount);
+    UserPoint[] results = new UserPoint[threadCount];
+
+    // when
+    for (int i = 0; i < threadCount; i++) {
+      int index = i;
+      new Thread(
+              () -> {
+                try {
+                  results[index] =
+                      idempotencyCache.execute(
+                          "key",
+                          1,
+                          TransactionType.CHARGE,
+                          100,
+                          () -> {
+                            executions.incrementAndGet();
+                            sleep(100);
+                            return new UserPoint(1, 100, 100L);
+                          });
+                } finally {
+                  latch.countDown();
+                }
+              })
+          .start();
+    }
+    latch.await();
+
+    // then
+    assertEquals(1, executions.get());
+    for (UserPoint result : results) {
+      assertEquals(new UserPoint(1, 100, 100L), result);
+    }
+  }
+
+  @Test
+  public void sameKeyForDifferentRequest_ThenThrowIdempotencyKeyConflict() {
+    // given
+    idempotencyCache.execute(
+        "key", 1, TransactionType.CHARGE, 100, () -> new UserPoint(1, 100, 100L));
+
+    // when & then
+    assertThrows(
+        IdempotencyKeyConflictException.class,
+        () ->
+            idempotencyCache.execute(
+                "key", 1, TransactionType.CHARGE, 200, () -> new UserPoint(1, 300, 100L)));
+  }
+
+  @Test
+  public void failedRequest_CanBeRetriedWithSameKey() {
+    // given
+    assertThrows(
+        InsufficientPointsException.class,
+        () ->
+            idempotencyCache.execute(
+                "key",
+                1,
+                TransactionType.USE,
+                100,
+                () -> {
+                  throw new InsufficientPointsException();
+                }));
+
+    // when
+    UserPoint userPoint =
+        idempotencyCache.execute(
+            "key", 1, TransactionType.USE, 100, () -> new UserPoint(1, 0, 100L));
+
+    // then
+    assertEquals(0, userPoint.point());
+  }
+
+  @Test
+  public void errorInAction_IsPassedToWaitingDuplicate_AndKeyIsReleased()
+      throws InterruptedException {
+    // given
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Throwable[] failures = new Throwable[2];
+    Thread first =
+        new Thread(
+            () ->
+                failures[0] =
+                    catchThrowable(
+                        () ->
+                            idempotencyCache.execute(
+                                "key",
+                                1,
+                                TransactionType.CHARGE,
+                                100,
+                                () -> {
+                                  started.countDown();
+                                  await(release);
+                                  throw new StackOverflowError();
+                                })));
+    first.start();
+    started.await();
+    Thread duplicate =
+        new Thread(
+            () ->
+                failures[1] =
+                    catchThrowable(
+                        () ->
+                            idempotencyCache.execute(
+                                "key",
+                                1,
+                                TransactionType.CHARGE,
+                                100,
+                                () -> new UserPoint(1, 100, 100L))));
+    duplicate.start();
+    awaitParked(duplicate);
+
+    // when
+    release.countDown();
+    first.join();
+    duplicate.join();
+
+    // then
+    assertInstanceOf(StackOverflowError.class, failures[0]);
+    assertInstanceOf(StackOverflowError.class, failures[1]);
+    assertEquals(0, idempotencyCache.size());
+  }
+
+  @Test
+  public void inFlightKey_IsNotEvictedBySizeLimit() throws InterruptedException {
+    // given
+    IdempotencyCache smallCache = IdempotencyCache.of(1, Duration.ofMinutes(1));
+    AtomicInteger executions = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    UserPoint[] results = new UserPoint[2];
+    Thread first =
+        new Thread(
+            () ->
+                results[0] =
+                    smallCache.execute(
+                        "key",
+                        1,
+                        TransactionType.CHARGE,
+                        100,
+                        () -> {
+                          executions.incrementAndGet();
+                          started.countDown();
+                          await(release);
+                          return new UserPoint(1, 100, 100L);
+                        }));
+    first.start();
+    started.await();
+
+    // when
+    // 크기 제한을 훨씬 넘도록 다른 키들을 처리합니다.
+    for (int i = 0; i < 100; i++) {
+      long userId = i + 2;
+      smallCache.execute(
+          "other-" + i,
+          userId,
+          TransactionType.CHARGE,
+          100,
+          () -> new UserPoint(userId, 100, 100L));
+    }
+    Thread duplicate =
+        new Thread(
+            () ->
+                results[1] =
+                    smallCache.execute(
+                        "key",
+                        1,
+                        TransactionType.CHARGE,
+                        100,
+                        () -> {
+                          executions.incrementAndGet();
+                          return new UserPoint(1, 200, 200L);
+                        }));
+    duplicate.start();
+    awaitParked(duplicate);
+    release.countDown();
+    first.join();
+    duplicate.join();
+
+    // then
+    assertEquals(1, executions.get());
+    assertEquals(new UserPoint(1, 100, 100L), results[0]);
+    assertEquals(new UserPoint(1, 100, 100L), results[1]);
+  }
+
+  private static Throwable catchThrowable(Runnable runnable) {
+    try {
+      runnable.run();
+      return null;
+    } catch (Throwable e) {
+      return e;
+    }
+  }
+
+  // 중복 요청이 처음 요청의 결과를 기다리기 시작했거나, 키가 밀려나 직접 실행을 마칠 때까지 기다립니다.
+  private static void awaitParked(Thread thread) {
+    while (thread.getState() != Thread.State.WAITING
+        && thread.getState() != Thread.State.TERMINATED) {
+      Thread.onSpinWait();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -1,14 +1,28 @@
 package io.hhplus.tdd.point;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.hhplus.tdd.database.PointHistoryTableStub;
 import io.hhplus.tdd.database.UserPointTableStub;
+import io.hhplus.tdd.point.exceptions.LockAcquisitionTimeoutException;
+import io.hhplus.tdd.point.exceptions.PointErrorStatus;
+import io.hhplus.tdd.point.lock.StripedUserLockStrategy;
+import io.hhplus.tdd.point.lock.UserLock;
+import io.hhplus.tdd.point.lock.UserLockStrategy;
 import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.PointOperationResult;
+import io.hhplus.tdd.point.model.TransactionType;
 import io.hhplus.tdd.point.model.UserPoint;
 import io.hhplus.tdd.point.service.LockPointServiceImpl;
+import io.hhplus.tdd.point.service.PointService;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -42,17 +56,17 @@ public class TestLockPointServiceWithStub {
     int threadCount = 10;
 
     CountDownLatch latch = new CountDownLatch(threadCount);
+    Queue<Exception> failures = new ConcurrentLinkedQueue<>();
 
     // when
     for (int i = 0; i < threadCount; i++) {
       Thread.sleep(10);
-      int count = i;
       Runnable task =
           () -> {
             try {
-              lockPointService.charge(userId, chargeAmount, count);
+              lockPointService.charge(userId, chargeAmount);
             } catch (Exception e) {
-              System.out.println(e);
+              failures.add(e);
             } finally {
               latch.countDown();
             }
@@ -62,6 +76,7 @@ public class TestLockPointServiceWithStub {
     latch.await();
 
     // then
+    assertEquals(List.of(), List.copyOf(failures));
     UserPoint userPoint = userPointTableStub.selectById(userId);
     assertEquals(currentPointAmount + (chargeAmount * threadCount), userPoint.point());
 
@@ -86,17 +101,17 @@ public class TestLockPointServiceWithStub {
     int threadCount = 10;
 
     CountDownLatch latch = new CountDownLatch(threadCount);
+    Queue<Exception> failures = new ConcurrentLinkedQueue<>();
 
     // when
     for (int i = 0; i < threadCount; i++) {
       Thread.sleep(10);
-      int count = i;
       Runnable task =
           () -> {
             try {
-              lockPointService.use(userId, useAmount, count);
+              lockPointService.use(userId, useAmount);
             } catch (Exception e) {
-              System.out.println(e);
+              failures.add(e);
             } finally {
               latch.countDown();
             }
@@ -106,6 +121,7 @@ public class TestLockPointServiceWithStub {
     latch.await();
 
     // then
+    assertEquals(List.of(), List.copyOf(failures));
     UserPoint userPoint = userPointTableStub.selectById(userId);
     assertEquals(currentPointAmount - (useAmount * threadCount), userPoint.point());
 
@@ -135,25 +151,24 @@ public class TestLockPointServiceWithStub {
     int threadCount = iterationCount * 2;
 
     CountDownLatch latch = new CountDownLatch(threadCount);
+    Queue<Exception> failures = new ConcurrentLinkedQueue<>();
 
     // when
     for (int i = 0; i < threadCount; i++) {
-      System.out.println();
       Thread.sleep(100);
       int count = i;
       Runnable task =
           () -> {
             try {
               if (count % 2 == 0) {
-                lockPointService.charge(userId, chargeAmount, count);
+                lockPointService.charge(userId, chargeAmount);
               } else {
-                lockPointService.use(userId, useAmount, count);
+                lockPointService.use(userId, useAmount);
               }
             } catch (Exception e) {
-              System.out.println(e);
+              failures.add(e);
             } finally {
               latch.countDown();
-              System.out.println("countdown " + latch.getCount());
             }
           };
 
@@ -162,6 +177,7 @@ public class TestLockPointServiceWithStub {
     latch.await();
 
     // then
+    assertEquals(List.of(), List.copyOf(failures));
     UserPoint userPoint = userPointTableStub.selectById(userId);
     assertEquals(
         currentPointAmount - (decreaseAmountPerIteration * iterationCount), userPoint.point());
@@ -169,4 +185,160 @@ public class TestLockPointServiceWithStub {
     List<PointHistory> pointHistories = pointHistoryTableStub.selectAllByUserId(userId);
     assertEquals(threadCount, pointHistories.size());
   }
+
+  @Test
+  public void charge100PointConcurrently_ThroughPointServiceInterface() throws InterruptedException {
+    long userId = 1;
+    long chargeAmount = 100;
+    int threadCount = 10;
+
+    // given
+    PointService pointService = lockPointService;
+    CountDownLatch latch = new CountDownLatch(threadCount);
+    Queue<Exception> failures = new ConcurrentLinkedQueue<>();
+
+    // when
+    for (int i = 0; i < threadCount; i++) {
+      new Thread(
+              () -> {
+                try {
+                  pointService.charge(userId, chargeAmount);
+                } catch (Exception e) {
+                  failures.add(e);
+                } finally {
+                  latch.countDown();
+                }
+              })
+          .start();
+    }
+    latch.await();
+
+    // then
+    assertEquals(List.of(), List.copyOf(failures));
+    UserPoint userPoint = userPointTableStub.selectById(userId);
+    assertEquals(chargeAmount * threadCount, userPoint.point());
+  }
+
+  @Test
+  public void throwLockAcquisitionTimeout_WhenLockIsHeldLongerThanTimeout()
+      throws InterruptedException {
+    long userId = 1;
+    UserLockStrategy lockStrategy = new StripedUserLockStrategy(16, false, 50);
+    lockPointService =
+        new LockPointServiceImpl(userPointTableStub, pointHistoryTableStub, lockStrategy);
+
+    // given
+    CountDownLatch acquired = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Thread holder =
+        new Thread(
+            () -> {
+              try (UserLock ignored = lockStrategy.acquire(userId)) {
+                acquired.countDown();
+                release.await();
+              } catch (InterruptedException ignored) {
+              }
+            });
+    holder.start();
+    acquired.await();
+
+    // when & then
+    assertThrows(
+        LockAcquisitionTimeoutException.class, () -> lockPointService.charge(userId, 100));
+
+    release.countDown();
+    holder.join();
+    assertEquals(100, lockPointService.charge(userId, 100).point());
+  }
+
+  @Test
+  public void lockTimeout_IsOverloaded_OnlyWhenEnoughRequestsAreWaiting()
+      throws InterruptedException {
+    long userId = 1;
+    UserLockStrategy lockStrategy = new StripedUserLockStrategy(16, false, 200, 2);
+    lockPointService =
+        new LockPointServiceImpl(userPointTableStub, pointHistoryTableStub, lockStrategy);
+
+    // given
+    CountDownLatch acquired = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Thread holder =
+        new Thread(
+            () -> {
+              try (UserLock ignored = lockStrategy.acquire(userId)) {
+                acquired.countDown();
+                release.await();
+              } catch (InterruptedException ignored) {
+              }
+            });
+    holder.start();
+    acquired.await();
+
+    // when
+    LockAcquisitionTimeoutException alone =
+        assertThrows(
+            LockAcquisitionTimeoutException.class, () -> lockPointService.charge(userId, 100));
+    Queue<LockAcquisitionTimeoutException> timeouts = new ConcurrentLinkedQueue<>();
+    CountDownLatch latch = new CountDownLatch(2);
+    for (int i = 0; i < 2; i++) {
+      new Thread(
+              () -> {
+                try {
+                  lockPointService.charge(userId, 100);
+                } catch (LockAcquisitionTimeoutException e) {
+                  timeouts.add(e);
+                } finally {
+                  latch.countDown();
+                }
+              })
+          .start();
+    }
+    latch.await();
+    release.countDown();
+    holder.join();
+
+    // then - 혼자 기다리면 429, 둘이 함께 기다리면 먼저 타임아웃된 요청은 503 입니다.
+    assertFalse(alone.overloaded());
+    assertEquals(429, PointErrorStatus.of(alone));
+    assertEquals(2, timeouts.size());
+    assertTrue(timeouts.stream().anyMatch(LockAcquisitionTimeoutException::overloaded));
+    assertEquals(
+        503,
+        PointErrorStatus.of(
+            timeouts.stream().filter(LockAcquisitionTimeoutException::overloaded).findFirst().get()));
+  }
+
+  @Test
+  public void applyOperations_GroupedByUser_ReturnResultsInRequestOrder() {
+    // given
+    HashMap<Long, UserPoint> table = new HashMap<>();
+    table.put(1L, new UserPoint(1, 100, System.currentTimeMillis()));
+    table.put(2L, new UserPoint(2, 0, System.currentTimeMillis()));
+    userPointTableStub.setTable(table);
+
+    List<PointOperation> operations =
+        List.of(
+            new PointOperation(1, TransactionType.USE, 50),
+            new PointOperation(2, TransactionType.USE, 10),
+            new PointOperation(2, TransactionType.CHARGE, 30),
+            new PointOperation(1, TransactionType.CHARGE, -10),
+            new PointOperation(1, TransactionType.USE, 50));
+
+    // when
+    List<PointOperationResult> results = lockPointService.applyOperations(operations);
+
+    // then
+    assertEquals(operations.size(), results.size());
+    assertEquals(50, results.get(0).userPoint().point());
+    assertEquals("400", results.get(1).code());
+    assertEquals("Insufficient points", results.get(1).message());
+    assertEquals(30, results.get(2).userPoint().point());
+    assertEquals("400", results.get(3).code());
+    assertEquals(0, results.get(4).userPoint().point());
+
+    assertEquals(0, userPointTableStub.selectById(1L).point());
+    assertEquals(30, userPointTableStub.selectById(2L).point());
+    assertEquals(2, pointHistoryTableStub.selectAllByUserId(1).size());
+    assertEquals(1, pointHistoryTableStub.selectAllByUserId(2).size());
+  }
 }
@@ -1,22 +1,39 @@
 package io.hhplus.tdd.point;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import io.hhplus.tdd.point.exceptions.IdempotencyKeyConflictException;
 import io.hhplus.tdd.point.exceptions.InsufficientPointsException;
+import io.hhplus.tdd.point.exceptions.LockAcquisitionTimeoutException;
+import io.hhplus.tdd.point.idempotency.IdempotencyCache;
 import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryQuery;
+import io.hhplus.tdd.point.model.PointOperation;
+import io.hhplus.tdd.point.model.PointOperationResult;
+import io.hhplus.tdd.point.model.PointSummary;
 import io.hhplus.tdd.point.model.TransactionType;
 import io.hhplus.tdd.point.model.UserPoint;
-import io.hhplus.tdd.point.service.PointServiceImpl;
+import io.hhplus.tdd.point.service.PointService;
+import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.unit.DataSize;
 
 // 컨트롤러에게 기대하는 행동은
 // 1. 라우팅 2. 파라미터 바인딩 3. 서비스 호출 4. 응답 생성 및 반환이다.
@@ -26,10 +43,25 @@ import org.springframework.test.web.servlet.MockMvc;
 // 에러를 서비스 레이어에서 던지지만, 해당 에러가 리스폰스로 잘 들어오는지 확인해보니
 // APiControllerAdvice 의 exception handler 가 무조건 500 에러로 던지는 것을 수정할 수 있었다.
 @WebMvcTest(PointController.class)
+@Import(TestPointControllerWithMock.IdempotencyConfig.class)
 public class TestPointControllerWithMock {
+  @TestConfiguration
+  static class IdempotencyConfig {
+    @Bean
+    IdempotencyCache idempotencyCache() {
+      return IdempotencyCache.of(100, Duration.ofMinutes(1));
+    }
+
+    @Bean
+    PointBatchProperties pointBatchProperties() {
+      return new PointBatchProperties(3, DataSize.ofBytes(200));
+    }
+  }
+
   @Autowired private MockMvc mockMvc;
 
-  @MockBean private PointServiceImpl pointService;
+  @MockBean(name = "servingPointService")
+  private PointService pointService;
 
   @Test
   public void getUserPoint() throws Exception {
@@ -55,6 +87,41 @@ public class TestPointControllerWithMock {
                     "[{\"id\":1,\"userId\":1,\"amount\":100,\"type\":\"CHARGE\",\"updateMillis\":100}]"));
   }
 
+  @Test
+  public void getPointHistoriesPage_AfterCursor() throws Exception {
+    PointHistoryQuery query = new PointHistoryQuery(1L, 1, null, null, TransactionType.USE);
+    when(pointService.getPointHistories(1, query))
+        .thenReturn(List.of(new PointHistory(2, 1, 50, TransactionType.USE, 200L)));
+
+    mockMvc
+        .perform(get("/point/1/histories?after=1&limit=1&type=USE"))
+        .andExpect(status().isOk())
+        .andExpect(
+            content()
+                .json(
+                    "[{\"id\":2,\"userId\":1,\"amount\":50,\"type\":\"USE\",\"updateMillis\":200}]"));
+  }
+
+  @Test
+  public void getPointHistoriesPage_WithInvalidLimit_ThenThrowBadRequestError() throws Exception {
+    mockMvc.perform(get("/point/1/histories?limit=0")).andExpect(status().isBadRequest());
+  }
+
+  @Test
+  public void getPointSummary_InWindow() throws Exception {
+    when(pointService.getPointSummary(1, new PointHistoryQuery(null, null, 100L, 200L, null)))
+        .thenReturn(new PointSummary(1, 100L, 200L, 300, 2, 50, 1));
+
+    mockMvc
+        .perform(get("/point/1/summary?from=100&to=200"))
+        .andExpect(status().isOk())
+        .andExpect(
+            content()
+                .json(
+                    "{\"userId\":1,\"fromMillis\":100,\"toMillis\":200,\"chargedAmount\":300,"
+                        + "\"chargeCount\":2,\"usedAmount\":50,\"useCount\":1}"));
+  }
+
   @Test
   public void chargePoint() throws Exception {
     when(pointService.charge(1, 100)).thenReturn(new UserPoint(1, 1100, 100L));
@@ -95,4 +162,175 @@ public class TestPointControllerWithMock {
         .andExpect(status().isBadRequest())
         .andExpect(jsonPath("$.message").value("Insufficient points"));
   }
+
+  @Test
+  public void usePoint_ThenThrowTooManyRequests_WhenLockTimesOut() throws Exception {
+    when(pointService.use(1, 100)).thenThrow(new LockAcquisitionTimeoutException());
+
+    mockMvc
+        .perform(patch("/point/1/use").contentType(MediaType.APPLICATION_JSON).content("100"))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(jsonPath("$.code").value("429"));
+  }
+
+  @Test
+  public void usePoint_ThenThrowServiceUnavailable_WhenLockTimesOutUnderOverload()
+      throws Exception {
+    when(pointService.use(1, 100)).thenThrow(new LockAcquisitionTimeoutException(true));
+
+    mockMvc
+        .perform(patch("/point/1/use").contentType(MediaType.APPLICATION_JSON).content("100"))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(jsonPath("$.code").value("503"));
+  }
+
+  @Test
+  public void batchOperations_AsJson() throws Exception {
+    List<PointOperation> operations =
+        List.of(
+            new PointOperation(1, TransactionType.CHARGE, 100),
+            new PointOperation(2, TransactionType.USE, 100));
+    when(pointService.applyOperations(operations))
+        .thenReturn(
+            List.of(
+                PointOperationResult.success(operations.get(0), new UserPoint(1, 100, 100L)),
+                PointOperationResult.failure(
+                    operations.get(1), new InsufficientPointsException())));
+
+    mockMvc
+        .perform(
+            post("/point/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "[{\"userId\":1,\"type\":\"CHARGE\",\"amount\":100},"
+                        + "{\"userId\":2,\"type\":\"USE\",\"amount\":100}]"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].userPoint.point").value(100))
+        .andExpect(jsonPath("$[1].code").value("400"))
+        .andExpect(jsonPath("$[1].message").value("Insufficient points"));
+  }
+
+  @Test
+  public void batchOperations_UseSameErrorCodesAsSingleApi() throws Exception {
+    List<PointOperation> operations =
+        List.of(
+            new PointOperation(1, TransactionType.USE, 100),
+            new PointOperation(2, TransactionType.USE, 100));
+    when(pointService.applyOperations(operations))
+        .thenReturn(
+            List.of(
+                PointOperationResult.failure(
+                    operations.get(0), new IdempotencyKeyConflictException()),
+                PointOperationResult.failure(
+                    operations.get(1), new IllegalStateException("table is unavailable"))));
+
+    mockMvc
+        .perform(
+            post("/point/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "[{\"userId\":1,\"type\":\"USE\",\"amount\":100},"
+                        + "{\"userId\":2,\"type\":\"USE\",\"amount\":100}]"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].code").value("422"))
+        .andExpect(jsonPath("$[1].code").value("500"))
+        .andExpect(jsonPath("$[1].message").value("에러가 발생했습니다."));
+  }
+
+  @Test
+  public void batchOperations_WithTooManyOperations_ThenBadRequest() throws Exception {
+    mockMvc
+        .perform(
+            post("/point/batch")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(new byte[PointOperation.BINARY_SIZE * 4]))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.code").value("400"));
+    verify(pointService, times(0)).applyOperations(any());
+  }
+
+  @Test
+  public void batchOperations_WithTooLargeBody_ThenPayloadTooLarge() throws Exception {
+    mockMvc
+        .perform(
+            post("/point/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "[" + "{\"userId\":1,\"type\":\"USE\",\"amount\":100},".repeat(6) + "]"))
+        .andExpect(status().isPayloadTooLarge())
+        .andExpect(jsonPath("$.code").value("413"));
+    verify(pointService, times(0)).applyOperations(any());
+  }
+
+  @Test
+  public void batchOperations_AsBinary() throws Exception {
+    List<PointOperation> operations = List.of(new PointOperation(1, TransactionType.USE, 100));
+    when(pointService.applyOperations(operations))
+        .thenReturn(
+            List.of(PointOperationResult.success(operations.get(0), new UserPoint(1, 900, 100L))));
+
+    byte[] body =
+        ByteBuffer.allocate(PointOperation.BINARY_SIZE)
+            .putLong(1)
+            .put((byte) TransactionType.USE.ordinal())
+            .putLong(100)
+            .array();
+
+    mockMvc
+        .perform(
+            post("/point/batch").contentType(MediaType.APPLICATION_OCTET_STREAM).content(body))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].userPoint.point").value(900));
+  }
+
+  @Test
+  public void batchOperations_WithTruncatedBinary_ThenThrowBadRequestError() throws Exception {
+    mockMvc
+        .perform(
+            post("/point/batch")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(new byte[PointOperation.BINARY_SIZE - 1]))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  public void chargePoint_RetriedWithSameIdempotencyKey_ThenChargeOnce() throws Exception {
+    when(pointService.charge(1, 100)).thenReturn(new UserPoint(1, 1100, 100L));
+
+    for (int i = 0; i < 2; i++) {
+      mockMvc
+          .perform(
+              patch("/point/1/charge")
+                  .header("Idempotency-Key", "retry-key")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content("100"))
+          .andExpect(status().isOk())
+          .andExpect(content().json("{\"id\":1,\"point\":1100,\"updateMillis\":100}"));
+    }
+
+    verify(pointService, times(1)).charge(1, 100);
+  }
+
+  @Test
+  public void usePoint_WithIdempotencyKeyOfOtherRequest_ThenThrowUnprocessableEntity()
+      throws Exception {
+    when(pointService.use(1, 100)).thenReturn(new UserPoint(1, 900, 100L));
+
+    mockMvc
+        .perform(
+            patch("/point/1/use")
+                .header("Idempotency-Key", "used-key")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("100"))
+        .andExpect(status().isOk());
+
+    mockMvc
+        .perform(
+            patch("/point/1/use")
+                .header("Idempotency-Key", "used-key")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("200"))
+        .andExpect(status().isUnprocessableEntity())
+        .andExpect(jsonPath("$.code").value("422"));
+  }
 }
@@ -0,0 +1,54 @@
+package io.hhplus.tdd.point;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryQuery;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.service.PointHistoryExportService;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@WebMvcTest(PointHistoryExportController.class)
+@ActiveProfiles("indexed-history")
+public class TestPointHistoryExportControllerWithMock {
+  @Autowired private MockMvc mockMvc;
+
+  @MockBean private PointHistoryExportService pointHistoryExportService;
+
+  @Test
+  public void exportPointHistories_AsNdjson() throws Exception {
+    PointHistoryQuery query = new PointHistoryQuery(null, null, 100L, null, null);
+    when(pointHistoryExportService.streamPointHistories(1, query))
+        .thenReturn(
+            Stream.of(
+                new PointHistory(1, 1, 100, TransactionType.CHARGE, 100L),
+                new PointHistory(2, 1, 50, TransactionType.USE, 200L)));
+
+    MvcResult result =
+        mockMvc
+            .perform(get("/point/1/histories/export?from=100"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+        .andExpect(
+            content()
+                .string(
+                    "{\"id\":1,\"userId\":1,\"amount\":100,\"type\":\"CHARGE\",\"updateMillis\":100}\n"
+                        + "{\"id\":2,\"userId\":1,\"amount\":50,\"type\":\"USE\",\"updateMillis\":200}\n"));
+  }
+}
@@ -0,0 +1,225 @@
+package io.hhplus.tdd.point;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import io.hhplus.tdd.database.LatencyModel;
+import io.hhplus.tdd.database.PointHistoryTableStub;
+import io.hhplus.tdd.database.UserPointTableStub;
+import io.hhplus.tdd.point.cache.UserPointCache;
+import io.hhplus.tdd.point.exceptions.LockAcquisitionTimeoutException;
+import io.hhplus.tdd.point.history.DirectPointHistoryRecorder;
+import io.hhplus.tdd.point.hotkey.HotKeyStats;
+import io.hhplus.tdd.point.hotkey.HotKeyTracker;
+import io.hhplus.tdd.point.lock.StripedUserLockStrategy;
+import io.hhplus.tdd.point.lock.UserLock;
+import io.hhplus.tdd.point.lock.UserLockStrategy;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryQuery;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.service.AsyncPointServiceImpl;
+import io.hhplus.tdd.point.service.LockPointServiceImpl;
+import io.hhplus.tdd.point.service.PointHistoryExportServiceImpl;
+import io.hhplus.tdd.point.service.PointServiceImpl;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestPointMetrics {
+  private static final Duration TABLE_LATENCY = Duration.ofMillis(50);
+
+  private SimpleMeterRegistry registry;
+  private HotKeyTracker hotKeyTracker;
+  private PointMetrics pointMetrics;
+  private LockPointServiceImpl lockPointService;
+
+  @BeforeEach
+  public void setUp() {
+    registry = new SimpleMeterRegistry();
+    hotKeyTracker = HotKeyTracker.of(64, Duration.ofMinutes(1));
+    pointMetrics = new PointMetrics(registry, hotKeyTracker);
+    PointHistoryTableStub pointHistoryTableStub =
+        new PointHistoryTableStub(LatencyModel.fixed(TABLE_LATENCY));
+    lockPointService =
+        new LockPointServiceImpl(
+            new UserPointTableStub(
+                LatencyModel.fixed(TABLE_LATENCY), LatencyModel.fixed(TABLE_LATENCY)),
+            pointHistoryTableStub,
+            new StripedUserLockStrategy(1024, true, 0),
+            UserPointCache.disabled(),
+            new DirectPointHistoryRecorder(pointHistoryTableStub, pointMetrics),
+            ForkJoinPool.commonPool(),
+            pointMetrics);
+  }
+
+  @Test
+  public void charge_RecordsServiceTableAndLockTimers() {
+    // when
+    lockPointService.charge(1, 100);
+
+    // then
+    assertEquals(1, registry.get("point.service").tag("method", "charge").timer().count());
+    assertEquals(
+        1,
+        registry
+            .get("point.table")
+            .tag("table", "user_point")
+            .tag("method", "selectById")
+            .timer()
+            .count());
+    assertEquals(
+        1,
+        registry
+            .get("point.table")
+            .tag("table", "user_point")
+            .tag("method", "insertOrUpdate")
+            .timer()
+            .count());
+    assertEquals(
+        1,
+        registry
+            .get("point.table")
+            .tag("table", "point_history")
+            .tag("method", "insert")
+            .timer()
+            .count());
+
+    // 락을 쥔 동안 테이블을 세 번 호출합니다.
+    double holdMillis =
+        registry
+            .get("point.lock.hold")
+            .tag("operation", "charge")
+            .timer()
+            .totalTime(TimeUnit.MILLISECONDS);
+    assertTrue(holdMillis >= 3 * TABLE_LATENCY.toMillis());
+    assertEquals(0.0, registry.get("point.lock.contended").counter().count());
+  }
+
+  @Test
+  public void concurrentCharge_ToSameUser_RecordsContention() throws InterruptedException {
+    // given
+    Thread holder = new Thread(() -> lockPointService.charge(1, 100));
+    holder.start();
+    Thread.sleep(TABLE_LATENCY.toMillis() / 2);
+
+    // when
+    lockPointService.charge(1, 100);
+    holder.join();
+
+    // then
+    assertEquals(1.0, registry.get("point.lock.contended").counter().count());
+    Timer wait = registry.get("point.lock.wait").tag("operation", "charge").timer();
+    assertEquals(2, wait.count());
+    assertTrue(wait.totalTime(TimeUnit.MILLISECONDS) >= TABLE_LATENCY.toMillis());
+
+    HotKeyStats hotKey = hotKeyTracker.top(1).get(0);
+    assertEquals(1, hotKey.userId());
+    assertEquals(2, hotKey.operations());
+    assertEquals(1, hotKey.contended());
+    assertTrue(hotKey.maxLockWaitMillis() >= TABLE_LATENCY.toMillis());
+  }
+
+  @Test
+  public void hotKey_IsRecordedAfterUserLockIsReleased() {
+    // given
+    UserLockStrategy lockStrategy = new StripedUserLockStrategy(1024, true, 1);
+    List<Boolean> lockFreeWhileRecording = new ArrayList<>();
+    HotKeyTracker probingTracker =
+        new HotKeyTracker(64, Duration.ofMinutes(1), System::nanoTime) {
+          @Override
+          public void record(long userId, long lockWaitNanos, boolean contended) {
+            // 다른 쓰레드에서 같은 유저 락을 얻을 수 있는지 확인합니다.
+            lockFreeWhileRecording.add(
+                CompletableFuture.supplyAsync(
+                        () -> {
+                          try (UserLock ignored = lockStrategy.acquire(userId)) {
+                            return true;
+                          } catch (LockAcquisitionTimeoutException e) {
+                            return false;
+                          }
+                        })
+                    .join());
+            super.record(userId, lockWaitNanos, contended);
+          }
+        };
+    PointHistoryTableStub pointHistoryTableStub = new PointHistoryTableStub(LatencyModel.zero());
+    LockPointServiceImpl pointService =
+        new LockPointServiceImpl(
+            new UserPointTableStub(LatencyModel.zero(), LatencyModel.zero()),
+            pointHistoryTableStub,
+            lockStrategy,
+            UserPointCache.disabled(),
+            new DirectPointHistoryRecorder(pointHistoryTableStub),
+            ForkJoinPool.commonPool(),
+            new PointMetrics(registry, probingTracker));
+
+    // when
+    pointService.charge(1, 100);
+
+    // then
+    assertEquals(List.of(true), lockFreeWhileRecording);
+    assertEquals(1, probingTracker.top(1).get(0).operations());
+  }
+
+  @Test
+  public void asyncCharge_RecordsServiceAndLockTimers_AndHotKey() {
+    // given
+    PointHistoryTableStub pointHistoryTableStub = new PointHistoryTableStub(LatencyModel.zero());
+    AsyncPointServiceImpl asyncPointService =
+        new AsyncPointServiceImpl(
+            new PointServiceImpl(
+                new UserPointTableStub(LatencyModel.zero(), LatencyModel.zero()),
+                pointHistoryTableStub,
+                UserPointCache.disabled(),
+                new DirectPointHistoryRecorder(pointHistoryTableStub, pointMetrics),
+                pointMetrics),
+            new StripedUserLockStrategy(1024, true, 0),
+            ForkJoinPool.commonPool(),
+            pointMetrics);
+
+    // when
+    asyncPointService.charge(1, 100).join();
+    asyncPointService.use(1, 30).join();
+
+    // then
+    assertEquals(1, registry.get("point.service").tag("method", "charge").timer().count());
+    assertEquals(1, registry.get("point.service").tag("method", "use").timer().count());
+    assertEquals(1, registry.get("point.lock.wait").tag("operation", "charge").timer().count());
+    assertEquals(1, registry.get("point.lock.hold").tag("operation", "use").timer().count());
+    HotKeyStats hotKey = hotKeyTracker.top(1).get(0);
+    assertEquals(1, hotKey.userId());
+    assertEquals(2, hotKey.operations());
+  }
+
+  @Test
+  public void streamPointHistories_RecordsServiceTimer_WhenStreamCloses() {
+    // given
+    IndexedPointHistoryTable indexedPointHistoryTable =
+        new IndexedPointHistoryTable(LatencyModel.zero());
+    PointHistoryExportServiceImpl pointHistoryExportService =
+        new PointHistoryExportServiceImpl(indexedPointHistoryTable, pointMetrics);
+    indexedPointHistoryTable.insert(1, 100, TransactionType.CHARGE, 1L);
+    Timer timer = registry.get("point.service").tag("method", "getPointHistories").timer();
+
+    // when
+    Stream<PointHistory> pointHistories =
+        pointHistoryExportService.streamPointHistories(
+            1, new PointHistoryQuery(null, null, null, null, null));
+
+    // then
+    assertEquals(0, timer.count());
+    assertEquals(1, pointHistories.count());
+    pointHistories.close();
+    assertEquals(1, timer.count());
+  }
+}
@@ -0,0 +1,107 @@
+package io.hhplus.tdd.point;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.hhplus.tdd.database.PointHistoryTableStub;
+import io.hhplus.tdd.database.UserPointTableStub;
+import io.hhplus.tdd.point.cache.UserPointCache;
+import io.hhplus.tdd.point.cache.UserPointCacheStats;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.service.PointServiceImpl;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestPointServiceWithCache {
+  private final AtomicInteger selectCount = new AtomicInteger();
+  private UserPointTableStub userPointTableStub;
+  private UserPointCache userPointCache;
+  private PointServiceImpl pointService;
+
+  @BeforeEach
+  public void setUp() {
+    // 테이블 조회 횟수를 세기 위한 스텁
+    userPointTableStub =
+        new UserPointTableStub() {
+          @Override
+          public UserPoint selectById(Long id) {
+            selectCount.incrementAndGet();
+            return super.selectById(id);
+          }
+        };
+    userPointCache = UserPointCache.of(2);
+    pointService =
+        new PointServiceImpl(userPointTableStub, new PointHistoryTableStub(), userPointCache);
+  }
+
+  @Test
+  public void getUserPointTwice_ThenReadTableOnce() {
+    long userId = 1;
+
+    // given
+    HashMap<Long, UserPoint> table = new HashMap<>();
+    table.put(userId, new UserPoint(userId, 100, System.currentTimeMillis()));
+    userPointTableStub.setTable(table);
+
+    // when
+    pointService.getUserPoint(userId);
+    UserPoint userPoint = pointService.getUserPoint(userId);
+
+    // then
+    assertEquals(100, userPoint.point());
+    assertEquals(1, selectCount.get());
+
+    UserPointCacheStats stats = userPointCache.stats();
+    assertEquals(1, stats.hitCount());
+    assertEquals(1, stats.missCount());
+  }
+
+  @Test
+  public void chargeThenGetUserPoint_ReturnsWrittenBalanceWithoutReadingTable() {
+    long userId = 1;
+
+    // when
+    pointService.charge(userId, 100);
+    pointService.charge(userId, 100);
+    UserPoint userPoint = pointService.getUserPoint(userId);
+
+    // then
+    assertEquals(200, userPoint.point());
+    assertEquals(1, selectCount.get());
+  }
+
+  @Test
+  public void evictUsers_WhenCacheIsFull() {
+    // when
+    for (long userId = 1; userId <= 10; userId++) {
+      pointService.getUserPoint(userId);
+    }
+    userPointCache.cleanUp();
+
+    // then
+    UserPointCacheStats stats = userPointCache.stats();
+    assertEquals(8, stats.evictionCount());
+    assertEquals(2, stats.size());
+  }
+
+  @Test
+  public void staleLoad_IsNotCached_WhenBalanceIsWrittenWhileLoading() {
+    long userId = 1;
+
+    // when - 읽는 사이 다른 요청이 잔액을 저장했고, 그 값은 곧바로 캐시에서 내보내졌습니다.
+    UserPoint loaded =
+        userPointCache.get(
+            userId,
+            id -> {
+              userPointCache.put(new UserPoint(id, 200, 2L));
+              userPointCache.invalidate(id);
+              return new UserPoint(id, 100, 1L);
+            });
+    UserPoint reloaded = userPointCache.get(userId, id -> new UserPoint(id, 200, 2L));
+
+    // then
+    assertEquals(100, loaded.point());
+    assertEquals(200, reloaded.point());
+  }
+}
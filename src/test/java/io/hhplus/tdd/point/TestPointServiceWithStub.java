@@ -2,12 +2,18 @@ package io.hhplus.tdd.point;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import io.hhplus.tdd.database.LatencyModel;
 import io.hhplus.tdd.database.PointHistoryTableStub;
 import io.hhplus.tdd.database.UserPointTableStub;
 import io.hhplus.tdd.point.exceptions.InsufficientPointsException;
+import io.hhplus.tdd.point.metrics.PointMetrics;
 import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.PointHistoryQuery;
+import io.hhplus.tdd.point.model.PointSummary;
 import io.hhplus.tdd.point.model.TransactionType;
 import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.service.PointRankingServiceImpl;
 import io.hhplus.tdd.point.service.PointServiceImpl;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -110,6 +116,61 @@ public class TestPointServiceWithStub {
     assertEquals(0, pointHistories.size());
   }
 
+  @Test
+  public void getPointHistoriesPage_ByUserId_AfterCursor() {
+    long userId = 1;
+
+    // given
+    List<PointHistory> currentPointHistories = new ArrayList<>();
+    currentPointHistories.add(new PointHistory(1, userId, 100, TransactionType.CHARGE, 100L));
+    currentPointHistories.add(new PointHistory(2, 2, 100, TransactionType.CHARGE, 100L));
+    currentPointHistories.add(new PointHistory(3, userId, 50, TransactionType.USE, 200L));
+    currentPointHistories.add(new PointHistory(4, userId, 30, TransactionType.USE, 300L));
+
+    pointHistoryTableStub.setTable(currentPointHistories);
+
+    // when
+    List<PointHistory> pointHistories =
+        pointService.getPointHistories(userId, new PointHistoryQuery(1L, 1, null, null, null));
+
+    // then
+    assertEquals(1, pointHistories.size());
+    assertEquals(3, pointHistories.get(0).id());
+  }
+
+  @Test
+  public void getPointSummary_WithoutTotals_SumsHistoriesInWindow() {
+    long userId = 1;
+
+    // given
+    List<PointHistory> currentPointHistories = new ArrayList<>();
+    currentPointHistories.add(new PointHistory(1, userId, 100, TransactionType.CHARGE, 100L));
+    currentPointHistories.add(new PointHistory(2, 2, 100, TransactionType.CHARGE, 150L));
+    currentPointHistories.add(new PointHistory(3, userId, 50, TransactionType.USE, 200L));
+    currentPointHistories.add(new PointHistory(4, userId, 70, TransactionType.CHARGE, 300L));
+    currentPointHistories.add(new PointHistory(5, userId, 30, TransactionType.USE, 400L));
+
+    pointHistoryTableStub.setTable(currentPointHistories);
+
+    // when
+    PointSummary summary =
+        pointService.getPointSummary(userId, new PointHistoryQuery(null, null, 150L, 400L, null));
+
+    // then
+    assertEquals(new PointSummary(userId, 150L, 400L, 70, 1, 50, 1), summary);
+  }
+
+  @Test
+  public void getTopUsers_WithoutType_ThenThrow_IllegalArgumentException() {
+    PointRankingServiceImpl pointRankingService =
+        new PointRankingServiceImpl(
+            new IndexedPointHistoryTable(LatencyModel.zero()), PointMetrics.noop());
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> pointRankingService.getTopUsers(new PointHistoryQuery(null, 10, null, null, null)));
+  }
+
   @Test
   public void charge100Point_AtFirst_ThenHas100Point() {
     long userId = 1;
@@ -0,0 +1,51 @@
+package io.hhplus.tdd.point;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import io.hhplus.tdd.point.model.PointHistoryQuery;
+import io.hhplus.tdd.point.model.PointTotal;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.service.PointRankingService;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(PointStatsController.class)
+@ActiveProfiles("indexed-history")
+public class TestPointStatsControllerWithMock {
+  @Autowired private MockMvc mockMvc;
+
+  @MockBean private PointRankingService pointRankingService;
+
+  @Test
+  public void getTopUsers_DefaultsToTop10Spenders() throws Exception {
+    when(pointRankingService.getTopUsers(new PointHistoryQuery(null, 10, 100L, null, TransactionType.USE)))
+        .thenReturn(List.of(new PointTotal(2, TransactionType.USE, 500, 3)));
+
+    mockMvc
+        .perform(get("/point/stats/top?from=100"))
+        .andExpect(status().isOk())
+        .andExpect(
+            content()
+                .json("[{\"userId\":2,\"type\":\"USE\",\"amount\":500,\"count\":3}]"));
+  }
+
+  @Test
+  public void getTopUsers_ByChargeType() throws Exception {
+    when(pointRankingService.getTopUsers(
+            new PointHistoryQuery(null, 3, 100L, 200L, TransactionType.CHARGE)))
+        .thenReturn(List.of(new PointTotal(1, TransactionType.CHARGE, 900, 2)));
+
+    mockMvc
+        .perform(get("/point/stats/top?type=CHARGE&from=100&to=200&limit=3"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].userId").value(1))
+        .andExpect(jsonPath("$[0].amount").value(900));
+  }
+}
@@ -0,0 +1,54 @@
+package io.hhplus.tdd.point;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import io.hhplus.tdd.point.service.CasPointServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(controllers = ShardingController.class, properties = "point.service.engine=cas")
+public class TestShardingControllerWithMock {
+  @Autowired private MockMvc mockMvc;
+
+  @MockBean private CasPointServiceImpl casPointService;
+
+  @Test
+  public void enableSharding_WithCells() throws Exception {
+    when(casPointService.isSharded(1)).thenReturn(true);
+
+    mockMvc
+        .perform(put("/admin/point/1/sharding?cells=4"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.userId").value(1))
+        .andExpect(jsonPath("$.sharded").value(true));
+    verify(casPointService).enableSharding(1, 4);
+  }
+
+  @Test
+  public void disableSharding() throws Exception {
+    when(casPointService.isSharded(1)).thenReturn(false);
+
+    mockMvc
+        .perform(delete("/admin/point/1/sharding"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.sharded").value(false));
+    verify(casPointService).disableSharding(1);
+  }
+
+  @Test
+  public void enableSharding_WithZeroCells_ThenBadRequest() throws Exception {
+    doThrow(new IllegalArgumentException("cells should be positive"))
+        .when(casPointService)
+        .enableSharding(1, 0);
+
+    mockMvc.perform(put("/admin/point/1/sharding?cells=0")).andExpect(status().isBadRequest());
+  }
+}
@@ -0,0 +1,115 @@
+package io.hhplus.tdd.point;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.hhplus.tdd.database.ConcurrentUserPointTable;
+import io.hhplus.tdd.database.IndexedPointHistoryTable;
+import io.hhplus.tdd.database.LatencyModel;
+import io.hhplus.tdd.point.lock.EvictingUserLockStrategy;
+import io.hhplus.tdd.point.model.UserPoint;
+import io.hhplus.tdd.point.service.LockPointServiceImpl;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+// 테이블 호출이 블로킹되는 동안 플랫폼 쓰레드 풀에서는 동시에 처리되는 요청 수가 풀 크기에 묶입니다.
+// 시간을 재는 대신, 테이블 조회가 정해진 수만큼 동시에 들어올 때까지 붙잡아 두고 동시에 진행 중이던 최대 호출 수를 비교합니다.
+// 걸린 시간 비교는 VirtualThreadCapacityBenchmark 에서 합니다.
+public class TestVirtualThreadCapacity {
+  private static final int PLATFORM_POOL_SIZE = 200;
+  private static final int REQUEST_COUNT = 1_000;
+
+  @Test
+  public void platformPool_CapsConcurrentTableCalls_AtPoolSize() throws InterruptedException {
+    GatedUserPointTable table = new GatedUserPointTable(PLATFORM_POOL_SIZE);
+
+    // when
+    try (ExecutorService platform = Executors.newFixedThreadPool(PLATFORM_POOL_SIZE)) {
+      runCharges(platform, table);
+    }
+
+    // then
+    assertEquals(PLATFORM_POOL_SIZE, table.peakInFlight());
+  }
+
+  @Test
+  public void virtualThreads_RunEveryRequestsTableCall_AtTheSameTime()
+      throws InterruptedException {
+    GatedUserPointTable table = new GatedUserPointTable(REQUEST_COUNT);
+
+    // when
+    try (ExecutorService virtual = Executors.newVirtualThreadPerTaskExecutor()) {
+      runCharges(virtual, table);
+    }
+
+    // then
+    assertEquals(REQUEST_COUNT, table.peakInFlight());
+  }
+
+  private void runCharges(ExecutorService executor, GatedUserPointTable table)
+      throws InterruptedException {
+    // 유저마다 다른 락을 쓰도록 해, 락이 아니라 쓰레드 수만 동시성을 제한하게 합니다.
+    LockPointServiceImpl pointService =
+        new LockPointServiceImpl(
+            table,
+            new IndexedPointHistoryTable(LatencyModel.zero()),
+            new EvictingUserLockStrategy(true, 0));
+    CountDownLatch latch = new CountDownLatch(REQUEST_COUNT);
+
+    for (int i = 0; i < REQUEST_COUNT; i++) {
+      long userId = i;
+      executor.execute(
+          () -> {
+            try {
+              pointService.charge(userId, 100);
+            } finally {
+              latch.countDown();
+            }
+          });
+    }
+    latch.await();
+
+    for (long userId = 0; userId < REQUEST_COUNT; userId += 250) {
+      assertEquals(100, pointService.getUserPoint(userId).point());
+    }
+  }
+
+  /** 조회가 target 개 동시에 들어올 때까지 모든 조회를 붙잡아 둡니다. 한 번 열리면 이후 조회는 기다리지 않습니다. */
+  private static class GatedUserPointTable extends ConcurrentUserPointTable {
+    private final int target;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final CountDownLatch opened = new CountDownLatch(1);
+
+    private GatedUserPointTable(int target) {
+      super(LatencyModel.zero(), LatencyModel.zero());
+      this.target = target;
+    }
+
+    @Override
+    public UserPoint selectById(Long id) {
+      int current = inFlight.incrementAndGet();
+      peakInFlight.accumulateAndGet(current, Math::max);
+      if (current >= target) {
+        opened.countDown();
+      }
+      try {
+        // 동시성이 모자라 끝내 열리지 않으면 peakInFlight 가 target 보다 작게 남아 테스트가 실패합니다.
+        opened.await(10, TimeUnit.SECONDS);
+        return super.selectById(id);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      } finally {
+        inFlight.decrementAndGet();
+      }
+    }
+
+    private int peakInFlight() {
+      return peakInFlight.get();
+    }
+  }
+}
@@ -0,0 +1,201 @@
+package io.hhplus.tdd.point;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import io.hhplus.tdd.database.PointHistoryTableStub;
+import io.hhplus.tdd.database.UserPointTableStub;
+import io.hhplus.tdd.point.cache.UserPointCache;
+import io.hhplus.tdd.point.exceptions.HistoryQueueFullException;
+import io.hhplus.tdd.point.history.HistoryWriteBehindProperties.OverflowPolicy;
+import io.hhplus.tdd.point.history.WriteBehindPointHistoryRecorder;
+import io.hhplus.tdd.point.model.PointHistory;
+import io.hhplus.tdd.point.model.TransactionType;
+import io.hhplus.tdd.point.service.PointServiceImpl;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class TestWriteBehindPointHistoryRecorder {
+
+  @Test
+  public void recordedHistories_AreWrittenInOrder_AfterFlush() throws InterruptedException {
+    PointHistoryTableStub pointHistoryTableStub = new PointHistoryTableStub();
+    WriteBehindPointHistoryRecorder recorder =
+        new WriteBehindPointHistoryRecorder(pointHistoryTableStub, 16, 4, OverflowPolicy.BLOCK);
+
+    // when
+    for (int i = 1; i <= 10; i++) {
+      recorder.record(1, i, TransactionType.CHARGE, i);
+    }
+    recorder.flush();
+
+    // then
+    assertEquals(0, recorder.queueDepth());
+    List<PointHistory> pointHistories = pointHistoryTableStub.selectAllByUserId(1);
+    assertEquals(10, pointHistories.size());
+    for (int i = 0; i < 10; i++) {
+      assertEquals(i + 1, pointHistories.get(i).amount());
+    }
+    recorder.close();
+  }
+
+  @Test
+  public void rejectRecord_WhenQueueIsFull() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    PointHistoryTableStub blockingTable =
+        new PointHistoryTableStub() {
+          @Override
+          public PointHistory insert(
+              long userId, long amount, TransactionType type, long updateMillis) {
+            try {
+              release.await();
+            } catch (InterruptedException ignored) {
+            }
+            return super.insert(userId, amount, type, updateMillis);
+          }
+        };
+    WriteBehindPointHistoryRecorder recorder =
+        new WriteBehindPointHistoryRecorder(blockingTable, 1, 1, OverflowPolicy.REJECT);
+
+    // given - writer 가 첫 이력을 쓰느라 막혀 있고, 두 번째 이력이 큐를 채웁니다.
+    recorder.record(1, 100, TransactionType.CHARGE, 1L);
+    while (recorder.queueDepth() > 0) {
+      Thread.sleep(1);
+    }
+    recorder.record(1, 100, TransactionType.CHARGE, 2L);
+
+    // when & then
+    assertThrows(
+        HistoryQueueFullException.class,
+        () -> recorder.record(1, 100, TransactionType.CHARGE, 3L));
+
+    release.countDown();
+    recorder.close();
+    assertEquals(2, blockingTable.selectAllByUserId(1).size());
+  }
+
+  @Test
+  public void close_WritesRemainingHistories() throws InterruptedException {
+    PointHistoryTableStub pointHistoryTableStub = new PointHistoryTableStub();
+    WriteBehindPointHistoryRecorder recorder =
+        new WriteBehindPointHistoryRecorder(pointHistoryTableStub, 64, 8, OverflowPolicy.BLOCK);
+    PointServiceImpl pointService =
+        new PointServiceImpl(
+            new UserPointTableStub(),
+            pointHistoryTableStub,
+            UserPointCache.disabled(),
+            recorder);
+
+    // when
+    for (int i = 0; i < 5; i++) {
+      pointService.charge(1, 100);
+    }
+    recorder.close();
+
+    // then
+    assertEquals(500, pointService.getUserPoint(1).point());
+    assertEquals(5, pointHistoryTableStub.selectAllByUserId(1).size());
+  }
+
+  @Test
+  public void close_WhileRecording_WritesEveryAcceptedHistory() throws InterruptedException {
+    int threadCount = 8;
+    PointHistoryTableStub pointHistoryTableStub = new PointHistoryTableStub();
+    WriteBehindPointHistoryRecorder recorder =
+        new WriteBehindPointHistoryRecorder(pointHistoryTableStub, 4, 2, OverflowPolicy.BLOCK);
+    AtomicLong accepted = new AtomicLong();
+    CountDownLatch latch = new CountDownLatch(threadCount);
+
+    // given
+    for (int i = 0; i < threadCount; i++) {
+      new Thread(
+              () -> {
+                try {
+                  while (true) {
+                    recorder.record(1, 1, TransactionType.CHARGE, 1L);
+                    accepted.incrementAndGet();
+                  }
+                } catch (IllegalStateException closed) {
+                  // close() 뒤에는 더 받지 않습니다.
+                } finally {
+                  latch.countDown();
+                }
+              })
+          .start();
+    }
+    Thread.sleep(50);
+
+    // when
+    recorder.close();
+    latch.await();
+    recorder.flush();
+
+    // then
+    assertEquals(accepted.get(), pointHistoryTableStub.selectAllByUserId(1).size());
+    assertEquals(accepted.get(), recorder.completedCount());
+  }
+
+  @Test
+  public void failedInsert_IsRetried_AndCountedWhenItKeepsFailing() throws InterruptedException {
+    AtomicInteger attempts = new AtomicInteger();
+    PointHistoryTableStub flakyTable =
+        new PointHistoryTableStub() {
+          @Override
+          public PointHistory insert(
+              long userId, long amount, TransactionType type, long updateMillis) {
+            attempts.incrementAndGet();
+            if (userId == 2 || attempts.get() == 1) {
+              throw new IllegalStateException("table is unavailable");
+            }
+            return super.insert(userId, amount, type, updateMillis);
+          }
+        };
+    WriteBehindPointHistoryRecorder recorder =
+        new WriteBehindPointHistoryRecorder(flakyTable, 16, 4, OverflowPolicy.BLOCK);
+
+    // when
+    recorder.record(1, 100, TransactionType.CHARGE, 1L);
+    recorder.record(2, 100, TransactionType.CHARGE, 2L);
+    recorder.flush();
+
+    // then
+    assertEquals(1, flakyTable.selectAllByUserId(1).size());
+    assertEquals(1, recorder.failedCount());
+    assertEquals(2, recorder.completedCount());
+    recorder.close();
+  }
+
+  @Test
+  public void blockRecord_WhenWriterHasStopped_ThenThrow() throws InterruptedException {
+    PointHistoryTableStub brokenTable =
+        new PointHistoryTableStub() {
+          @Override
+          public PointHistory insert(
+              long userId, long amount, TransactionType type, long updateMillis) {
+            throw new AssertionError("writer dies");
+          }
+        };
+    WriteBehindPointHistoryRecorder recorder =
+        new WriteBehindPointHistoryRecorder(brokenTable, 1, 1, OverflowPolicy.BLOCK);
+
+    // given - writer 가 첫 이력을 꺼내다 멈추고, 두 번째 이력이 큐를 채웁니다.
+    recorder.record(1, 100, TransactionType.CHARGE, 1L);
+    while (recorder.queueDepth() > 0) {
+      Thread.sleep(1);
+    }
+    recorder.record(1, 100, TransactionType.CHARGE, 2L);
+
+    // when & then
+    assertTimeoutPreemptively(
+        Duration.ofSeconds(5),
+        () ->
+            assertThrows(
+                IllegalStateException.class,
+                () -> recorder.record(1, 100, TransactionType.CHARGE, 3L)));
+  }
+}